@@ -25,6 +25,7 @@ package com.viaversion.viaversion.api;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.legacy.LegacyViaAPI;
+import com.viaversion.viaversion.api.metrics.MetricsHandler;
 import com.viaversion.viaversion.api.platform.ViaPlatform;
 import com.viaversion.viaversion.api.protocol.ProtocolManager;
 import com.viaversion.viaversion.api.protocol.version.ServerProtocolVersion;
@@ -156,4 +157,13 @@ public interface ViaAPI<T> {
      * @return legacy api only applicable on/to legacy versions
      */
     LegacyViaAPI<T> legacyAPI();
+
+    /**
+     * Returns the transform metrics, only recorded while enabled.
+     *
+     * @return metrics handler
+     */
+    default MetricsHandler metrics() {
+        return Via.getManager().metricsHandler();
+    }
 }
@@ -25,6 +25,7 @@ package com.viaversion.viaversion.api;
 import com.viaversion.viaversion.api.command.ViaVersionCommand;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.debug.DebugHandler;
+import com.viaversion.viaversion.api.metrics.MetricsHandler;
 import com.viaversion.viaversion.api.platform.ViaInjector;
 import com.viaversion.viaversion.api.platform.ViaPlatform;
 import com.viaversion.viaversion.api.platform.ViaPlatformLoader;
@@ -117,6 +118,13 @@ public interface ViaManager {
      */
     DebugHandler debugHandler();
 
+    /**
+     * Returns the metrics handler, collecting transform metrics if enabled.
+     *
+     * @return metrics handler
+     */
+    MetricsHandler metricsHandler();
+
     /**
      * Returns a mutable set of self-added subplatform version strings.
      * This set is expanded by the subplatform itself (e.g. ViaBackwards), and may not contain all running ones.
@@ -26,8 +26,10 @@ import com.google.gson.JsonElement;
 import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.minecraft.WorldIdentifiers;
+import com.viaversion.viaversion.api.protocol.packet.PacketLimiterConfig;
 import com.viaversion.viaversion.api.protocol.version.BlockedProtocolVersions;
 import it.unimi.dsi.fastutil.ints.IntSet;
+import java.util.Collections;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public interface ViaVersionConfig {
@@ -186,6 +188,16 @@ public interface ViaVersionConfig {
      */
     String getMaxWarningsKickMessage();
 
+    /**
+     * Returns the packet limiter settings as an immutable snapshot.
+     *
+     * @return packet limiter settings
+     */
+    default PacketLimiterConfig getPacketLimiterConfig() {
+        return new PacketLimiterConfig(getMaxPPS(), getMaxPPSKickMessage(), getTrackingPeriod(), getWarningPPS(),
+                getMaxWarnings(), getMaxWarningsKickMessage(), Collections.emptyMap());
+    }
+
     /**
      * Send supported versions in the status response packet
      *
@@ -305,6 +317,44 @@ public interface ViaVersionConfig {
      */
     boolean isSuppressConversionWarnings();
 
+    /**
+     * Should expanded mapping data be cached in the data folder to speed up following startups?
+     *
+     * @return true if enabled
+     */
+    default boolean isCacheMappings() {
+        return false;
+    }
+
+    /**
+     * Should chunk sections that would be sent with the global palette be re-encoded with a local palette
+     * if their distinct block count allows it?
+     *
+     * @return true if enabled
+     */
+    default boolean isCompactChunkPalettes() {
+        return false;
+    }
+
+    /**
+     * Should chunk sections, palettes and light arrays be reused for following chunk packets on the same thread
+     * once a chunk packet has been written?
+     *
+     * @return true if enabled
+     */
+    default boolean isPoolChunkObjects() {
+        return false;
+    }
+
+    /**
+     * Returns the number of worker threads converting chunk packets outside of the network threads.
+     *
+     * @return number of chunk worker threads, 0 if chunks are converted on the network threads
+     */
+    default int getChunkWorkerThreads() {
+        return 0;
+    }
+
     /**
      * Should we disable the 1.13 auto-complete feature to stop spam kicks? (for any server lower than 1.13)
      *
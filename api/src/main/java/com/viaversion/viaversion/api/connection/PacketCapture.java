@@ -0,0 +1,57 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.connection;
+
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import io.netty.buffer.ByteBuf;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Records the raw packets of a connection before they are transformed.
+ *
+ * @see UserConnection#setPacketCapture(PacketCapture)
+ */
+public interface PacketCapture extends Closeable {
+
+    /**
+     * Records a packet before it is transformed.
+     * <p>
+     * Usually called on the connection's event loop, but clientbound packets queued for chunk conversion are
+     * captured on the conversion threads, so implementations have to be thread-safe and should not block.
+     *
+     * @param direction direction of the packet
+     * @param state     state the packet is sent in
+     * @param packet    packet id and data, the reader index must not be modified
+     */
+    void capture(Direction direction, State state, ByteBuf packet);
+
+    /**
+     * Stops recording and releases the underlying resources.
+     *
+     * @throws IOException if the capture could not be completed
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -22,6 +22,8 @@
  */
 package com.viaversion.viaversion.api.connection;
 
+import com.viaversion.viaversion.api.data.MappingType;
+import com.viaversion.viaversion.api.data.Mappings;
 import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.State;
@@ -139,6 +141,16 @@ public interface ProtocolInfo {
      */
     ProtocolPipeline getPipeline();
 
+    /**
+     * Returns clientbound mappings of the given type composed over the whole protocol path of the connection,
+     * translating server ids to client ids in a single lookup.
+     *
+     * @param type mapping type
+     * @return composed mappings, or null if no protocol on the path has mappings of the type
+     * @see com.viaversion.viaversion.api.protocol.ProtocolManager#getComposedMappings(int, int, MappingType)
+     */
+    @Nullable Mappings getComposedMappings(MappingType type);
+
     void setPipeline(ProtocolPipeline pipeline);
 
     /**
@@ -32,7 +32,9 @@ import com.viaversion.viaversion.exception.InformativeException;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
@@ -135,6 +137,21 @@ public interface UserConnection {
      */
     ChannelFuture sendRawPacketFuture(ByteBuf packet);
 
+    /**
+     * Returns the capture recording the packets of this user before they are transformed, if any.
+     *
+     * @return packet capture if present, else null
+     */
+    @Nullable PacketCapture getPacketCapture();
+
+    /**
+     * Sets the capture to record the packets of this user before they are transformed.
+     * The previous capture is not closed.
+     *
+     * @param packetCapture packet capture, or null to stop capturing
+     */
+    void setPacketCapture(@Nullable PacketCapture packetCapture);
+
     /**
      * Returns the user's packet tracker used for the inbuilt packet-limiter.
      *
@@ -170,6 +187,17 @@ public interface UserConnection {
      */
     boolean checkServerboundPacket();
 
+    /**
+     * Monitors serverbound packets and returns whether a packet can/should be processed.
+     * The packet is counted with its configured packet limiter weight, if any.
+     *
+     * @param packet serverbound packet, its reader index is left unchanged
+     * @return false if this packet should be cancelled
+     */
+    default boolean checkServerboundPacket(ByteBuf packet) {
+        return checkServerboundPacket();
+    }
+
     /**
      * Monitors clientbound packets and returns whether a packet can/should be processed.
      *
@@ -185,6 +213,14 @@ public interface UserConnection {
         return isClientSide() ? checkClientboundPacket() : checkServerboundPacket();
     }
 
+    /**
+     * @see #checkClientboundPacket()
+     * @see #checkServerboundPacket(ByteBuf)
+     */
+    default boolean checkIncomingPacket(ByteBuf packet) {
+        return isClientSide() ? checkClientboundPacket() : checkServerboundPacket(packet);
+    }
+
     /**
      * @see #checkClientboundPacket()
      * @see #checkServerboundPacket()
@@ -223,6 +259,47 @@ public interface UserConnection {
      */
     void transformServerbound(ByteBuf buf, Function<Throwable, Exception> cancelSupplier) throws Exception;
 
+    /**
+     * Transforms the clientbound packet contained in the input buffer and adds the transformed packet to the output list.
+     * Unlike {@link #transformClientbound(ByteBuf, Function)}, the packet is directly written into a single newly allocated
+     * buffer instead of being transformed in-place, so the input buffer does not have to be copied beforehand.
+     * The input buffer's reader index is advanced, but its contents are not modified.
+     *
+     * @param in             ByteBuf with packet id and packet contents
+     * @param out            list to add the transformed packet buffer to
+     * @param cancelSupplier function called with original CancelException for generating the Exception when the packet is cancelled
+     * @throws CancelException      if the packet should be cancelled
+     * @throws InformativeException if packet transforming failed
+     * @throws Exception            if any other processing outside of transforming fails
+     */
+    void transformClientbound(ByteBuf in, List<Object> out, Function<Throwable, Exception> cancelSupplier) throws Exception;
+
+    /**
+     * Transforms the serverbound packet contained in the input buffer and adds the transformed packet to the output list.
+     *
+     * @param in             ByteBuf with packet id and packet contents
+     * @param out            list to add the transformed packet buffer to
+     * @param cancelSupplier function called with original CancelException for generating the Exception when the packet is cancelled
+     * @throws CancelException      if the packet should be cancelled
+     * @throws InformativeException if packet transforming failed
+     * @throws Exception            if any other processing outside of transforming fails
+     * @see #transformClientbound(ByteBuf, List, Function)
+     */
+    void transformServerbound(ByteBuf in, List<Object> out, Function<Throwable, Exception> cancelSupplier) throws Exception;
+
+    /**
+     * Queues a clientbound packet to be transformed and written once the packets before it have been written,
+     * if chunk packets are converted off the event loop and the packet has to wait for one of them.
+     * Called by encoders before transforming the packet, on the connection's event loop.
+     *
+     * @param packet  ByteBuf with packet id and packet contents, released by the connection if queued
+     * @param promise promise of the write, completed once the transformed packet has been written
+     * @return true if the packet has been queued and must not be passed on, false if it has to be transformed right away
+     */
+    default boolean queueClientbound(ByteBuf packet, ChannelPromise promise) {
+        return false;
+    }
+
     /**
      * Transforms the packet depending on whether the connection is clientside or not.
      *
@@ -251,6 +328,34 @@ public interface UserConnection {
         }
     }
 
+    /**
+     * Transforms the packet depending on whether the connection is clientside or not.
+     *
+     * @see #transformClientbound(ByteBuf, List, Function)
+     * @see #transformServerbound(ByteBuf, List, Function)
+     */
+    default void transformOutgoing(ByteBuf in, List<Object> out, Function<Throwable, Exception> cancelSupplier) throws Exception {
+        if (isClientSide()) {
+            transformServerbound(in, out, cancelSupplier);
+        } else {
+            transformClientbound(in, out, cancelSupplier);
+        }
+    }
+
+    /**
+     * Transforms the packet depending on whether the connection is clientside or not.
+     *
+     * @see #transformClientbound(ByteBuf, List, Function)
+     * @see #transformServerbound(ByteBuf, List, Function)
+     */
+    default void transformIncoming(ByteBuf in, List<Object> out, Function<Throwable, Exception> cancelSupplier) throws Exception {
+        if (isClientSide()) {
+            transformClientbound(in, out, cancelSupplier);
+        } else {
+            transformServerbound(in, out, cancelSupplier);
+        }
+    }
+
     /**
      * Returns the internal id incremented for each new connection.
      *
@@ -29,6 +29,8 @@ import com.github.steveice10.opennbt.tag.builtin.Tag;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.minecraft.RegistryType;
 import com.viaversion.viaversion.api.minecraft.TagData;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
@@ -66,7 +68,25 @@ public class MappingDataBase implements MappingData {
             getLogger().info("Loading " + unmappedVersion + " -> " + mappedVersion + " mappings...");
         }
 
-        final CompoundTag data = readNBTFile("mappings-" + unmappedVersion + "to" + mappedVersion + ".nbt");
+        final String mappingsFileName = "mappings-" + unmappedVersion + "to" + mappedVersion + ".nbt";
+        final File cacheFolder = Via.getConfig().isCacheMappings() && cacheable() ? MappingDataCache.cacheFolder() : null;
+        File cacheFile = null;
+        long checksum = 0;
+        if (cacheFolder != null) {
+            cacheFile = new File(cacheFolder, "mappings-" + unmappedVersion + "to" + mappedVersion + ".bin");
+            checksum = MappingDataCache.checksum(mappingsFileName, "identifiers-" + unmappedVersion + ".nbt", "identifiers-" + mappedVersion + ".nbt");
+
+            final long start = System.nanoTime();
+            final MappingDataCache cache = MappingDataCache.read(cacheFile, checksum);
+            if (cache != null) {
+                loadFromCache(cache);
+                MappingDataLoader.recordLoadTime(cacheFile.getName(), System.nanoTime() - start);
+                loadExtras(extrasUseMappingsTag() ? readNBTFile(mappingsFileName) : new CompoundTag());
+                return;
+            }
+        }
+
+        final CompoundTag data = readNBTFile(mappingsFileName);
         blockMappings = loadMappings(data, "blocks");
         blockStateMappings = loadMappings(data, "blockstates");
         blockEntityMappings = loadMappings(data, "blockentities");
@@ -104,9 +124,128 @@ public class MappingDataBase implements MappingData {
             loadTags(RegistryType.BLOCK, tagsTag);
         }
 
+        // Write the cache before the extras get to modify any of the mappings
+        if (cacheFile != null) {
+            writeCache(cacheFile, checksum, unmappedIdentifierData, mappedIdentifierData);
+        }
+
         loadExtras(data);
     }
 
+    private void loadFromCache(final MappingDataCache cache) {
+        blockMappings = cache.mappings("blocks");
+        blockStateMappings = cache.mappings("blockstates");
+        blockEntityMappings = cache.mappings("blockentities");
+        soundMappings = cache.mappings("sounds");
+        statisticsMappings = cache.mappings("statistics");
+        menuMappings = cache.mappings("menus");
+        enchantmentMappings = cache.mappings("enchantments");
+        paintingMappings = cache.mappings("paintings");
+
+        final Mappings itemMappings = cache.mappings("items");
+        this.itemMappings = itemMappings != null ? BiMappings.of(itemMappings) : null;
+
+        entityMappings = fullMappingsFromCache(cache, "entities");
+        argumentTypeMappings = fullMappingsFromCache(cache, "argumenttypes");
+
+        final List<String> unmappedParticles = cache.identifiers("particles");
+        final List<String> mappedParticles = cache.identifiers("mapped_particles");
+        if (unmappedParticles != null && mappedParticles != null) {
+            Mappings particleMappings = cache.mappings("particles");
+            if (particleMappings == null) {
+                particleMappings = new IdentityMappings(unmappedParticles.size(), mappedParticles.size());
+            }
+            this.particleMappings = new ParticleMappings(unmappedParticles, mappedParticles, particleMappings);
+        }
+
+        final List<TagData> itemTags = cache.tags(RegistryType.ITEM);
+        final List<TagData> blockTags = cache.tags(RegistryType.BLOCK);
+        if (itemTags != null || blockTags != null) {
+            this.tags = new EnumMap<>(RegistryType.class);
+            if (itemTags != null) {
+                this.tags.put(RegistryType.ITEM, itemTags);
+            }
+            if (blockTags != null) {
+                this.tags.put(RegistryType.BLOCK, blockTags);
+            }
+        }
+    }
+
+    private @Nullable FullMappings fullMappingsFromCache(final MappingDataCache cache, final String key) {
+        final List<String> unmappedIdentifiers = cache.identifiers(key);
+        final List<String> mappedIdentifiers = cache.identifiers("mapped_" + key);
+        if (unmappedIdentifiers == null || mappedIdentifiers == null) {
+            return null;
+        }
+
+        Mappings mappings = cache.mappings(key);
+        if (mappings == null) {
+            mappings = new IdentityMappings(unmappedIdentifiers.size(), mappedIdentifiers.size());
+        }
+        return new FullMappingsBase(unmappedIdentifiers, mappedIdentifiers, mappings);
+    }
+
+    private void writeCache(final File file, final long checksum, @Nullable final CompoundTag unmappedIdentifierData, @Nullable final CompoundTag mappedIdentifierData) {
+        final MappingDataCache cache = new MappingDataCache();
+        cache.putMappings("blocks", blockMappings);
+        cache.putMappings("blockstates", blockStateMappings);
+        cache.putMappings("blockentities", blockEntityMappings);
+        cache.putMappings("sounds", soundMappings);
+        cache.putMappings("statistics", statisticsMappings);
+        cache.putMappings("menus", menuMappings);
+        cache.putMappings("enchantments", enchantmentMappings);
+        cache.putMappings("paintings", paintingMappings);
+        if (itemMappings instanceof BiMappingsBase) {
+            cache.putMappings("items", ((BiMappingsBase) itemMappings).mappings);
+        }
+
+        if (unmappedIdentifierData != null && mappedIdentifierData != null) {
+            for (final String key : new String[]{"entities", "argumenttypes", "particles"}) {
+                final ListTag unmappedIdentifiers = unmappedIdentifierData.get(key);
+                final ListTag mappedIdentifiers = mappedIdentifierData.get(key);
+                if (unmappedIdentifiers != null && mappedIdentifiers != null) {
+                    cache.putIdentifiers(key, unmappedIdentifiers.getValue().stream().map(t -> (String) t.getValue()).collect(Collectors.toList()));
+                    cache.putIdentifiers("mapped_" + key, mappedIdentifiers.getValue().stream().map(t -> (String) t.getValue()).collect(Collectors.toList()));
+                }
+            }
+        }
+        cache.putMappings("entities", entityMappings != null ? entityMappings.mappings() : null);
+        cache.putMappings("argumenttypes", argumentTypeMappings != null ? argumentTypeMappings.mappings() : null);
+        cache.putMappings("particles", particleMappings != null ? particleMappings.mappings() : null);
+
+        if (tags != null) {
+            for (final Map.Entry<RegistryType, List<TagData>> entry : tags.entrySet()) {
+                cache.putTags(entry.getKey(), entry.getValue());
+            }
+        }
+
+        try {
+            cache.write(file, checksum);
+        } catch (final IOException e) {
+            getLogger().warning("Failed to write mapping cache " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns whether the mapping cache may be used for this mapping data.
+     * Subclasses have to opt in explicitly, and must not do so if they change how the mapping files are read or expanded.
+     *
+     * @return whether the mapping cache may be used, false by default for subclasses
+     */
+    protected boolean cacheable() {
+        return getClass() == MappingDataBase.class;
+    }
+
+    /**
+     * Returns whether {@link #loadExtras(CompoundTag)} reads from the mappings tag.
+     * If not, the mappings file is not read at all when loading from the mapping cache.
+     *
+     * @return whether the extras need the mappings tag, true by default for subclasses
+     */
+    protected boolean extrasUseMappingsTag() {
+        return getClass() != MappingDataBase.class;
+    }
+
     protected @Nullable CompoundTag readNBTFile(final String name) {
         return MappingDataLoader.loadNBT(name);
     }
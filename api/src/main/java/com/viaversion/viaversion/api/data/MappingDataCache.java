@@ -0,0 +1,324 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.data;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.minecraft.RegistryType;
+import com.viaversion.viaversion.api.minecraft.TagData;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Fully expanded mapping data stored in a flat binary file, so that following startups neither have to
+ * parse the bundled NBT files nor expand their serialization strategies again.
+ * <p>
+ * Cache files are validated against a checksum of the bundled resources they were built from
+ * and are read through a memory-mapped buffer.
+ */
+public final class MappingDataCache {
+
+    private static final int MAGIC = 0x5649414D; // VIAM
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_LENGTH = Integer.BYTES * 2 + Long.BYTES;
+    private static final byte INT_ARRAY_MAPPINGS = 0;
+    private static final byte IDENTITY_MAPPINGS = 1;
+    private static final byte IDENTIFIERS = 2;
+    private static final byte TAGS = 3;
+    private static final byte RANGE_MAPPINGS = 4;
+    private static final Map<String, Long> RESOURCE_CHECKSUMS = new ConcurrentHashMap<>();
+    private final Map<String, Mappings> mappings = new HashMap<>();
+    private final Map<String, List<String>> identifiers = new HashMap<>();
+    private final Map<RegistryType, List<TagData>> tags = new EnumMap<>(RegistryType.class);
+    private boolean storable = true;
+
+    /**
+     * Returns the cache folder inside the platform's data folder, or null if there is none.
+     *
+     * @return cache folder, or null if the platform has no data folder
+     */
+    public static @Nullable File cacheFolder() {
+        final File dataFolder = Via.getPlatform().getDataFolder();
+        return dataFolder != null ? new File(dataFolder, "cache") : null;
+    }
+
+    /**
+     * Returns a checksum over the contents of the given bundled resources.
+     * Checksums of single resources are computed only once.
+     *
+     * @param resources names of the bundled resources
+     * @return checksum over the given resources
+     */
+    public static long checksum(final String... resources) {
+        final ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * resources.length);
+        for (final String resource : resources) {
+            buffer.putLong(RESOURCE_CHECKSUMS.computeIfAbsent(resource, MappingDataCache::resourceChecksum));
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(buffer.array());
+        return crc.getValue();
+    }
+
+    private static long resourceChecksum(final String name) {
+        final InputStream resource = MappingDataLoader.getResource(name);
+        if (resource == null) {
+            return -1;
+        }
+
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[8192];
+        long length = 0;
+        try (final InputStream stream = resource) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+                length += read;
+            }
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+        return length << 32 | crc.getValue();
+    }
+
+    /**
+     * Reads the cache file if it exists and matches the given checksum.
+     *
+     * @param file     cache file
+     * @param checksum checksum of the resources the cache has been built from
+     * @return cached mapping data, or null if the file does not exist, is outdated, or cannot be read
+     */
+    public static @Nullable MappingDataCache read(final File file, final long checksum) {
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // Check the header before mapping the file, as mapped files can't be replaced on some systems
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            while (header.hasRemaining()) {
+                if (channel.read(header) == -1) {
+                    break;
+                }
+            }
+
+            header.flip();
+            if (header.remaining() != HEADER_LENGTH || header.getInt() != MAGIC
+                    || header.getInt() != FORMAT_VERSION || header.getLong() != checksum) {
+                return null;
+            }
+
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_LENGTH, channel.size() - HEADER_LENGTH);
+            final MappingDataCache cache = new MappingDataCache();
+            cache.readEntries(buffer);
+            return cache;
+        } catch (final IOException | BufferUnderflowException | IllegalArgumentException e) {
+            Via.getPlatform().getLogger().warning("Failed to read mapping cache " + file.getName() + ", it will be rebuilt: " + e);
+            return null;
+        }
+    }
+
+    private void readEntries(final ByteBuffer buffer) {
+        final int entries = buffer.getInt();
+        for (int i = 0; i < entries; i++) {
+            final byte type = buffer.get();
+            final String key = readString(buffer);
+            if (type == INT_ARRAY_MAPPINGS) {
+                final int mappedSize = buffer.getInt();
+                mappings.put(key, IntArrayMappings.of(readIntArray(buffer), mappedSize));
+            } else if (type == IDENTITY_MAPPINGS) {
+                final int size = buffer.getInt();
+                mappings.put(key, new IdentityMappings(size, buffer.getInt()));
+            } else if (type == RANGE_MAPPINGS) {
+                final int size = buffer.getInt();
+                final int mappedSize = buffer.getInt();
+                mappings.put(key, RangeMappings.of(readIntArray(buffer), readIntArray(buffer), size, mappedSize));
+            } else if (type == IDENTIFIERS) {
+                final int size = buffer.getInt();
+                final List<String> list = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    list.add(readString(buffer));
+                }
+                identifiers.put(key, list);
+            } else if (type == TAGS) {
+                final int size = buffer.getInt();
+                final List<TagData> list = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    list.add(new TagData(readString(buffer), readIntArray(buffer)));
+                }
+                tags.put(RegistryType.valueOf(key), list);
+            } else {
+                throw new IllegalArgumentException("Unknown entry type: " + type);
+            }
+        }
+    }
+
+    private static int[] readIntArray(final ByteBuffer buffer) {
+        final int[] array = new int[buffer.getInt()];
+        buffer.asIntBuffer().get(array);
+        buffer.position(buffer.position() + array.length * Integer.BYTES);
+        return array;
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the cache to the given file, replacing any previous file.
+     * Nothing is written if any of the stored mappings can't be represented in the cache.
+     *
+     * @param file     cache file
+     * @param checksum checksum of the resources the cache has been built from
+     * @throws IOException if writing the file fails
+     */
+    public void write(final File file, final long checksum) throws IOException {
+        if (!storable) {
+            return;
+        }
+
+        final File folder = file.getAbsoluteFile().getParentFile();
+        if (!folder.mkdirs() && !folder.isDirectory()) {
+            throw new IOException("Failed to create cache folder " + folder);
+        }
+
+        final Path tempFile = new File(folder, file.getName() + ".tmp").toPath();
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(checksum);
+            out.writeInt(mappings.size() + identifiers.size() + tags.size());
+            for (final Map.Entry<String, Mappings> entry : mappings.entrySet()) {
+                final Mappings value = entry.getValue();
+                if (value instanceof IntArrayMappings) {
+                    out.writeByte(INT_ARRAY_MAPPINGS);
+                    writeString(out, entry.getKey());
+                    out.writeInt(value.mappedSize());
+                    writeIntArray(out, ((IntArrayMappings) value).raw());
+                } else if (value instanceof RangeMappings) {
+                    out.writeByte(RANGE_MAPPINGS);
+                    writeString(out, entry.getKey());
+                    out.writeInt(value.size());
+                    out.writeInt(value.mappedSize());
+                    writeIntArray(out, ((RangeMappings) value).starts());
+                    writeIntArray(out, ((RangeMappings) value).values());
+                } else {
+                    out.writeByte(IDENTITY_MAPPINGS);
+                    writeString(out, entry.getKey());
+                    out.writeInt(value.size());
+                    out.writeInt(value.mappedSize());
+                }
+            }
+            for (final Map.Entry<String, List<String>> entry : identifiers.entrySet()) {
+                out.writeByte(IDENTIFIERS);
+                writeString(out, entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (final String identifier : entry.getValue()) {
+                    writeString(out, identifier);
+                }
+            }
+            for (final Map.Entry<RegistryType, List<TagData>> entry : tags.entrySet()) {
+                out.writeByte(TAGS);
+                writeString(out, entry.getKey().name());
+                out.writeInt(entry.getValue().size());
+                for (final TagData tag : entry.getValue()) {
+                    writeString(out, tag.identifier());
+                    writeIntArray(out, tag.entries());
+                }
+            }
+        }
+        Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeIntArray(final DataOutputStream out, final int[] array) throws IOException {
+        out.writeInt(array.length);
+        for (final int value : array) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Stores the given mappings. Only int array, range and identity mappings can be cached.
+     *
+     * @param key      mappings key
+     * @param mappings mappings to store, or null to store nothing
+     */
+    public void putMappings(final String key, @Nullable final Mappings mappings) {
+        if (mappings == null) {
+            return;
+        }
+
+        if (mappings instanceof IntArrayMappings || mappings instanceof RangeMappings || mappings instanceof IdentityMappings) {
+            this.mappings.put(key, mappings);
+        } else {
+            storable = false;
+        }
+    }
+
+    public void putIdentifiers(final String key, final List<String> identifiers) {
+        this.identifiers.put(key, identifiers);
+    }
+
+    public void putTags(final RegistryType type, final List<TagData> tags) {
+        this.tags.put(type, tags);
+    }
+
+    public @Nullable Mappings mappings(final String key) {
+        return mappings.get(key);
+    }
+
+    public @Nullable List<String> identifiers(final String key) {
+        return identifiers.get(key);
+    }
+
+    public @Nullable List<TagData> tags(final RegistryType type) {
+        return tags.get(type);
+    }
+}
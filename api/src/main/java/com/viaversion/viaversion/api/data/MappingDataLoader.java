@@ -44,8 +44,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -55,8 +56,9 @@ public final class MappingDataLoader {
     private static final byte SHIFTS_ID = 1;
     private static final byte CHANGES_ID = 2;
     private static final byte IDENTITY_ID = 3;
-    private static final Map<String, CompoundTag> MAPPINGS_CACHE = new HashMap<>();
-    private static boolean cacheValid = true;
+    private static final Map<String, CompoundTag> MAPPINGS_CACHE = new ConcurrentHashMap<>();
+    private static final Map<String, Long> LOAD_TIMES = new ConcurrentHashMap<>();
+    private static volatile boolean cacheValid = true;
 
     @Deprecated/*(forRemoval = true)*/
     public static void enableMappingsCache() {
@@ -65,21 +67,52 @@ public final class MappingDataLoader {
 
     public static void clearCache() {
         MAPPINGS_CACHE.clear();
+        LOAD_TIMES.clear();
         cacheValid = false;
     }
 
+    /**
+     * Adds the given time to the load time of a data file.
+     *
+     * @param name  name of the loaded file
+     * @param nanos time taken in nanoseconds
+     */
+    @Beta
+    public static void recordLoadTime(final String name, final long nanos) {
+        LOAD_TIMES.merge(name, nanos, Long::sum);
+    }
+
+    /**
+     * Returns the time spent loading each data file since the last cache clear, in nanoseconds.
+     *
+     * @return load times by file name
+     */
+    @Beta
+    public static Map<String, Long> loadTimes() {
+        return Collections.unmodifiableMap(LOAD_TIMES);
+    }
+
     /**
      * Loads the file from the plugin folder if present, else from the bundled resources.
      *
      * @return loaded json object, or null if not found or invalid
      */
     public static @Nullable JsonObject loadFromDataDir(final String name) {
+        final JsonObject object = loadFromDataFolder(name);
+        return object != null ? object : loadData(name);
+    }
+
+    /**
+     * Loads the file from the plugin folder, without falling back to the bundled resources.
+     *
+     * @return loaded json object, or null if not present
+     */
+    public static @Nullable JsonObject loadFromDataFolder(final String name) {
         final File file = new File(Via.getPlatform().getDataFolder(), name);
         if (!file.exists()) {
-            return loadData(name);
+            return null;
         }
 
-        // Load the file from the platform's directory if present
         try (final FileReader reader = new FileReader(file)) {
             return GsonUtil.getGson().fromJson(reader, JsonObject.class);
         } catch (final JsonSyntaxException e) {
@@ -102,10 +135,13 @@ public final class MappingDataLoader {
             return null;
         }
 
+        final long start = System.nanoTime();
         try (final InputStreamReader reader = new InputStreamReader(stream)) {
             return GsonUtil.getGson().fromJson(reader, JsonObject.class);
         } catch (final IOException e) {
             throw new RuntimeException(e);
+        } finally {
+            recordLoadTime(name, System.nanoTime() - start);
         }
     }
 
@@ -114,17 +150,19 @@ public final class MappingDataLoader {
             return loadNBTFromFile(name);
         }
 
-        CompoundTag data = MAPPINGS_CACHE.get(name);
-        if (data != null) {
-            return data;
+        final CompoundTag data = MAPPINGS_CACHE.get(name);
+        if (data != null || !cache) {
+            return data != null ? data : loadNBTFromFile(name);
         }
 
-        data = loadNBTFromFile(name);
-
-        if (cache && data != null) {
-            MAPPINGS_CACHE.put(name, data);
+        // Parse outside the map's lock, loaders racing for the same file share whichever result got in first
+        final CompoundTag loaded = loadNBTFromFile(name);
+        if (loaded == null) {
+            return null;
         }
-        return data;
+
+        final CompoundTag previous = MAPPINGS_CACHE.putIfAbsent(name, loaded);
+        return previous != null ? previous : loaded;
     }
 
     public static @Nullable CompoundTag loadNBT(final String name) {
@@ -137,10 +175,13 @@ public final class MappingDataLoader {
             return null;
         }
 
+        final long start = System.nanoTime();
         try (final InputStream stream = resource) {
             return NBTIO.readTag(stream);
         } catch (final IOException e) {
             throw new RuntimeException(e);
+        } finally {
+            recordLoadTime(name, System.nanoTime() - start);
         }
     }
 
@@ -149,7 +190,20 @@ public final class MappingDataLoader {
             final int[] array = new int[size];
             Arrays.fill(array, -1);
             return array;
-        }, (array, id, mappedId) -> array[id] = mappedId, IntArrayMappings::of);
+        }, (array, id, mappedId) -> array[id] = mappedId, MappingDataLoader::compactMappings);
+    }
+
+    /**
+     * Returns range mappings if they need considerably less memory than the full array, else array mappings.
+     *
+     * @param mappings   array of mapped ids
+     * @param mappedSize amount of mapped ids
+     * @return mappings holding the array's values
+     */
+    private static Mappings compactMappings(final int[] mappings, final int mappedSize) {
+        // Each range takes two ints, only use them if they save at least three quarters of the memory
+        final int ranges = RangeMappings.countRanges(mappings);
+        return ranges <= mappings.length / 8 ? RangeMappings.of(mappings, mappedSize) : IntArrayMappings.of(mappings, mappedSize);
     }
 
     @Beta
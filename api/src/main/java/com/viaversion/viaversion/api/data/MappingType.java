@@ -0,0 +1,55 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.data;
+
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Types of mapping data only translating ids, which can be composed over multiple protocols.
+ */
+public enum MappingType {
+
+    SOUNDS(MappingData::getSoundMappings),
+    PARTICLES(MappingData::getParticleMappings),
+    STATISTICS(MappingData::getStatisticsMappings),
+    MENUS(MappingData::getMenuMappings),
+    ENCHANTMENTS(MappingData::getEnchantmentMappings),
+    PAINTINGS(MappingData::getPaintingMappings);
+
+    private final Function<MappingData, @Nullable Mappings> getter;
+
+    MappingType(final Function<MappingData, @Nullable Mappings> getter) {
+        this.getter = getter;
+    }
+
+    /**
+     * Returns the mappings of this type from the given mapping data.
+     *
+     * @param mappingData mapping data
+     * @return mappings of this type, or null if not present
+     */
+    public @Nullable Mappings mappings(final MappingData mappingData) {
+        return getter.apply(mappingData);
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.data;
+
+import java.util.Arrays;
+
+/**
+ * Mappings stored as ranges of sequential ids, each one starting at an unmapped id and mapping consecutive ids to
+ * consecutive mapped ids. Lookups binary search the range table, which is a lot smaller than a full
+ * array for mostly unchanged or shifted data.
+ */
+public class RangeMappings implements Mappings {
+    private int[] starts;
+    private int[] values;
+    private final int size;
+    private final int mappedSize;
+
+    protected RangeMappings(final int[] starts, final int[] values, final int size, final int mappedSize) {
+        this.starts = starts;
+        this.values = values;
+        this.size = size;
+        this.mappedSize = mappedSize;
+    }
+
+    /**
+     * Returns range mappings for the given range table.
+     *
+     * @param starts     first unmapped id of each range, in ascending order and starting with 0
+     * @param values     mapped id of the first id of each range, or -1 if the whole range is unmapped
+     * @param size       amount of unmapped ids
+     * @param mappedSize amount of mapped ids
+     * @return range mappings
+     */
+    public static RangeMappings of(final int[] starts, final int[] values, final int size, final int mappedSize) {
+        if (starts.length != values.length || starts.length == 0 && size != 0 || starts.length != 0 && starts[0] != 0) {
+            throw new IllegalArgumentException("Invalid range table");
+        }
+        return new RangeMappings(starts, values, size, mappedSize);
+    }
+
+    /**
+     * Returns range mappings holding the same mappings as the given array.
+     *
+     * @param mappings   array of mapped ids, with -1 for unmapped ids
+     * @param mappedSize amount of mapped ids
+     * @return range mappings
+     */
+    public static RangeMappings of(final int[] mappings, final int mappedSize) {
+        final int ranges = countRanges(mappings);
+        final int[] starts = new int[ranges];
+        final int[] values = new int[ranges];
+        int range = -1;
+        for (int id = 0; id < mappings.length; id++) {
+            if (id == 0 || startsRange(mappings[id - 1], mappings[id])) {
+                range++;
+                starts[range] = id;
+                values[range] = mappings[id];
+            }
+        }
+        return new RangeMappings(starts, values, mappings.length, mappedSize);
+    }
+
+    /**
+     * Returns the amount of ranges needed to represent the given array.
+     *
+     * @param mappings array of mapped ids, with -1 for unmapped ids
+     * @return amount of ranges needed to represent the array
+     */
+    public static int countRanges(final int[] mappings) {
+        int ranges = mappings.length != 0 ? 1 : 0;
+        for (int id = 1; id < mappings.length; id++) {
+            if (startsRange(mappings[id - 1], mappings[id])) {
+                ranges++;
+            }
+        }
+        return ranges;
+    }
+
+    private static boolean startsRange(final int previousMappedId, final int mappedId) {
+        return previousMappedId == -1 ? mappedId != -1 : mappedId != previousMappedId + 1;
+    }
+
+    @Override
+    public int getNewId(final int id) {
+        if (id < 0 || id >= size) {
+            return -1;
+        }
+
+        final int range = rangeIndex(id);
+        final int value = values[range];
+        return value != -1 ? value + (id - starts[range]) : -1;
+    }
+
+    private int rangeIndex(final int id) {
+        // Index of the last range starting at or before the id
+        final int index = Arrays.binarySearch(starts, id);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    @Override
+    public void setNewId(final int id, final int mappedId) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Id " + id + " out of bounds for size " + size);
+        }
+        if (getNewId(id) == mappedId) {
+            return;
+        }
+
+        // Split the range containing the id into up to three ranges
+        final int range = rangeIndex(id);
+        final int start = starts[range];
+        final int value = values[range];
+        final int end = range + 1 < starts.length ? starts[range + 1] : size;
+        final boolean before = id > start;
+        final boolean after = id + 1 < end;
+        final int added = (before ? 1 : 0) + (after ? 1 : 0);
+
+        final int[] newStarts = new int[starts.length + added];
+        final int[] newValues = new int[values.length + added];
+        System.arraycopy(starts, 0, newStarts, 0, range);
+        System.arraycopy(values, 0, newValues, 0, range);
+
+        int index = range;
+        if (before) {
+            newStarts[index] = start;
+            newValues[index++] = value;
+        }
+        newStarts[index] = id;
+        newValues[index++] = mappedId;
+        if (after) {
+            newStarts[index] = id + 1;
+            newValues[index++] = value != -1 ? value + (id + 1 - start) : -1;
+        }
+
+        System.arraycopy(starts, range + 1, newStarts, index, starts.length - range - 1);
+        System.arraycopy(values, range + 1, newValues, index, values.length - range - 1);
+        this.starts = newStarts;
+        this.values = newValues;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int mappedSize() {
+        return mappedSize;
+    }
+
+    @Override
+    public Mappings inverse() {
+        final int[] inverse = new int[mappedSize];
+        Arrays.fill(inverse, -1);
+        for (int range = 0; range < starts.length; range++) {
+            final int value = values[range];
+            if (value == -1) {
+                continue;
+            }
+
+            final int end = range + 1 < starts.length ? starts[range + 1] : size;
+            for (int id = starts[range]; id < end; id++) {
+                final int mappedId = value + (id - starts[range]);
+                if (inverse[mappedId] == -1) {
+                    inverse[mappedId] = id;
+                }
+            }
+        }
+        return IntArrayMappings.of(inverse, size);
+    }
+
+    /**
+     * Returns the amount of ranges.
+     *
+     * @return amount of ranges
+     */
+    public int ranges() {
+        return starts.length;
+    }
+
+    int[] starts() {
+        return starts;
+    }
+
+    int[] values() {
+        return values;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.metrics;
+
+import com.google.common.annotations.Beta;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.util.Collection;
+
+/**
+ * Collects transform metrics if enabled. Recording is lock-free and may be called from any thread.
+ */
+@Beta
+public interface MetricsHandler {
+
+    /**
+     * Returns whether metrics are being recorded.
+     *
+     * @return whether metrics are being recorded
+     */
+    boolean enabled();
+
+    /**
+     * Sets whether metrics should be recorded. Disabled by default.
+     *
+     * @param enabled whether metrics should be recorded
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Records the handling of a packet by a single protocol.
+     *
+     * @param protocol  protocol handling the packet
+     * @param direction packet direction
+     * @param state     protocol state
+     * @param packetId  packet id unmapped by the protocol
+     * @param nanos     time taken by the protocol's packet handler
+     * @param cancelled whether the packet was cancelled by the handler
+     */
+    void recordTransform(Protocol protocol, Direction direction, State state, int packetId, long nanos, boolean cancelled);
+
+    /**
+     * Records the transformation of a packet through the full pipeline of a connection.
+     * Packets only having their id changed skip the pipeline and are not recorded here.
+     *
+     * @param connection user connection
+     * @param direction  packet direction
+     * @param state      protocol state
+     * @param packetId   packet id before transformation
+     * @param nanos      time taken by the pipeline
+     * @param cancelled  whether the packet was cancelled
+     */
+    void recordPipelineTransform(UserConnection connection, Direction direction, State state, int packetId, long nanos, boolean cancelled);
+
+    /**
+     * Records the size of a packet before and after transformation, including the packet id.
+     *
+     * @param direction packet direction
+     * @param bytesIn   size before transformation
+     * @param bytesOut  size after transformation, 0 if cancelled
+     */
+    void recordBytes(Direction direction, int bytesIn, int bytesOut);
+
+    /**
+     * Records a chunk section palette written with a local palette instead of the global palette.
+     *
+     * @param bytesSaved bytes saved compared to writing the global palette
+     */
+    void recordPaletteCompaction(int bytesSaved);
+
+    /**
+     * Records a change in the light data cached for 1.17 chunks. Unlike the other metrics, this is
+     * recorded even while metrics are disabled, as it tracks the current size of the cache.
+     *
+     * @param chunks change in the number of chunks with cached light data, may be negative
+     * @param bytes  change in the approximate size of the cached light data in bytes, may be negative
+     */
+    void recordCachedLight(int chunks, long bytes);
+
+    /**
+     * Returns the metrics of all protocols and packets recorded so far.
+     *
+     * @return live view of the recorded transform metrics
+     */
+    Collection<TransformMetrics> transformMetrics();
+
+    /**
+     * Returns the total size of packets going into the pipelines.
+     *
+     * @param direction packet direction
+     * @return total size of packets before transformation
+     */
+    long bytesIn(Direction direction);
+
+    /**
+     * Returns the total size of packets coming out of the pipelines.
+     *
+     * @param direction packet direction
+     * @return total size of packets after transformation
+     */
+    long bytesOut(Direction direction);
+
+    /**
+     * Returns the number of chunk section palettes written with a local instead of the global palette.
+     *
+     * @return number of compacted palettes
+     */
+    long compactedPalettes();
+
+    /**
+     * Returns the total bytes saved by writing local instead of global chunk section palettes.
+     *
+     * @return bytes saved by palette compaction
+     */
+    long paletteBytesSaved();
+
+    /**
+     * Returns the number of chunks light data is currently cached for, over all connections.
+     *
+     * @return number of chunks with cached light data
+     */
+    long cachedLightChunks();
+
+    /**
+     * Returns the approximate size of the currently cached light data over all connections, not counting shared light arrays.
+     *
+     * @return approximate size of the cached light data in bytes
+     */
+    long cachedLightBytes();
+
+    /**
+     * Clears all recorded metrics, except for the size of the light cache.
+     */
+    void reset();
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.metrics;
+
+import com.google.common.annotations.Beta;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Transform counters and latencies of a single packet type, either for one protocol or for full pipelines.
+ */
+@Beta
+public interface TransformMetrics {
+
+    /**
+     * Returns the protocol class the metrics are recorded for.
+     *
+     * @return protocol class, or null if recorded for full pipelines
+     */
+    @Nullable Class<? extends Protocol> protocolClass();
+
+    Direction direction();
+
+    State state();
+
+    /**
+     * Returns the unmapped packet id.
+     *
+     * @return unmapped packet id
+     */
+    int packetId();
+
+    /**
+     * Returns the protocol version the unmapped packet id belongs to if recorded for full pipelines.
+     *
+     * @return protocol version, or -1 if recorded for a single protocol
+     */
+    int protocolVersion();
+
+    /**
+     * Returns the name of the unmapped packet type, or its hex id if unknown.
+     *
+     * @return packet type name
+     */
+    String packetName();
+
+    /**
+     * Returns the number of transformed packets, including cancelled ones.
+     *
+     * @return number of transformed packets
+     */
+    long count();
+
+    /**
+     * Returns the number of cancelled packets.
+     *
+     * @return number of cancelled packets
+     */
+    long cancelled();
+
+    /**
+     * Returns the total time spent transforming the packets.
+     *
+     * @return total time in nanos
+     */
+    long totalNanos();
+
+    /**
+     * Returns the longest time spent transforming a single packet.
+     *
+     * @return maximum time in nanos
+     */
+    long maxNanos();
+
+    /**
+     * Returns the approximate time within which the given share of packets has been transformed.
+     * Values are accurate to within 1/8th of their magnitude.
+     *
+     * @param percentile percentile between 0 and 1
+     * @return time in nanos, or 0 if no packets have been recorded
+     */
+    long percentileNanos(double percentile);
+}
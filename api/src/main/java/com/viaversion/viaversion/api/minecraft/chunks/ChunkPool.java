@@ -0,0 +1,176 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.minecraft.chunks;
+
+import java.util.ArrayDeque;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Thread confined pools for the sections, palettes and light arrays of chunks.
+ * <p>
+ * Chunk types take their sections and palettes from the pool of the current thread, which stays empty
+ * unless chunks are given back with {@link #release(Chunk)} on the same thread once they have been written.
+ * A released chunk and its contents must not be used afterwards.
+ */
+public final class ChunkPool {
+
+    private static final ThreadLocal<ChunkPool> POOLS = ThreadLocal.withInitial(ChunkPool::new);
+    // Enough for a few of the tallest chunks, anything beyond is left to the garbage collector
+    private static final int MAX_POOLED_SECTIONS = 1024;
+    private final ArrayDeque<ChunkSectionImpl> sections = new ArrayDeque<>();
+    private final ArrayDeque<ChunkSectionLightImpl> lights = new ArrayDeque<>();
+    private final ArrayDeque<DataPaletteImpl> blockPalettes = new ArrayDeque<>();
+    private final ArrayDeque<DataPaletteImpl> biomePalettes = new ArrayDeque<>();
+
+    private ChunkPool() {
+    }
+
+    /**
+     * Returns an empty chunk section without palettes or light.
+     *
+     * @return empty chunk section
+     */
+    public static ChunkSectionImpl section() {
+        final ChunkSectionImpl section = POOLS.get().sections.poll();
+        if (section == null) {
+            return new ChunkSectionImpl();
+        }
+
+        section.reused();
+        return section;
+    }
+
+    /**
+     * Returns a chunk section with an empty block palette, like {@link ChunkSectionImpl#ChunkSectionImpl(boolean)}.
+     *
+     * @param holdsLight whether the section holds light
+     * @return chunk section
+     */
+    public static ChunkSectionImpl section(final boolean holdsLight) {
+        return section(holdsLight, -1);
+    }
+
+    /**
+     * Returns a chunk section with an empty block palette, like {@link ChunkSectionImpl#ChunkSectionImpl(boolean, int)}.
+     *
+     * @param holdsLight            whether the section holds light
+     * @param expectedPaletteLength expected palette length, or -1 for the default
+     * @return chunk section
+     */
+    public static ChunkSectionImpl section(final boolean holdsLight, final int expectedPaletteLength) {
+        final ChunkPool pool = POOLS.get();
+        final ChunkSectionImpl section = pool.sections.poll();
+        if (section == null) {
+            return expectedPaletteLength == -1 ? new ChunkSectionImpl(holdsLight) : new ChunkSectionImpl(holdsLight, expectedPaletteLength);
+        }
+
+        section.reused();
+        section.addPalette(PaletteType.BLOCKS, pool.takePalette(ChunkSection.SIZE, expectedPaletteLength));
+        if (holdsLight) {
+            final ChunkSectionLightImpl light = pool.lights.poll();
+            section.setLight(light != null ? light : new ChunkSectionLightImpl());
+        }
+        return section;
+    }
+
+    /**
+     * Returns an empty palette.
+     *
+     * @param valuesLength number of values in the palette
+     * @return empty palette
+     */
+    public static DataPaletteImpl palette(final int valuesLength) {
+        return POOLS.get().takePalette(valuesLength, -1);
+    }
+
+    /**
+     * Returns an empty palette.
+     *
+     * @param valuesLength number of values in the palette
+     * @param initialSize  expected palette size, only used for new palettes
+     * @return empty palette
+     */
+    public static DataPaletteImpl palette(final int valuesLength, final int initialSize) {
+        return POOLS.get().takePalette(valuesLength, initialSize);
+    }
+
+    /**
+     * Clears the sections of the chunk and makes them available to following chunks read on the current thread.
+     * Sections not created by this pool or the regular implementations are ignored.
+     *
+     * @param chunk chunk to release
+     */
+    public static void release(final Chunk chunk) {
+        final ChunkPool pool = POOLS.get();
+        for (final ChunkSection section : chunk.getSections()) {
+            if (section instanceof ChunkSectionImpl) {
+                pool.release((ChunkSectionImpl) section);
+            }
+        }
+    }
+
+    private DataPaletteImpl takePalette(final int valuesLength, final int initialSize) {
+        final ArrayDeque<DataPaletteImpl> palettes = palettes(valuesLength);
+        final DataPaletteImpl palette = palettes != null ? palettes.poll() : null;
+        if (palette != null) {
+            return palette;
+        }
+        return initialSize == -1 ? new DataPaletteImpl(valuesLength) : new DataPaletteImpl(valuesLength, initialSize);
+    }
+
+    private @Nullable ArrayDeque<DataPaletteImpl> palettes(final int valuesLength) {
+        if (valuesLength == ChunkSection.SIZE) {
+            return blockPalettes;
+        } else if (valuesLength == ChunkSection.BIOME_SIZE) {
+            return biomePalettes;
+        }
+        return null;
+    }
+
+    private void release(final ChunkSectionImpl section) {
+        if (section.isReleased() || sections.size() >= MAX_POOLED_SECTIONS) {
+            return;
+        }
+
+        for (final PaletteType type : PaletteType.values()) {
+            final DataPalette palette = section.palette(type);
+            if (palette instanceof DataPaletteImpl) {
+                final DataPaletteImpl paletteImpl = (DataPaletteImpl) palette;
+                final ArrayDeque<DataPaletteImpl> palettes = palettes(paletteImpl.valuesLength());
+                if (palettes != null && palettes.size() < MAX_POOLED_SECTIONS) {
+                    paletteImpl.reset();
+                    palettes.add(paletteImpl);
+                }
+            }
+        }
+
+        if (section.getLight() instanceof ChunkSectionLightImpl && lights.size() < MAX_POOLED_SECTIONS) {
+            final ChunkSectionLightImpl light = (ChunkSectionLightImpl) section.getLight();
+            light.reset();
+            lights.add(light);
+        }
+
+        section.release();
+        sections.add(section);
+    }
+}
@@ -30,6 +30,7 @@ public class ChunkSectionImpl implements ChunkSection {
     private final EnumMap<PaletteType, DataPalette> palettes = new EnumMap<>(PaletteType.class);
     private ChunkSectionLight light;
     private int nonAirBlocksCount;
+    private boolean released;
 
     public ChunkSectionImpl() {
     }
@@ -82,4 +83,22 @@ public class ChunkSectionImpl implements ChunkSection {
     public void removePalette(final PaletteType type) {
         palettes.remove(type);
     }
+
+    /**
+     * Clears the section before it is added to a {@link ChunkPool}.
+     */
+    void release() {
+        palettes.clear();
+        light = null;
+        nonAirBlocksCount = 0;
+        released = true;
+    }
+
+    void reused() {
+        released = false;
+    }
+
+    boolean isReleased() {
+        return released;
+    }
 }
@@ -29,6 +29,8 @@ public class ChunkSectionLightImpl implements ChunkSectionLight {
 
     private NibbleArray blockLight;
     private NibbleArray skyLight;
+    // Sky light array kept from before the light was pooled
+    private NibbleArray spareSkyLight;
 
     public ChunkSectionLightImpl() {
         // Block light is always written
@@ -85,25 +87,55 @@ public class ChunkSectionLightImpl implements ChunkSectionLight {
         if (this.blockLight == null) {
             this.blockLight = new NibbleArray(LIGHT_LENGTH * 2);
         }
-        input.readBytes(this.blockLight.getHandle());
+        readLight(input, this.blockLight);
     }
 
     @Override
     public void readSkyLight(ByteBuf input) {
         if (this.skyLight == null) {
-            this.skyLight = new NibbleArray(LIGHT_LENGTH * 2);
+            if (this.spareSkyLight != null) {
+                this.skyLight = this.spareSkyLight;
+                this.spareSkyLight = null;
+            } else {
+                this.skyLight = new NibbleArray(LIGHT_LENGTH * 2);
+            }
         }
-        input.readBytes(this.skyLight.getHandle());
+        readLight(input, this.skyLight);
+    }
+
+    /**
+     * Reads light into the given array, checking the bytes in place first so uniform light
+     * (typically full sky light or no block light) never needs a backing byte array.
+     */
+    private static void readLight(ByteBuf input, NibbleArray light) {
+        final int index = input.readerIndex();
+        final int first = input.getUnsignedByte(index);
+        if ((first >> 4) == (first & 0xF)) {
+            final long pattern = first * 0x0101010101010101L;
+            boolean uniform = true;
+            for (int i = 0; i < LIGHT_LENGTH; i += Long.BYTES) {
+                if (input.getLong(index + i) != pattern) {
+                    uniform = false;
+                    break;
+                }
+            }
+            if (uniform) {
+                light.fill((byte) first);
+                input.skipBytes(LIGHT_LENGTH);
+                return;
+            }
+        }
+        input.readBytes(light.getHandle());
     }
 
     @Override
     public void writeBlockLight(ByteBuf output) {
-        output.writeBytes(blockLight.getHandle());
+        blockLight.write(output);
     }
 
     @Override
     public void writeSkyLight(ByteBuf output) {
-        output.writeBytes(skyLight.getHandle());
+        skyLight.write(output);
     }
 
     @Override
@@ -115,4 +147,19 @@ public class ChunkSectionLightImpl implements ChunkSectionLight {
     public boolean hasBlockLight() {
         return blockLight != null;
     }
+
+    /**
+     * Resets the light to the state of a newly created one before it is added to a {@link ChunkPool}.
+     */
+    void reset() {
+        if (blockLight != null) {
+            blockLight.fill((byte) 0);
+        } else {
+            blockLight = new NibbleArray(ChunkSection.SIZE);
+        }
+        if (skyLight != null) {
+            spareSkyLight = skyLight;
+            skyLight = null;
+        }
+    }
 }
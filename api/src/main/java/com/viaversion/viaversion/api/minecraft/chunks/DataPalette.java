@@ -76,6 +76,29 @@ public interface DataPalette {
         setIdAt(index(sectionX, sectionY, sectionZ), id);
     }
 
+    /**
+     * Fills the given array with the values of all section coordinates.
+     *
+     * @param ids array to fill, with one entry per section coordinate
+     */
+    default void readAll(final int[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idAt(i);
+        }
+    }
+
+    /**
+     * Sets the values of all section coordinates.
+     * This method does not update non-air blocks count.
+     *
+     * @param ids id values, with one entry per section coordinate
+     */
+    default void writeAll(final int[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            setIdAt(i, ids[i]);
+        }
+    }
+
     /**
      * Returns the id assigned to the given palette index.
      *
@@ -108,6 +131,28 @@ public interface DataPalette {
      */
     void setPaletteIndexAt(int sectionCoordinate, int index);
 
+    /**
+     * Fills the given array with the palette indexes of all section coordinates.
+     *
+     * @param indexes array to fill, with one entry per section coordinate
+     */
+    default void readAllPaletteIndexes(final int[] indexes) {
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = paletteIndexAt(i);
+        }
+    }
+
+    /**
+     * Sets the palette indexes of all section coordinates.
+     *
+     * @param indexes palette indexes, with one entry per section coordinate
+     */
+    default void writeAllPaletteIndexes(final int[] indexes) {
+        for (int i = 0; i < indexes.length; i++) {
+            setPaletteIndexAt(i, indexes[i]);
+        }
+    }
+
     /**
      * Adds a new id to the palette.
      *
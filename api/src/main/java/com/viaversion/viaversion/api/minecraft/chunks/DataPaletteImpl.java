@@ -22,10 +22,13 @@
  */
 package com.viaversion.viaversion.api.minecraft.chunks;
 
+import com.viaversion.viaversion.util.CompactArrayUtil;
 import it.unimi.dsi.fastutil.ints.Int2IntMap;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class DataPaletteImpl implements DataPalette {
 
@@ -33,15 +36,20 @@ public final class DataPaletteImpl implements DataPalette {
 
     private final IntList palette;
     private final Int2IntMap inversePalette;
+    private final int valuesLength;
     private final int sizeBits;
     private ChunkData values;
+    // Storage arrays kept for reuse after the palette has been reset
+    private byte @Nullable [] spareBytes;
+    private short @Nullable [] spareShorts;
 
     public DataPaletteImpl(final int valuesLength) {
         this(valuesLength, DEFAULT_INITIAL_SIZE);
     }
 
     public DataPaletteImpl(final int valuesLength, final int initialSize) {
-        values = new EmptyChunkData(valuesLength);
+        this.valuesLength = valuesLength;
+        values = new EmptyChunkData();
         sizeBits = Integer.numberOfTrailingZeros(valuesLength) / 3;
         // Pre-size the palette array/map
         palette = new IntArrayList(initialSize);
@@ -83,6 +91,65 @@ public final class DataPaletteImpl implements DataPalette {
         values.set(sectionCoordinate, index);
     }
 
+    @Override
+    public void readAll(final int[] ids) {
+        values.getAll(ids);
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = palette.getInt(ids[i]);
+        }
+    }
+
+    @Override
+    public void writeAll(final int[] ids) {
+        final short[] indexes = ids.length == valuesLength ? shortStorage() : new short[ids.length];
+        int lastId = 0;
+        int lastIndex = -1;
+        for (int i = 0; i < ids.length; i++) {
+            // Neighbouring values are often the same, skip the palette lookup for those
+            final int id = ids[i];
+            if (id != lastId || lastIndex == -1) {
+                lastIndex = inversePalette.get(id);
+                if (lastIndex == -1) {
+                    lastIndex = palette.size();
+                    palette.add(id);
+                    inversePalette.put(id, lastIndex);
+                }
+                lastId = id;
+            }
+            indexes[i] = (short) lastIndex;
+        }
+        values = new ShortChunkData(indexes);
+    }
+
+    @Override
+    public void readAllPaletteIndexes(final int[] indexes) {
+        values.getAll(indexes);
+    }
+
+    @Override
+    public void writeAllPaletteIndexes(final int[] indexes) {
+        int maxIndex = 0;
+        for (final int index : indexes) {
+            maxIndex = Math.max(maxIndex, index);
+        }
+
+        if (maxIndex == 0) {
+            values = new EmptyChunkData();
+        } else if (maxIndex <= 0xFF) {
+            final byte[] data = byteStorage();
+            for (int i = 0; i < indexes.length; i++) {
+                data[i] = (byte) indexes[i];
+            }
+            values = new ByteChunkData(data);
+        } else {
+            final short[] data = shortStorage();
+            for (int i = 0; i < indexes.length; i++) {
+                data[i] = (short) indexes[i];
+            }
+            values = new ShortChunkData(data);
+        }
+    }
+
     @Override
     public int size() {
         return palette.size();
@@ -135,28 +202,99 @@ public final class DataPaletteImpl implements DataPalette {
         inversePalette.clear();
     }
 
+    int valuesLength() {
+        return valuesLength;
+    }
+
+    /**
+     * Clears the palette and its values before it is added to a {@link ChunkPool}, keeping the storage arrays for reuse.
+     */
+    void reset() {
+        clear();
+        if (values instanceof ByteChunkData) {
+            spareBytes = ((ByteChunkData) values).data;
+        } else if (values instanceof ShortChunkData) {
+            spareShorts = ((ShortChunkData) values).data;
+        }
+        values = new EmptyChunkData();
+    }
+
+    /**
+     * Returns a byte array of the values length, only zeroed if it was used before.
+     */
+    private byte[] byteStorage() {
+        final byte[] data = spareBytes;
+        if (data == null) {
+            return new byte[valuesLength];
+        }
+        spareBytes = null;
+        Arrays.fill(data, (byte) 0);
+        return data;
+    }
+
+    /**
+     * Returns a short array of the values length, only zeroed if it was used before.
+     */
+    private short[] shortStorage() {
+        final short[] data = spareShorts;
+        if (data == null) {
+            return new short[valuesLength];
+        }
+        spareShorts = null;
+        Arrays.fill(data, (short) 0);
+        return data;
+    }
+
+    /**
+     * Sets the palette indexes from a long array packed with padding, as used from 1.16 onwards.
+     * The array is only unpacked once a value is modified, so that it can be written back as-is
+     * if only palette entries are changed.
+     *
+     * @param packedIndexes packed palette indexes, not copied
+     * @param bitsPerValue  bits per palette index
+     */
+    public void setPackedPaletteIndexes(final long[] packedIndexes, final int bitsPerValue) {
+        values = new PackedChunkData(packedIndexes, bitsPerValue);
+    }
+
+    /**
+     * Returns the packed palette indexes as previously set if they have not been modified since
+     * and are packed with the given bits per value.
+     *
+     * @param bitsPerValue bits per palette index
+     * @return packed palette indexes if unmodified, else null
+     */
+    public long @Nullable [] packedPaletteIndexes(final int bitsPerValue) {
+        if (!(values instanceof PackedChunkData)) {
+            return null;
+        }
+
+        final PackedChunkData packed = (PackedChunkData) values;
+        return packed.bitsPerValue == bitsPerValue ? packed.data : null;
+    }
+
     interface ChunkData {
         int get(int idx);
         void set(int idx, int val);
+        void getAll(int[] output);
     }
 
     private class EmptyChunkData implements ChunkData {
 
-        private final int size;
-
-        public EmptyChunkData(int size) {
-            this.size = size;
-        }
-
         @Override
         public int get(int idx) {
             return 0;
         }
 
+        @Override
+        public void getAll(int[] output) {
+            Arrays.fill(output, 0);
+        }
+
         @Override
         public void set(int idx, int val) {
             if (val != 0) {
-                values = new ByteChunkData(size);
+                values = new ByteChunkData(byteStorage());
                 values.set(idx, val);
             }
         }
@@ -165,8 +303,8 @@ public final class DataPaletteImpl implements DataPalette {
     private class ByteChunkData implements ChunkData {
         private final byte[] data;
 
-        public ByteChunkData(int size) {
-            this.data = new byte[size];
+        public ByteChunkData(byte[] data) {
+            this.data = data;
         }
 
         @Override
@@ -174,11 +312,19 @@ public final class DataPaletteImpl implements DataPalette {
             return data[idx] & 0xFF;
         }
 
+        @Override
+        public void getAll(int[] output) {
+            for (int i = 0; i < output.length; i++) {
+                output[i] = data[i] & 0xFF;
+            }
+        }
+
         @Override
         public void set(int idx, int val) {
             // Overflowed size of byte (over 256 different materials), go up to short
             if (val > 0xFF) {
-                values = new ShortChunkData(data);
+                values = new ShortChunkData(data, shortStorage());
+                spareBytes = data;
                 values.set(idx, val);
                 return;
             }
@@ -186,21 +332,67 @@ public final class DataPaletteImpl implements DataPalette {
         }
     }
 
+    private final class PackedChunkData implements ChunkData {
+        private final long[] data;
+        private final int bitsPerValue;
+        private final int valuesPerLong;
+        private final long mask;
+
+        private PackedChunkData(final long[] data, final int bitsPerValue) {
+            this.data = data;
+            this.bitsPerValue = bitsPerValue;
+            this.valuesPerLong = 64 / bitsPerValue;
+            this.mask = (1L << bitsPerValue) - 1;
+        }
+
+        @Override
+        public int get(final int idx) {
+            final int cellIndex = idx / valuesPerLong;
+            final int bitIndex = (idx - cellIndex * valuesPerLong) * bitsPerValue;
+            return (int) (data[cellIndex] >> bitIndex & mask);
+        }
+
+        @Override
+        public void set(final int idx, final int val) {
+            // Unpack into regular storage once values are modified
+            final int[] indexes = new int[valuesLength];
+            getAll(indexes);
+            writeAllPaletteIndexes(indexes);
+            values.set(idx, val);
+        }
+
+        @Override
+        public void getAll(final int[] output) {
+            CompactArrayUtil.unpackWithPadding(bitsPerValue, data, output);
+        }
+    }
+
     private static class ShortChunkData implements ChunkData {
         private final short[] data;
 
-        public ShortChunkData(byte[] data) {
-            this.data = new short[data.length];
+        public ShortChunkData(byte[] data, short[] target) {
+            this.data = target;
             for (int i = 0; i < data.length; i++) {
                 this.data[i] = (short) (data[i] & 0xFF);
             }
         }
 
+        public ShortChunkData(short[] data) {
+            this.data = data;
+        }
+
         @Override
         public int get(int idx) {
             return data[idx];
         }
 
+        @Override
+        public void getAll(int[] output) {
+            for (int i = 0; i < output.length; i++) {
+                output[i] = data[i];
+            }
+        }
+
         @Override
         public void set(int idx, int val) {
             data[idx] = (short) val;
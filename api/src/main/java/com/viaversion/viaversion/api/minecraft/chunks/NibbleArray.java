@@ -22,17 +22,38 @@
  */
 package com.viaversion.viaversion.api.minecraft.chunks;
 
+import io.netty.buffer.ByteBuf;
 import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * Array of 4 bit values, as used for light.
+ * <p>
+ * Arrays created with a length or value only store that single value until a different value is set,
+ * or until the byte array behind them is requested with {@link #getHandle()}.
+ */
 public class NibbleArray {
-    private final byte[] handle;
+    private final int length;
+    private byte @Nullable [] handle;
+    private byte uniformValue;
 
     public NibbleArray(int length) {
+        this(length, 0);
+    }
+
+    /**
+     * Creates a nibble array filled with the given value, without allocating its byte array until a different value is set.
+     *
+     * @param length number of values
+     * @param value  value of all entries
+     */
+    public NibbleArray(int length, int value) {
         if (length == 0 || length % 2 != 0) {
             throw new IllegalArgumentException("Length of nibble array must be a positive number dividable by 2!");
         }
 
-        this.handle = new byte[length / 2];
+        this.length = length / 2;
+        this.uniformValue = (byte) (value & 0xF);
     }
 
     public NibbleArray(byte[] handle) {
@@ -40,6 +61,7 @@ public class NibbleArray {
             throw new IllegalArgumentException("Length of nibble array must be a positive number dividable by 2!");
         }
 
+        this.length = handle.length;
         this.handle = handle;
     }
 
@@ -62,12 +84,12 @@ public class NibbleArray {
      * @return The value at that index.
      */
     public byte get(int index) {
-        byte value = handle[index / 2];
-        if (index % 2 == 0) {
-            return (byte) (value & 0xF);
-        } else {
-            return (byte) ((value >> 4) & 0xF);
+        final byte[] handle = this.handle;
+        if (handle == null) {
+            return uniformValue;
         }
+        // Even indexes are stored in the lower, odd ones in the upper 4 bits
+        return (byte) (handle[index >> 1] >> ((index & 1) << 2) & 0xF);
     }
 
     /**
@@ -89,13 +111,17 @@ public class NibbleArray {
      * @param value The desired value
      */
     public void set(int index, int value) {
-        if (index % 2 == 0) {
-            index /= 2;
-            handle[index] = (byte) ((handle[index] & 0xF0) | (value & 0xF));
-        } else {
-            index /= 2;
-            handle[index] = (byte) ((handle[index] & 0xF) | ((value & 0xF) << 4));
+        value &= 0xF;
+        if (handle == null) {
+            if (value == uniformValue) {
+                return;
+            }
+            materialize();
         }
+
+        final int shift = (index & 1) << 2;
+        final int byteIndex = index >> 1;
+        handle[byteIndex] = (byte) (handle[byteIndex] & ~(0xF << shift) | value << shift);
     }
 
     /**
@@ -104,7 +130,7 @@ public class NibbleArray {
      * @return The size as an int of the nibble
      */
     public int size() {
-        return handle.length * 2;
+        return length * 2;
     }
 
     /**
@@ -113,7 +139,7 @@ public class NibbleArray {
      * @return The number of bytes based on the handle.
      */
     public int actualSize() {
-        return handle.length;
+        return length;
     }
 
     /**
@@ -123,28 +149,136 @@ public class NibbleArray {
      */
     public void fill(byte value) {
         value &= 0xF; // Max nibble size (= 16)
-        Arrays.fill(handle, (byte) ((value << 4) | value));
+        if (handle != null) {
+            // Keep the handle, it may still be referenced
+            Arrays.fill(handle, (byte) ((value << 4) | value));
+        } else {
+            uniformValue = value;
+        }
+    }
+
+    /**
+     * Returns whether the array only holds a single value without a byte array behind it.
+     *
+     * @return whether the array is uniform without a byte array
+     */
+    public boolean isUniform() {
+        return handle == null;
+    }
+
+    /**
+     * Copies the values of the given nibble array into this one, keeping this array uniform if the other one is.
+     *
+     * @param other nibble array of the same size to copy from
+     */
+    public void copyFrom(NibbleArray other) {
+        if (other.length != length) {
+            throw new IllegalArgumentException("Length of nibble arrays must be equal!");
+        }
+
+        if (other.handle == null) {
+            fill(other.uniformValue);
+        } else {
+            if (handle == null) {
+                handle = new byte[length];
+            }
+            System.arraycopy(other.handle, 0, handle, 0, length);
+        }
     }
 
     /**
-     * Get the byte array behind this nibble
+     * Get the byte array behind this nibble, creating it if the array is still uniform
      *
      * @return The byte array
      */
     public byte[] getHandle() {
+        if (handle == null) {
+            materialize();
+        }
         return handle;
     }
 
+    /**
+     * Writes the values to the buffer, the same way as writing the byte array from {@link #getHandle()}
+     * without having to create it if the array is uniform.
+     *
+     * @param output buffer to write to
+     */
+    public void write(ByteBuf output) {
+        if (handle != null) {
+            output.writeBytes(handle);
+        } else if (uniformValue == 0) {
+            output.writeZero(length);
+        } else {
+            output.ensureWritable(length);
+            final byte value = (byte) (uniformValue << 4 | uniformValue);
+            for (int i = 0; i < length; i++) {
+                output.writeByte(value);
+            }
+        }
+    }
+
     /**
      * Copy a byte array into this nibble
      *
      * @param handle The byte array to copy in.
      */
     public void setHandle(byte[] handle) {
-        if (handle.length != this.handle.length) {
+        if (handle.length != this.length) {
             throw new IllegalArgumentException("Length of handle must equal to size of nibble array!");
         }
 
+        if (this.handle == null) {
+            this.handle = new byte[length];
+        }
         System.arraycopy(handle, 0, this.handle, 0, handle.length);
     }
+
+    private void materialize() {
+        final byte[] handle = new byte[length];
+        if (uniformValue != 0) {
+            Arrays.fill(handle, (byte) (uniformValue << 4 | uniformValue));
+        }
+        this.handle = handle;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NibbleArray that = (NibbleArray) o;
+        if (length != that.length) return false;
+        if (handle == null && that.handle == null) {
+            return uniformValue == that.uniformValue;
+        }
+        if (handle != null && that.handle != null) {
+            return Arrays.equals(handle, that.handle);
+        }
+        return handle != null ? isFilledWith(handle, that.uniformValue) : isFilledWith(that.handle, uniformValue);
+    }
+
+    private static boolean isFilledWith(byte[] handle, byte uniformValue) {
+        final byte value = (byte) (uniformValue << 4 | uniformValue);
+        for (final byte b : handle) {
+            if (b != value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        if (handle != null) {
+            return Arrays.hashCode(handle);
+        }
+
+        // Same as the hash code of the materialized array
+        final byte value = (byte) (uniformValue << 4 | uniformValue);
+        int result = 1;
+        for (int i = 0; i < length; i++) {
+            result = 31 * result + value;
+        }
+        return result;
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.minecraft.chunks;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.metrics.MetricsHandler;
+import com.viaversion.viaversion.api.type.types.VarIntType;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Re-encodes palettes that would otherwise be written with the global palette, if enabled in the config.
+ * Remapping can merge palette entries, so the distinct ids of a section may still fit into a local palette.
+ */
+public final class PaletteCompaction {
+
+    private PaletteCompaction() {
+    }
+
+    /**
+     * Returns whether palettes should be compacted before falling back to the global palette.
+     *
+     * @return whether palette compaction is enabled
+     */
+    public static boolean enabled() {
+        return Via.getConfig().isCompactChunkPalettes();
+    }
+
+    /**
+     * Returns a palette only containing the distinct ids of the given palette's values.
+     *
+     * @param palette      palette to compact
+     * @param valuesLength number of values in the palette
+     * @param maxSize      maximum size of the compacted palette
+     * @return compacted palette, or null if there are more than maxSize distinct ids
+     */
+    public static @Nullable DataPalette compact(final DataPalette palette, final int valuesLength, final int maxSize) {
+        final int[] values = new int[valuesLength];
+        palette.readAll(values);
+
+        final Int2IntMap indexes = new Int2IntOpenHashMap(maxSize);
+        indexes.defaultReturnValue(-1);
+        final DataPaletteImpl compacted = new DataPaletteImpl(valuesLength, maxSize);
+        int lastId = 0;
+        int lastIndex = -1;
+        for (int i = 0; i < values.length; i++) {
+            final int id = values[i];
+            if (id != lastId || lastIndex == -1) {
+                lastIndex = indexes.get(id);
+                if (lastIndex == -1) {
+                    if (compacted.size() == maxSize) {
+                        return null;
+                    }
+
+                    lastIndex = compacted.size();
+                    compacted.addId(id);
+                    indexes.put(id, lastIndex);
+                }
+                lastId = id;
+            }
+            values[i] = lastIndex;
+        }
+
+        compacted.writeAllPaletteIndexes(values);
+        return compacted;
+    }
+
+    /**
+     * Records the bytes saved by writing a compacted palette, if metrics are enabled.
+     *
+     * @param globalLongs  length of the value array when written with the global palette
+     * @param writtenBytes bytes written for the compacted palette, including bits per value, palette and values
+     */
+    public static void recordCompaction(final int globalLongs, final int writtenBytes) {
+        final MetricsHandler metrics = Via.getManager().metricsHandler();
+        if (metrics.enabled()) {
+            final int globalBytes = Byte.BYTES + VarIntType.varIntLength(globalLongs) + globalLongs * Long.BYTES;
+            metrics.recordPaletteCompaction(globalBytes - writtenBytes);
+        }
+    }
+}
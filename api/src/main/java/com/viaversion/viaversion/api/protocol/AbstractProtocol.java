@@ -26,6 +26,7 @@ import com.google.common.base.Preconditions;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.entity.EntityTracker;
+import com.viaversion.viaversion.api.metrics.MetricsHandler;
 import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
@@ -377,9 +378,8 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
 
     @Override
     public void transform(Direction direction, State state, PacketWrapper packetWrapper) throws Exception {
-        PacketMappings mappings = direction == Direction.CLIENTBOUND ? clientboundMappings : serverboundMappings;
         int unmappedId = packetWrapper.getId();
-        PacketMapping packetMapping = mappings.mappedPacket(state, unmappedId);
+        PacketMapping packetMapping = packetMapping(direction, state, unmappedId);
         if (packetMapping == null) {
             return;
         }
@@ -388,9 +388,15 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
         packetMapping.applyType(packetWrapper);
         PacketHandler handler = packetMapping.handler();
         if (handler != null) {
+            MetricsHandler metrics = Via.getManager().metricsHandler();
+            boolean recordMetrics = metrics.enabled();
+            long start = recordMetrics ? System.nanoTime() : 0;
             try {
                 handler.handle(packetWrapper);
             } catch (CancelException e) {
+                if (recordMetrics) {
+                    metrics.recordTransform(this, direction, state, unmappedId, System.nanoTime() - start, true);
+                }
                 // Pass through CancelExceptions
                 throw e;
             } catch (InformativeException e) {
@@ -406,12 +412,38 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
                 return;
             }
 
+            if (recordMetrics) {
+                metrics.recordTransform(this, direction, state, unmappedId, System.nanoTime() - start, packetWrapper.isCancelled());
+            }
             if (packetWrapper.isCancelled()) {
                 throw CancelException.generate();
             }
         }
     }
 
+    @Override
+    public int remappedPacketId(UserConnection connection, Direction direction, State state, int unmappedPacketId) {
+        // Only called for protocols supporting id-only remapping, see supportsPacketIdRemapping
+        PacketMapping packetMapping = packetMapping(direction, state, unmappedPacketId);
+        if (packetMapping == null) {
+            return unmappedPacketId;
+        }
+        return packetMapping.handler() == null ? packetMapping.mappedPacketId(unmappedPacketId) : -1;
+    }
+
+    /**
+     * Returns the packet mapping registered for the given packet if present.
+     *
+     * @param direction        direction the packet is going in
+     * @param state            protocol state
+     * @param unmappedPacketId unmapped packet id
+     * @return packet mapping if present
+     */
+    public @Nullable PacketMapping packetMapping(Direction direction, State state, int unmappedPacketId) {
+        PacketMappings mappings = direction == Direction.CLIENTBOUND ? clientboundMappings : serverboundMappings;
+        return mappings.mappedPacket(state, unmappedPacketId);
+    }
+
     protected void throwRemapError(Direction direction, State state, int unmappedPacketId, int mappedPacketId, InformativeException e) throws InformativeException {
         // Don't print errors during handshake/login/status
         if (state != State.PLAY && direction == Direction.SERVERBOUND && !Via.getManager().debugHandler().enabled()) {
@@ -238,6 +238,72 @@ public interface Protocol<CU extends ClientboundPacketType, CM extends Clientbou
      */
     void transform(Direction direction, State state, PacketWrapper packetWrapper) throws Exception;
 
+    /**
+     * Returns the packet id the given packet is mapped to if transforming it does not require reading or changing
+     * any of its contents, allowing the rest of the packet to be passed through as-is.
+     * <p>
+     * Only called if {@link #supportsPacketIdRemapping()} returns true.
+     *
+     * @param connection       user connection the packet belongs to
+     * @param direction        direction the packet is going in
+     * @param state            current protocol state
+     * @param unmappedPacketId unmapped packet id
+     * @return mapped packet id, or -1 if the packet has to be transformed through {@link #transform(Direction, State, PacketWrapper)}
+     */
+    default int remappedPacketId(UserConnection connection, Direction direction, State state, int unmappedPacketId) {
+        return -1;
+    }
+
+    /**
+     * Returns whether {@link #remappedPacketId(UserConnection, Direction, State, int)} covers everything
+     * {@link #transform(Direction, State, PacketWrapper)} does, so packets it returns an id for may skip the transform.
+     * <p>
+     * This has to be opted into explicitly, protocols overriding the transform method with additional logic
+     * must also override the remapped packet id method accordingly before returning true.
+     * Protocols opting in are skipped for packets they have no packet mapping for,
+     * unless {@link #transformsUnmappedPackets()} returns true.
+     *
+     * @return true if packets may be remapped by id only
+     */
+    default boolean supportsPacketIdRemapping() {
+        return false;
+    }
+
+    /**
+     * Returns whether {@link #transform(Direction, State, PacketWrapper)} may act on packets without a registered packet mapping,
+     * meaning it has to be called for every packet. Only relevant if {@link #supportsPacketIdRemapping()} returns true.
+     *
+     * @return true if transform has to be called for every packet
+     */
+    default boolean transformsUnmappedPackets() {
+        return false;
+    }
+
+    /**
+     * Returns whether the handlers of clientbound chunk packets may run on a chunk worker thread instead of the
+     * connection's event loop. They must not send packets and may only use connection storages that are exclusively
+     * changed by clientbound packet handlers, as those are never run at the same time.
+     * <p>
+     * Protocols only changing the id of chunk packets through {@link #remappedPacketId(UserConnection, Direction, State, int)}
+     * don't need to opt in.
+     *
+     * @return true if the chunk packet handlers may run off the event loop
+     */
+    default boolean hasThreadSafeChunkHandlers() {
+        return false;
+    }
+
+    /**
+     * Returns whether none of the packet handlers of this protocol keep references to chunks, their sections or palettes
+     * once the packet has been handled, so they can be reused for other chunk packets if chunk object pooling is enabled.
+     * Chunks are only reused if every protocol in the pipeline opts in.
+     *
+     * @return true if chunks may be reused after being handled by this protocol
+     */
+    default boolean supportsChunkPooling() {
+        return false;
+    }
+
     /**
      * Returns a packet type provider for this protocol to get packet types by id.
      * Depending on the Protocol, not every state may be populated.
@@ -24,6 +24,8 @@ package com.viaversion.viaversion.api.protocol;
 
 import com.google.common.collect.Range;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.data.MappingType;
+import com.viaversion.viaversion.api.data.Mappings;
 import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
@@ -150,6 +152,19 @@ public interface ProtocolManager {
      */
     @Nullable List<ProtocolPathEntry> getProtocolPath(int clientVersion, int serverVersion);
 
+    /**
+     * Returns clientbound mappings of the given type composed over the whole protocol path between the two versions,
+     * mapping ids of the server version to ids of the client version in a single lookup.
+     * Protocols on the path without mappings of the type leave ids unchanged.
+     * The mapping data of all protocols on the path has to be loaded, and the returned mappings must not be modified.
+     *
+     * @param clientVersion input client version
+     * @param serverVersion desired output server version
+     * @param type          mapping type
+     * @return composed mappings, or null if there is no path or no protocol on it has mappings of the type
+     */
+    @Nullable Mappings getComposedMappings(int clientVersion, int serverVersion, MappingType type);
+
     /**
      * Returns a versioned packet transformer to transform and send packets from a given base version to any client version supported by Via.
      * The used packet types have to match the given protocol version.
@@ -265,9 +280,20 @@ public interface ProtocolManager {
      * Shuts down the executor and uncaches mappings if all futures have been completed.
      *
      * @return true if the executor has now been shut down
+     * @deprecated completion is signalled through {@link #mappingLoadingFuture()}, polling is no longer needed
      */
+    @Deprecated/*(forRemoval = true)*/
     boolean checkForMappingCompletion();
 
+    /**
+     * Returns a future completed once the mapping data loading started during startup has finished
+     * and the loader executor has been shut down. Mapping data of protocols that are only needed
+     * later on is loaded on first use.
+     *
+     * @return future completed once startup mapping data loading has finished
+     */
+    CompletableFuture<Void> mappingLoadingFuture();
+
     /**
      * Executes the given runnable asynchronously, adding a {@link CompletableFuture}
      * to the list of data to load bound to their protocols.
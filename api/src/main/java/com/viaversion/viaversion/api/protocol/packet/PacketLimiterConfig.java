@@ -0,0 +1,101 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.protocol.packet;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the packet limiter settings, replaced as a whole when the config is reloaded.
+ */
+public final class PacketLimiterConfig {
+    private final int maxPPS;
+    private final String maxPPSKickMessage;
+    private final int trackingPeriod;
+    private final int warningPPS;
+    private final int maxWarnings;
+    private final String maxWarningsKickMessage;
+    private final Map<String, Integer> packetWeights;
+
+    /**
+     * @param maxPPS                 maximum packets per second, or a value below 1 to disable the check
+     * @param maxPPSKickMessage      kick message when exceeding the maximum packets per second
+     * @param trackingPeriod         period in seconds to track warnings in, or a value below 1 to disable warnings
+     * @param warningPPS             packets per second counting as a warning
+     * @param maxWarnings            maximum warnings within the tracking period
+     * @param maxWarningsKickMessage kick message when exceeding the maximum warnings
+     * @param packetWeights          weights of serverbound play packets by packet type name, other packets count as 1
+     */
+    public PacketLimiterConfig(int maxPPS, String maxPPSKickMessage, int trackingPeriod, int warningPPS, int maxWarnings,
+                               String maxWarningsKickMessage, Map<String, Integer> packetWeights) {
+        this.maxPPS = maxPPS;
+        this.maxPPSKickMessage = maxPPSKickMessage;
+        this.trackingPeriod = trackingPeriod;
+        this.warningPPS = warningPPS;
+        this.maxWarnings = maxWarnings;
+        this.maxWarningsKickMessage = maxWarningsKickMessage;
+        this.packetWeights = ImmutableMap.copyOf(packetWeights);
+    }
+
+    public int maxPPS() {
+        return maxPPS;
+    }
+
+    public String maxPPSKickMessage() {
+        return maxPPSKickMessage;
+    }
+
+    public int trackingPeriod() {
+        return trackingPeriod;
+    }
+
+    public int warningPPS() {
+        return warningPPS;
+    }
+
+    public int maxWarnings() {
+        return maxWarnings;
+    }
+
+    public String maxWarningsKickMessage() {
+        return maxWarningsKickMessage;
+    }
+
+    /**
+     * Returns whether packets are limited at all.
+     *
+     * @return whether the max pps or warning checks are enabled
+     */
+    public boolean enabled() {
+        return maxPPS > 0 || (maxWarnings > 0 && trackingPeriod > 0);
+    }
+
+    /**
+     * Returns the weights of serverbound play packets by packet type name. Packets not contained count as 1.
+     *
+     * @return immutable map of packet weights
+     */
+    public Map<String, Integer> packetWeights() {
+        return packetWeights;
+    }
+}
@@ -23,20 +23,29 @@
 package com.viaversion.viaversion.api.protocol.packet;
 
 import com.viaversion.viaversion.api.Via;
-import com.viaversion.viaversion.api.configuration.ViaVersionConfig;
 import com.viaversion.viaversion.api.connection.UserConnection;
 
+/**
+ * Counts the packets of a connection and limits the rate of received packets.
+ * <p>
+ * Received packets are counted in one second windows, with the rate estimated over a sliding second by weighting the previous
+ * window by its remaining overlap, so that bursts split across a window boundary are caught. Packets can have different weights.
+ * Counters are only updated from the connection's event loop, but may be read from any thread.
+ */
 public class PacketTracker {
+    private static final int WINDOW_MILLIS = 1000;
     private final UserConnection connection;
-    private long sentPackets;
-    private long receivedPackets;
+    private volatile long sentPackets;
+    private volatile long receivedPackets;
     // Used for tracking pps
-    private long startTime;
-    private long intervalPackets;
-    private long packetsPerSecond = -1L;
+    private long windowStart = millis();
+    private long currentWindow;
+    private long previousWindow;
+    private boolean windowCompleted; // Only used by the deprecated incrementReceived/exceedsMaxPPS pair
+    private volatile long packetsPerSecond = -1L;
     // Used for handling warnings (over time)
-    private int secondsObserved;
-    private int warnings;
+    private volatile int secondsObserved;
+    private volatile int warnings;
 
     public PacketTracker(UserConnection connection) {
         this.connection = connection;
@@ -46,62 +55,70 @@ public class PacketTracker {
      * Used for incrementing the number of packets sent to the client.
      */
     public void incrementSent() {
-        this.sentPackets++;
+        this.sentPackets++; // Single writer
     }
 
     /**
-     * Used for incrementing the number of packets received from the client.
+     * Counts a packet received from the client and checks it against the limits,
+     * disconnecting the user if they are exceeded.
      *
-     * @return true if the interval has reset and can now be checked for the packets sent
+     * @param weight weight of the packet, 1 for most packets
+     * @return true if the packet should be cancelled
      */
-    public boolean incrementReceived() {
-        // handle stats
-        long diff = System.currentTimeMillis() - startTime;
-        if (diff >= 1000) {
-            packetsPerSecond = intervalPackets;
-            startTime = System.currentTimeMillis();
-            intervalPackets = 1;
+    public boolean trackReceived(int weight) {
+        this.receivedPackets++; // Single writer
+        return track(weight);
+    }
+
+    private boolean track(int weight) {
+        if (connection.isClientSide()) return false; // Don't apply PPS limiting for client-side
+
+        PacketLimiterConfig config = Via.getConfig().getPacketLimiterConfig();
+        long now = millis();
+        if (completeWindow(now) && exceedsWarnings(config)) {
             return true;
-        } else {
-            intervalPackets++;
         }
-        // increase total
-        this.receivedPackets++;
-        return false;
+
+        currentWindow += weight;
+        return exceedsRate(config, now);
     }
 
     /**
-     * Checks for packet flood with the packets sent in the last second.
-     * ALWAYS check for {@link #incrementReceived()} before using this method.
+     * Starts a new window if the current one is over.
      *
-     * @return true if the packet should be cancelled
-     * @see #incrementReceived()
+     * @param now current time in millis
+     * @return whether a window has been completed
      */
-    public boolean exceedsMaxPPS() {
-        if (connection.isClientSide()) return false; // Don't apply PPS limiting for client-side
-        ViaVersionConfig conf = Via.getConfig();
-        // Max PPS Checker
-        if (conf.getMaxPPS() > 0) {
-            if (packetsPerSecond >= conf.getMaxPPS()) {
-                connection.disconnect(conf.getMaxPPSKickMessage().replace("%pps", Long.toString(packetsPerSecond)));
-                return true; // don't send current packet
-            }
+    private boolean completeWindow(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < WINDOW_MILLIS) {
+            return false;
         }
 
+        long completed = currentWindow;
+        // Windows without any packets in between don't count towards the sliding rate
+        previousWindow = elapsed < WINDOW_MILLIS * 2 ? completed : 0;
+        packetsPerSecond = completed;
+        currentWindow = 0;
+        windowStart = now - elapsed % WINDOW_MILLIS;
+        return true;
+    }
+
+    private boolean exceedsWarnings(PacketLimiterConfig config) {
         // Tracking PPS Checker
-        if (conf.getMaxWarnings() > 0 && conf.getTrackingPeriod() > 0) {
-            if (secondsObserved > conf.getTrackingPeriod()) {
+        if (config.maxWarnings() > 0 && config.trackingPeriod() > 0) {
+            if (secondsObserved > config.trackingPeriod()) {
                 // Reset
                 warnings = 0;
                 secondsObserved = 1;
             } else {
                 secondsObserved++;
-                if (packetsPerSecond >= conf.getWarningPPS()) {
+                if (packetsPerSecond >= config.warningPPS()) {
                     warnings++;
                 }
 
-                if (warnings >= conf.getMaxWarnings()) {
-                    connection.disconnect(conf.getMaxWarningsKickMessage().replace("%pps", Long.toString(packetsPerSecond)));
+                if (warnings >= config.maxWarnings()) {
+                    connection.disconnect(config.maxWarningsKickMessage().replace("%pps", Long.toString(packetsPerSecond)));
                     return true; // don't send current packet
                 }
             }
@@ -109,10 +126,69 @@ public class PacketTracker {
         return false;
     }
 
+    private boolean exceedsRate(PacketLimiterConfig config, long now) {
+        if (config.maxPPS() > 0) {
+            long windowElapsed = now - windowStart;
+            long pps = currentWindow + previousWindow * (WINDOW_MILLIS - windowElapsed) / WINDOW_MILLIS;
+            if (pps >= config.maxPPS()) {
+                connection.disconnect(config.maxPPSKickMessage().replace("%pps", Long.toString(pps)));
+                return true; // don't send current packet
+            }
+        }
+        return false;
+    }
+
+    private static long millis() {
+        // Monotonic, unlike the wall clock
+        return System.nanoTime() / 1_000_000L;
+    }
+
+    /**
+     * Used for incrementing the number of packets received from the client.
+     *
+     * @return true if a window has been completed and the limits should be checked
+     * @deprecated use {@link #trackReceived(int)}, which counts and checks the packet at once
+     */
+    @Deprecated
+    public boolean incrementReceived() {
+        this.receivedPackets++;
+        boolean completed = completeWindow(millis());
+        if (completed) {
+            windowCompleted = true;
+        }
+        currentWindow++;
+        return completed;
+    }
+
+    /**
+     * Checks for packet flood with the packets received in the last second.
+     * ALWAYS check for {@link #incrementReceived()} before using this method.
+     *
+     * @return true if the packet should be cancelled
+     * @deprecated use {@link #trackReceived(int)}, which counts and checks the packet at once
+     */
+    @Deprecated
+    public boolean exceedsMaxPPS() {
+        if (connection.isClientSide()) return false; // Don't apply PPS limiting for client-side
+
+        PacketLimiterConfig config = Via.getConfig().getPacketLimiterConfig();
+        if (windowCompleted) {
+            windowCompleted = false;
+            if (exceedsWarnings(config)) {
+                return true;
+            }
+        }
+        return exceedsRate(config, millis());
+    }
+
     public long getSentPackets() {
         return sentPackets;
     }
 
+    /**
+     * @deprecated counters are only meant to be updated by the tracker itself
+     */
+    @Deprecated
     public void setSentPackets(long sentPackets) {
         this.sentPackets = sentPackets;
     }
@@ -121,30 +197,66 @@ public class PacketTracker {
         return receivedPackets;
     }
 
+    /**
+     * @deprecated counters are only meant to be updated by the tracker itself
+     */
+    @Deprecated
     public void setReceivedPackets(long receivedPackets) {
         this.receivedPackets = receivedPackets;
     }
 
+    /**
+     * Returns the start of the current window.
+     *
+     * @return start of the current window in millis of a monotonic clock, unrelated to the wall clock
+     * @deprecated the window start is an implementation detail of the limiter
+     */
+    @Deprecated
     public long getStartTime() {
-        return startTime;
+        return windowStart;
     }
 
+    /**
+     * @param startTime start of the current window in millis of a monotonic clock, unrelated to the wall clock
+     * @deprecated the window start is an implementation detail of the limiter
+     */
+    @Deprecated
     public void setStartTime(long startTime) {
-        this.startTime = startTime;
+        this.windowStart = startTime;
     }
 
+    /**
+     * Returns the weighted number of packets received in the current window.
+     *
+     * @return packets in the current window
+     * @deprecated the window contents are an implementation detail of the limiter
+     */
+    @Deprecated
     public long getIntervalPackets() {
-        return intervalPackets;
+        return currentWindow;
     }
 
+    /**
+     * @deprecated the window contents are an implementation detail of the limiter
+     */
+    @Deprecated
     public void setIntervalPackets(long intervalPackets) {
-        this.intervalPackets = intervalPackets;
+        this.currentWindow = intervalPackets;
     }
 
+    /**
+     * Returns the weighted number of packets received in the last completed second.
+     *
+     * @return packets per second, or -1 if no second has been completed yet
+     */
     public long getPacketsPerSecond() {
         return packetsPerSecond;
     }
 
+    /**
+     * @deprecated counters are only meant to be updated by the tracker itself
+     */
+    @Deprecated
     public void setPacketsPerSecond(long packetsPerSecond) {
         this.packetsPerSecond = packetsPerSecond;
     }
@@ -153,6 +265,10 @@ public class PacketTracker {
         return secondsObserved;
     }
 
+    /**
+     * @deprecated counters are only meant to be updated by the tracker itself
+     */
+    @Deprecated
     public void setSecondsObserved(int secondsObserved) {
         this.secondsObserved = secondsObserved;
     }
@@ -161,6 +277,10 @@ public class PacketTracker {
         return warnings;
     }
 
+    /**
+     * @deprecated counters are only meant to be updated by the tracker itself
+     */
+    @Deprecated
     public void setWarnings(int warnings) {
         this.warnings = warnings;
     }
@@ -26,6 +26,7 @@ import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.remapper.PacketHandler;
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.exception.InformativeException;
 import io.netty.buffer.ByteBuf;
@@ -143,6 +144,244 @@ public interface PacketWrapper {
      */
     <T> T passthrough(Type<T> type) throws Exception;
 
+    /**
+     * Read a int from the input without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type you wish to read
+     * @return The read value
+     * @throws InformativeException If it fails to read
+     */
+    default int readInt(Type<Integer> type) throws Exception {
+        return read(type);
+    }
+
+    /**
+     * Write a int to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type  The type to write.
+     * @param value The value of the type to write.
+     */
+    default void writeInt(Type<Integer> type, int value) {
+        write(type, value);
+    }
+
+    /**
+     * Take a int from the input and write it to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type to read and write.
+     * @return The value which was read/written.
+     * @throws Exception If it failed to read or write
+     */
+    default int passthroughInt(Type<Integer> type) throws Exception {
+        final int value = readInt(type);
+        writeInt(type, value);
+        return value;
+    }
+
+    /**
+     * Read a long from the input without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type you wish to read
+     * @return The read value
+     * @throws InformativeException If it fails to read
+     */
+    default long readLong(Type<Long> type) throws Exception {
+        return read(type);
+    }
+
+    /**
+     * Write a long to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type  The type to write.
+     * @param value The value of the type to write.
+     */
+    default void writeLong(Type<Long> type, long value) {
+        write(type, value);
+    }
+
+    /**
+     * Take a long from the input and write it to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type to read and write.
+     * @return The value which was read/written.
+     * @throws Exception If it failed to read or write
+     */
+    default long passthroughLong(Type<Long> type) throws Exception {
+        final long value = readLong(type);
+        writeLong(type, value);
+        return value;
+    }
+
+    /**
+     * Read a short from the input without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type you wish to read
+     * @return The read value
+     * @throws InformativeException If it fails to read
+     */
+    default short readShort(Type<Short> type) throws Exception {
+        return read(type);
+    }
+
+    /**
+     * Write a short to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type  The type to write.
+     * @param value The value of the type to write.
+     */
+    default void writeShort(Type<Short> type, short value) {
+        write(type, value);
+    }
+
+    /**
+     * Take a short from the input and write it to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type to read and write.
+     * @return The value which was read/written.
+     * @throws Exception If it failed to read or write
+     */
+    default short passthroughShort(Type<Short> type) throws Exception {
+        final short value = readShort(type);
+        writeShort(type, value);
+        return value;
+    }
+
+    /**
+     * Read a byte from the input without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type you wish to read
+     * @return The read value
+     * @throws InformativeException If it fails to read
+     */
+    default byte readByte(Type<Byte> type) throws Exception {
+        return read(type);
+    }
+
+    /**
+     * Write a byte to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type  The type to write.
+     * @param value The value of the type to write.
+     */
+    default void writeByte(Type<Byte> type, byte value) {
+        write(type, value);
+    }
+
+    /**
+     * Take a byte from the input and write it to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type to read and write.
+     * @return The value which was read/written.
+     * @throws Exception If it failed to read or write
+     */
+    default byte passthroughByte(Type<Byte> type) throws Exception {
+        final byte value = readByte(type);
+        writeByte(type, value);
+        return value;
+    }
+
+    /**
+     * Read a float from the input without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type you wish to read
+     * @return The read value
+     * @throws InformativeException If it fails to read
+     */
+    default float readFloat(Type<Float> type) throws Exception {
+        return read(type);
+    }
+
+    /**
+     * Write a float to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type  The type to write.
+     * @param value The value of the type to write.
+     */
+    default void writeFloat(Type<Float> type, float value) {
+        write(type, value);
+    }
+
+    /**
+     * Take a float from the input and write it to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type to read and write.
+     * @return The value which was read/written.
+     * @throws Exception If it failed to read or write
+     */
+    default float passthroughFloat(Type<Float> type) throws Exception {
+        final float value = readFloat(type);
+        writeFloat(type, value);
+        return value;
+    }
+
+    /**
+     * Read a double from the input without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type you wish to read
+     * @return The read value
+     * @throws InformativeException If it fails to read
+     */
+    default double readDouble(Type<Double> type) throws Exception {
+        return read(type);
+    }
+
+    /**
+     * Write a double to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type  The type to write.
+     * @param value The value of the type to write.
+     */
+    default void writeDouble(Type<Double> type, double value) {
+        write(type, value);
+    }
+
+    /**
+     * Take a double from the input and write it to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type to read and write.
+     * @return The value which was read/written.
+     * @throws Exception If it failed to read or write
+     */
+    default double passthroughDouble(Type<Double> type) throws Exception {
+        final double value = readDouble(type);
+        writeDouble(type, value);
+        return value;
+    }
+
+    /**
+     * Read a boolean from the input without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type you wish to read
+     * @return The read value
+     * @throws InformativeException If it fails to read
+     */
+    default boolean readBoolean(Type<Boolean> type) throws Exception {
+        return read(type);
+    }
+
+    /**
+     * Write a boolean to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type  The type to write.
+     * @param value The value of the type to write.
+     */
+    default void writeBoolean(Type<Boolean> type, boolean value) {
+        write(type, value);
+    }
+
+    /**
+     * Take a boolean from the input and write it to the output without boxing it if the type is a {@link PrimitiveType}.
+     *
+     * @param type The type to read and write.
+     * @return The value which was read/written.
+     * @throws Exception If it failed to read or write
+     */
+    default boolean passthroughBoolean(Type<Boolean> type) throws Exception {
+        final boolean value = readBoolean(type);
+        writeBoolean(type, value);
+        return value;
+    }
+
     /**
      * Take all the inputs and write them to the output.
      *
@@ -39,6 +39,16 @@ public interface PacketMapping {
      */
     void applyType(PacketWrapper wrapper);
 
+    /**
+     * Returns the packet id the given unmapped packet id is changed to by {@link #applyType(PacketWrapper)}.
+     *
+     * @param unmappedPacketId unmapped packet id
+     * @return mapped packet id, the unmapped packet id if it is not changed, or -1 if it is not known without applying the mapping
+     */
+    default int mappedPacketId(int unmappedPacketId) {
+        return -1;
+    }
+
     /**
      * Returns a packet transformer to transform a packet from one protocol version to another.
      *
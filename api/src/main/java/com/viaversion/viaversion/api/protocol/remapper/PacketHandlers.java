@@ -23,6 +23,7 @@
 package com.viaversion.viaversion.api.protocol.remapper;
 
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -45,13 +46,46 @@ public abstract class PacketHandlers implements PacketHandler {
         return handlers;
     }
 
+    /**
+     * Returns a handler reading the old type and writing the new type.
+     * Values of primitive types with the same output class are mapped without boxing them.
+     *
+     * @param oldType old type
+     * @param newType new type
+     * @return handler mapping the type
+     */
+    @SuppressWarnings("unchecked")
+    static PacketHandler mapHandler(Type oldType, Type newType) {
+        final Class<?> outputClass = oldType.getOutputClass();
+        if (!(oldType instanceof PrimitiveType) || !(newType instanceof PrimitiveType) || outputClass != newType.getOutputClass()) {
+            return wrapper -> wrapper.write(newType, wrapper.read(oldType));
+        }
+
+        if (outputClass == Integer.class) {
+            return wrapper -> wrapper.writeInt(newType, wrapper.readInt(oldType));
+        } else if (outputClass == Long.class) {
+            return wrapper -> wrapper.writeLong(newType, wrapper.readLong(oldType));
+        } else if (outputClass == Short.class) {
+            return wrapper -> wrapper.writeShort(newType, wrapper.readShort(oldType));
+        } else if (outputClass == Byte.class) {
+            return wrapper -> wrapper.writeByte(newType, wrapper.readByte(oldType));
+        } else if (outputClass == Float.class) {
+            return wrapper -> wrapper.writeFloat(newType, wrapper.readFloat(oldType));
+        } else if (outputClass == Double.class) {
+            return wrapper -> wrapper.writeDouble(newType, wrapper.readDouble(oldType));
+        } else if (outputClass == Boolean.class) {
+            return wrapper -> wrapper.writeBoolean(newType, wrapper.readBoolean(oldType));
+        }
+        return wrapper -> wrapper.write(newType, wrapper.read(oldType));
+    }
+
     /**
      * Reads and writes the given type.
      *
      * @param type type to map
      */
     public <T> void map(Type<T> type) {
-        handler(wrapper -> wrapper.write(type, wrapper.read(type)));
+        handler(mapHandler(type, type));
     }
 
     /**
@@ -61,7 +95,7 @@ public abstract class PacketHandlers implements PacketHandler {
      * @param newType new type
      */
     public void map(Type oldType, Type newType) {
-        handler(wrapper -> wrapper.write(newType, wrapper.read(oldType)));
+        handler(mapHandler(oldType, newType));
     }
 
     /**
@@ -47,7 +47,7 @@ public abstract class PacketRemapper {
      * @param type type to map
      */
     public void map(Type type) {
-        handler(wrapper -> wrapper.write(type, wrapper.read(type)));
+        handler(PacketHandlers.mapHandler(type, type));
     }
 
     /**
@@ -57,7 +57,7 @@ public abstract class PacketRemapper {
      * @param newType new type
      */
     public void map(Type oldType, Type newType) {
-        handler(wrapper -> wrapper.write(newType, wrapper.read(oldType)));
+        handler(PacketHandlers.mapHandler(oldType, newType));
     }
 
     /**
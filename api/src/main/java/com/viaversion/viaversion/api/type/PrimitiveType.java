@@ -0,0 +1,66 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.type;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * A type of primitive values that can be read and written as longs without boxing them.
+ * Integral values are stored as their value, floating point values as their raw bits, and booleans as 0 or 1.
+ *
+ * @param <T> boxed type
+ */
+public interface PrimitiveType<T> {
+
+    /**
+     * Reads a value from the buffer.
+     *
+     * @param buffer buffer to read from
+     * @return value stored as a long
+     */
+    long readLong(ByteBuf buffer);
+
+    /**
+     * Writes a value to the buffer.
+     *
+     * @param buffer buffer to write to
+     * @param value  value stored as a long
+     */
+    void writeLong(ByteBuf buffer, long value);
+
+    /**
+     * Returns the boxed value of a value stored as a long.
+     *
+     * @param value value stored as a long
+     * @return boxed value
+     */
+    T box(long value);
+
+    /**
+     * Returns the given boxed value stored as a long.
+     *
+     * @param value boxed value
+     * @return value stored as a long
+     */
+    long unbox(T value);
+}
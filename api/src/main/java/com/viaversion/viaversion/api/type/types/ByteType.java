@@ -22,11 +22,12 @@
  */
 package com.viaversion.viaversion.api.type.types;
 
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.TypeConverter;
 import io.netty.buffer.ByteBuf;
 
-public class ByteType extends Type<Byte> implements TypeConverter<Byte> {
+public class ByteType extends Type<Byte> implements TypeConverter<Byte>, PrimitiveType<Byte> {
     public ByteType() {
         super(Byte.class);
     }
@@ -51,6 +52,26 @@ public class ByteType extends Type<Byte> implements TypeConverter<Byte> {
         buffer.writeByte(object);
     }
 
+    @Override
+    public long readLong(ByteBuf buffer) {
+        return readPrimitive(buffer);
+    }
+
+    @Override
+    public void writeLong(ByteBuf buffer, long value) {
+        writePrimitive(buffer, (byte) value);
+    }
+
+    @Override
+    public Byte box(long value) {
+        return (byte) value;
+    }
+
+    @Override
+    public long unbox(Byte value) {
+        return value;
+    }
+
     @Override
     public Byte from(Object o) {
         if (o instanceof Number) {
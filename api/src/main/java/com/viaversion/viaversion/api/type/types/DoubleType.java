@@ -22,11 +22,12 @@
  */
 package com.viaversion.viaversion.api.type.types;
 
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.TypeConverter;
 import io.netty.buffer.ByteBuf;
 
-public class DoubleType extends Type<Double> implements TypeConverter<Double> {
+public class DoubleType extends Type<Double> implements TypeConverter<Double>, PrimitiveType<Double> {
 
     public DoubleType() {
         super(Double.class);
@@ -58,6 +59,26 @@ public class DoubleType extends Type<Double> implements TypeConverter<Double> {
         buffer.writeDouble(object);
     }
 
+    @Override
+    public long readLong(ByteBuf buffer) {
+        return Double.doubleToRawLongBits(readPrimitive(buffer));
+    }
+
+    @Override
+    public void writeLong(ByteBuf buffer, long value) {
+        writePrimitive(buffer, Double.longBitsToDouble(value));
+    }
+
+    @Override
+    public Double box(long value) {
+        return Double.longBitsToDouble(value);
+    }
+
+    @Override
+    public long unbox(Double value) {
+        return Double.doubleToRawLongBits(value);
+    }
+
     @Override
     public Double from(Object o) {
         if (o instanceof Number) {
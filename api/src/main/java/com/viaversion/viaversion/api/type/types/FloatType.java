@@ -23,11 +23,12 @@
 package com.viaversion.viaversion.api.type.types;
 
 import com.viaversion.viaversion.api.type.OptionalType;
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.TypeConverter;
 import io.netty.buffer.ByteBuf;
 
-public class FloatType extends Type<Float> implements TypeConverter<Float> {
+public class FloatType extends Type<Float> implements TypeConverter<Float>, PrimitiveType<Float> {
 
     public FloatType() {
         super(Float.class);
@@ -59,6 +60,26 @@ public class FloatType extends Type<Float> implements TypeConverter<Float> {
         buffer.writeFloat(object);
     }
 
+    @Override
+    public long readLong(ByteBuf buffer) {
+        return Float.floatToRawIntBits(readPrimitive(buffer));
+    }
+
+    @Override
+    public void writeLong(ByteBuf buffer, long value) {
+        writePrimitive(buffer, Float.intBitsToFloat((int) value));
+    }
+
+    @Override
+    public Float box(long value) {
+        return Float.intBitsToFloat((int) value);
+    }
+
+    @Override
+    public long unbox(Float value) {
+        return Float.floatToRawIntBits(value);
+    }
+
     @Override
     public Float from(Object o) {
         if (o instanceof Number) {
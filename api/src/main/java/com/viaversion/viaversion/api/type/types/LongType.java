@@ -22,11 +22,12 @@
  */
 package com.viaversion.viaversion.api.type.types;
 
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.TypeConverter;
 import io.netty.buffer.ByteBuf;
 
-public class LongType extends Type<Long> implements TypeConverter<Long> {
+public class LongType extends Type<Long> implements TypeConverter<Long>, PrimitiveType<Long> {
 
     public LongType() {
         super(Long.class);
@@ -50,6 +51,26 @@ public class LongType extends Type<Long> implements TypeConverter<Long> {
         buffer.writeLong(object);
     }
 
+    @Override
+    public long readLong(ByteBuf buffer) {
+        return readPrimitive(buffer);
+    }
+
+    @Override
+    public void writeLong(ByteBuf buffer, long value) {
+        writePrimitive(buffer, value);
+    }
+
+    @Override
+    public Long box(long value) {
+        return value;
+    }
+
+    @Override
+    public long unbox(Long value) {
+        return value;
+    }
+
     @Override
     public Long from(Object o) {
         if (o instanceof Number) {
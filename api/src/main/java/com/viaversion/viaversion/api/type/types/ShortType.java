@@ -22,11 +22,12 @@
  */
 package com.viaversion.viaversion.api.type.types;
 
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.TypeConverter;
 import io.netty.buffer.ByteBuf;
 
-public class ShortType extends Type<Short> implements TypeConverter<Short> {
+public class ShortType extends Type<Short> implements TypeConverter<Short>, PrimitiveType<Short> {
 
     public ShortType() {
         super(Short.class);
@@ -58,6 +59,26 @@ public class ShortType extends Type<Short> implements TypeConverter<Short> {
         buffer.writeShort(object);
     }
 
+    @Override
+    public long readLong(ByteBuf buffer) {
+        return readPrimitive(buffer);
+    }
+
+    @Override
+    public void writeLong(ByteBuf buffer, long value) {
+        writePrimitive(buffer, (short) value);
+    }
+
+    @Override
+    public Short box(long value) {
+        return (short) value;
+    }
+
+    @Override
+    public long unbox(Short value) {
+        return value;
+    }
+
     @Override
     public Short from(Object o) {
         if (o instanceof Number) {
@@ -22,11 +22,12 @@
  */
 package com.viaversion.viaversion.api.type.types;
 
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.TypeConverter;
 import io.netty.buffer.ByteBuf;
 
-public class UnsignedByteType extends Type<Short> implements TypeConverter<Short> {
+public class UnsignedByteType extends Type<Short> implements TypeConverter<Short>, PrimitiveType<Short> {
     public UnsignedByteType() {
         super("Unsigned Byte", Short.class);
     }
@@ -41,6 +42,26 @@ public class UnsignedByteType extends Type<Short> implements TypeConverter<Short
         buffer.writeByte(object);
     }
 
+    @Override
+    public long readLong(ByteBuf buffer) {
+        return buffer.readUnsignedByte();
+    }
+
+    @Override
+    public void writeLong(ByteBuf buffer, long value) {
+        buffer.writeByte((int) value);
+    }
+
+    @Override
+    public Short box(long value) {
+        return (short) value;
+    }
+
+    @Override
+    public long unbox(Short value) {
+        return value;
+    }
+
     @Override
     public Short from(Object o) {
         if (o instanceof Number) {
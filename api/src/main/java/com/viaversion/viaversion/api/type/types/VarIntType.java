@@ -22,11 +22,12 @@
  */
 package com.viaversion.viaversion.api.type.types;
 
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.TypeConverter;
 import io.netty.buffer.ByteBuf;
 
-public class VarIntType extends Type<Integer> implements TypeConverter<Integer> {
+public class VarIntType extends Type<Integer> implements TypeConverter<Integer>, PrimitiveType<Integer> {
 
     private static final int CONTINUE_BIT = 0x80;
     private static final int VALUE_BITS = 0x7F;
@@ -61,6 +62,16 @@ public class VarIntType extends Type<Integer> implements TypeConverter<Integer>
         buffer.writeByte(value);
     }
 
+    /**
+     * Returns the number of bytes the given value takes up when written as a VarInt.
+     *
+     * @param value value
+     * @return number of bytes needed to write the value
+     */
+    public static int varIntLength(final int value) {
+        return (31 - Integer.numberOfLeadingZeros(value)) / 7 + 1;
+    }
+
     /**
      * @deprecated use {@link #readPrimitive(ByteBuf)} for manual reading to avoid wrapping
      */
@@ -79,6 +90,26 @@ public class VarIntType extends Type<Integer> implements TypeConverter<Integer>
         writePrimitive(buffer, object);
     }
 
+    @Override
+    public long readLong(ByteBuf buffer) {
+        return readPrimitive(buffer);
+    }
+
+    @Override
+    public void writeLong(ByteBuf buffer, long value) {
+        writePrimitive(buffer, (int) value);
+    }
+
+    @Override
+    public Integer box(long value) {
+        return (int) value;
+    }
+
+    @Override
+    public long unbox(Integer value) {
+        return value;
+    }
+
     @Override
     public Integer from(Object o) {
         if (o instanceof Number) {
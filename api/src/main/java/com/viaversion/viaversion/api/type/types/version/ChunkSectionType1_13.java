@@ -22,9 +22,10 @@
  */
 package com.viaversion.viaversion.api.type.types.version;
 
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkPool;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
-import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteCompaction;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.util.CompactArrayUtil;
@@ -32,6 +33,7 @@ import io.netty.buffer.ByteBuf;
 
 public class ChunkSectionType1_13 extends Type<ChunkSection> {
     private static final int GLOBAL_PALETTE = 14;
+    private static final int GLOBAL_PALETTE_LENGTH = (ChunkSection.SIZE * GLOBAL_PALETTE + 63) / 64;
 
     public ChunkSectionType1_13() {
         super("Chunk Section Type", ChunkSection.class);
@@ -51,13 +53,13 @@ public class ChunkSectionType1_13 extends Type<ChunkSection> {
         ChunkSection chunkSection;
         if (bitsPerBlock != GLOBAL_PALETTE) {
             int paletteLength = Type.VAR_INT.readPrimitive(buffer);
-            chunkSection = new ChunkSectionImpl(true, paletteLength);
+            chunkSection = ChunkPool.section(true, paletteLength);
             DataPalette blockPalette = chunkSection.palette(PaletteType.BLOCKS);
             for (int i = 0; i < paletteLength; i++) {
                 blockPalette.addId(Type.VAR_INT.readPrimitive(buffer));
             }
         } else {
-            chunkSection = new ChunkSectionImpl(true);
+            chunkSection = ChunkPool.section(true);
         }
 
         // Read blocks
@@ -66,8 +68,13 @@ public class ChunkSectionType1_13 extends Type<ChunkSection> {
             int expectedLength = (int) Math.ceil(ChunkSection.SIZE * bitsPerBlock / 64.0);
             if (blockData.length == expectedLength) {
                 DataPalette blockPalette = chunkSection.palette(PaletteType.BLOCKS);
-                CompactArrayUtil.iterateCompactArray(bitsPerBlock, ChunkSection.SIZE, blockData,
-                        bitsPerBlock == GLOBAL_PALETTE ? blockPalette::setIdAt : blockPalette::setPaletteIndexAt);
+                int[] values = new int[ChunkSection.SIZE];
+                CompactArrayUtil.unpack(bitsPerBlock, blockData, values);
+                if (bitsPerBlock == GLOBAL_PALETTE) {
+                    blockPalette.writeAll(values);
+                } else {
+                    blockPalette.writeAllPaletteIndexes(values);
+                }
             }
         }
 
@@ -76,8 +83,22 @@ public class ChunkSectionType1_13 extends Type<ChunkSection> {
 
     @Override
     public void write(ByteBuf buffer, ChunkSection chunkSection) throws Exception {
-        int bitsPerBlock = 4;
         DataPalette blockPalette = chunkSection.palette(PaletteType.BLOCKS);
+        if (blockPalette.size() > 1 << 8 && PaletteCompaction.enabled()) {
+            DataPalette compacted = PaletteCompaction.compact(blockPalette, ChunkSection.SIZE, 1 << 8);
+            if (compacted != null) {
+                int start = buffer.writerIndex();
+                writeBlocks(buffer, compacted);
+                PaletteCompaction.recordCompaction(GLOBAL_PALETTE_LENGTH, buffer.writerIndex() - start);
+                return;
+            }
+        }
+
+        writeBlocks(buffer, blockPalette);
+    }
+
+    private void writeBlocks(ByteBuf buffer, DataPalette blockPalette) throws Exception {
+        int bitsPerBlock = 4;
         while (blockPalette.size() > 1 << bitsPerBlock) {
             bitsPerBlock += 1;
         }
@@ -96,8 +117,13 @@ public class ChunkSectionType1_13 extends Type<ChunkSection> {
             }
         }
 
-        long[] data = CompactArrayUtil.createCompactArray(bitsPerBlock, ChunkSection.SIZE,
-                bitsPerBlock == GLOBAL_PALETTE ? blockPalette::idAt : blockPalette::paletteIndexAt);
+        int[] values = new int[ChunkSection.SIZE];
+        if (bitsPerBlock == GLOBAL_PALETTE) {
+            blockPalette.readAll(values);
+        } else {
+            blockPalette.readAllPaletteIndexes(values);
+        }
+        long[] data = CompactArrayUtil.pack(bitsPerBlock, values);
         Type.LONG_ARRAY_PRIMITIVE.write(buffer, data);
     }
 }
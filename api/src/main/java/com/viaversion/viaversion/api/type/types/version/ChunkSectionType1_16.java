@@ -22,9 +22,10 @@
  */
 package com.viaversion.viaversion.api.type.types.version;
 
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkPool;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
-import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteCompaction;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.util.CompactArrayUtil;
@@ -32,6 +33,7 @@ import io.netty.buffer.ByteBuf;
 
 public class ChunkSectionType1_16 extends Type<ChunkSection> {
     private static final int GLOBAL_PALETTE = 15;
+    private static final int GLOBAL_PALETTE_LENGTH = (ChunkSection.SIZE + (64 / GLOBAL_PALETTE) - 1) / (64 / GLOBAL_PALETTE);
 
     public ChunkSectionType1_16() {
         super("Chunk Section Type", ChunkSection.class);
@@ -51,13 +53,13 @@ public class ChunkSectionType1_16 extends Type<ChunkSection> {
         ChunkSection chunkSection;
         if (bitsPerBlock != GLOBAL_PALETTE) {
             int paletteLength = Type.VAR_INT.readPrimitive(buffer);
-            chunkSection = new ChunkSectionImpl(false, paletteLength);
+            chunkSection = ChunkPool.section(false, paletteLength);
             DataPalette blockPalette = chunkSection.palette(PaletteType.BLOCKS);
             for (int i = 0; i < paletteLength; i++) {
                 blockPalette.addId(Type.VAR_INT.readPrimitive(buffer));
             }
         } else {
-            chunkSection = new ChunkSectionImpl(false);
+            chunkSection = ChunkPool.section(false);
         }
 
         // Read blocks
@@ -67,8 +69,13 @@ public class ChunkSectionType1_16 extends Type<ChunkSection> {
             int expectedLength = (ChunkSection.SIZE + valuesPerLong - 1) / valuesPerLong;
             if (blockData.length == expectedLength) {
                 DataPalette blockPalette = chunkSection.palette(PaletteType.BLOCKS);
-                CompactArrayUtil.iterateCompactArrayWithPadding(bitsPerBlock, ChunkSection.SIZE, blockData,
-                        bitsPerBlock == GLOBAL_PALETTE ? blockPalette::setIdAt : blockPalette::setPaletteIndexAt);
+                int[] values = new int[ChunkSection.SIZE];
+                CompactArrayUtil.unpackWithPadding(bitsPerBlock, blockData, values);
+                if (bitsPerBlock == GLOBAL_PALETTE) {
+                    blockPalette.writeAll(values);
+                } else {
+                    blockPalette.writeAllPaletteIndexes(values);
+                }
             }
         }
 
@@ -77,8 +84,22 @@ public class ChunkSectionType1_16 extends Type<ChunkSection> {
 
     @Override
     public void write(ByteBuf buffer, ChunkSection chunkSection) throws Exception {
-        int bitsPerBlock = 4;
         DataPalette blockPalette = chunkSection.palette(PaletteType.BLOCKS);
+        if (blockPalette.size() > 1 << 8 && PaletteCompaction.enabled()) {
+            DataPalette compacted = PaletteCompaction.compact(blockPalette, ChunkSection.SIZE, 1 << 8);
+            if (compacted != null) {
+                int start = buffer.writerIndex();
+                writeBlocks(buffer, compacted);
+                PaletteCompaction.recordCompaction(GLOBAL_PALETTE_LENGTH, buffer.writerIndex() - start);
+                return;
+            }
+        }
+
+        writeBlocks(buffer, blockPalette);
+    }
+
+    private void writeBlocks(ByteBuf buffer, DataPalette blockPalette) throws Exception {
+        int bitsPerBlock = 4;
         while (blockPalette.size() > 1 << bitsPerBlock) {
             bitsPerBlock += 1;
         }
@@ -97,8 +118,13 @@ public class ChunkSectionType1_16 extends Type<ChunkSection> {
             }
         }
 
-        long[] data = CompactArrayUtil.createCompactArrayWithPadding(bitsPerBlock, ChunkSection.SIZE,
-                bitsPerBlock == GLOBAL_PALETTE ? blockPalette::idAt : blockPalette::paletteIndexAt);
+        int[] values = new int[ChunkSection.SIZE];
+        if (bitsPerBlock == GLOBAL_PALETTE) {
+            blockPalette.readAll(values);
+        } else {
+            blockPalette.readAllPaletteIndexes(values);
+        }
+        long[] data = CompactArrayUtil.packWithPadding(bitsPerBlock, values);
         Type.LONG_ARRAY_PRIMITIVE.write(buffer, data);
     }
 }
@@ -22,8 +22,8 @@
  */
 package com.viaversion.viaversion.api.type.types.version;
 
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkPool;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
-import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.Type;
 import io.netty.buffer.ByteBuf;
@@ -41,7 +41,7 @@ public final class ChunkSectionType1_18 extends Type<ChunkSection> {
 
     @Override
     public ChunkSection read(final ByteBuf buffer) throws Exception {
-        final ChunkSection chunkSection = new ChunkSectionImpl();
+        final ChunkSection chunkSection = ChunkPool.section();
         chunkSection.setNonAirBlocksCount(buffer.readShort());
         chunkSection.addPalette(PaletteType.BLOCKS, blockPaletteType.read(buffer));
         chunkSection.addPalette(PaletteType.BIOMES, biomePaletteType.read(buffer));
@@ -22,13 +22,12 @@
  */
 package com.viaversion.viaversion.api.type.types.version;
 
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkPool;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
-import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.Type;
 import io.netty.buffer.ByteBuf;
-import java.nio.ByteOrder;
 
 public class ChunkSectionType1_8 extends Type<ChunkSection> {
 
@@ -38,16 +37,18 @@ public class ChunkSectionType1_8 extends Type<ChunkSection> {
 
     @Override
     public ChunkSection read(ByteBuf buffer) throws Exception {
-        ChunkSection chunkSection = new ChunkSectionImpl(true);
+        ChunkSection chunkSection = ChunkPool.section(true);
         DataPalette blocks = chunkSection.palette(PaletteType.BLOCKS);
 
         // 0 index needs to be air in 1.9
         blocks.addId(0);
 
-        ByteBuf littleEndianView = buffer.order(ByteOrder.LITTLE_ENDIAN);
-        for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
-            blocks.setIdAt(idx, littleEndianView.readShort());
+        // Little endian shorts, read in place instead of through a swapped view
+        int[] ids = new int[ChunkSection.SIZE];
+        for (int idx = 0; idx < ids.length; idx++) {
+            ids[idx] = Short.reverseBytes(buffer.readShort());
         }
+        blocks.writeAll(ids);
 
         return chunkSection;
     }
@@ -56,9 +57,10 @@ public class ChunkSectionType1_8 extends Type<ChunkSection> {
     public void write(ByteBuf buffer, ChunkSection chunkSection) throws Exception {
         DataPalette blocks = chunkSection.palette(PaletteType.BLOCKS);
 
-        ByteBuf littleEndianView = buffer.order(ByteOrder.LITTLE_ENDIAN);
-        for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
-            littleEndianView.writeShort(blocks.idAt(idx));
+        int[] ids = new int[ChunkSection.SIZE];
+        blocks.readAll(ids);
+        for (int id : ids) {
+            buffer.writeShort(Short.reverseBytes((short) id));
         }
     }
 }
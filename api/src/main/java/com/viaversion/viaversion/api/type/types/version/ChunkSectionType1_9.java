@@ -22,8 +22,8 @@
  */
 package com.viaversion.viaversion.api.type.types.version;
 
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkPool;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
-import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.Type;
@@ -50,7 +50,7 @@ public class ChunkSectionType1_9 extends Type<ChunkSection> {
 
         // Read palette
         int paletteLength = Type.VAR_INT.readPrimitive(buffer);
-        ChunkSection chunkSection = bitsPerBlock != GLOBAL_PALETTE ? new ChunkSectionImpl(true, paletteLength) : new ChunkSectionImpl(true);
+        ChunkSection chunkSection = bitsPerBlock != GLOBAL_PALETTE ? ChunkPool.section(true, paletteLength) : ChunkPool.section(true);
         DataPalette blockPalette = chunkSection.palette(PaletteType.BLOCKS);
         for (int i = 0; i < paletteLength; i++) {
             if (bitsPerBlock != GLOBAL_PALETTE) {
@@ -65,8 +65,13 @@ public class ChunkSectionType1_9 extends Type<ChunkSection> {
         if (blockData.length > 0) {
             int expectedLength = (int) Math.ceil(ChunkSection.SIZE * bitsPerBlock / 64.0);
             if (blockData.length == expectedLength) {
-                CompactArrayUtil.iterateCompactArray(bitsPerBlock, ChunkSection.SIZE, blockData,
-                        bitsPerBlock == GLOBAL_PALETTE ? blockPalette::setIdAt : blockPalette::setPaletteIndexAt);
+                int[] values = new int[ChunkSection.SIZE];
+                CompactArrayUtil.unpack(bitsPerBlock, blockData, values);
+                if (bitsPerBlock == GLOBAL_PALETTE) {
+                    blockPalette.writeAll(values);
+                } else {
+                    blockPalette.writeAllPaletteIndexes(values);
+                }
             }
         }
 
@@ -97,8 +102,13 @@ public class ChunkSectionType1_9 extends Type<ChunkSection> {
             Type.VAR_INT.writePrimitive(buffer, 0);
         }
 
-        long[] data = CompactArrayUtil.createCompactArray(bitsPerBlock, ChunkSection.SIZE,
-                bitsPerBlock == GLOBAL_PALETTE ? blockPalette::idAt : blockPalette::paletteIndexAt);
+        int[] values = new int[ChunkSection.SIZE];
+        if (bitsPerBlock == GLOBAL_PALETTE) {
+            blockPalette.readAll(values);
+        } else {
+            blockPalette.readAllPaletteIndexes(values);
+        }
+        long[] data = CompactArrayUtil.pack(bitsPerBlock, values);
         Type.LONG_ARRAY_PRIMITIVE.write(buffer, data);
     }
 }
@@ -22,8 +22,10 @@
  */
 package com.viaversion.viaversion.api.type.types.version;
 
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkPool;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteCompaction;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.util.CompactArrayUtil;
@@ -48,7 +50,7 @@ public final class PaletteType1_18 extends Type<DataPalette> {
         final DataPaletteImpl palette;
         if (bitsPerValue == 0) {
             // Single value storage
-            palette = new DataPaletteImpl(type.size(), 1);
+            palette = ChunkPool.palette(type.size(), 1);
             palette.addId(Type.VAR_INT.readPrimitive(buffer));
             Type.LONG_ARRAY_PRIMITIVE.read(buffer); // Just eat it if not empty - thanks, Hypixel
             return palette;
@@ -63,12 +65,12 @@ public final class PaletteType1_18 extends Type<DataPalette> {
         // Read palette
         if (bitsPerValue != globalPaletteBits) {
             final int paletteLength = Type.VAR_INT.readPrimitive(buffer);
-            palette = new DataPaletteImpl(type.size(), paletteLength);
+            palette = ChunkPool.palette(type.size(), paletteLength);
             for (int i = 0; i < paletteLength; i++) {
                 palette.addId(Type.VAR_INT.readPrimitive(buffer));
             }
         } else {
-            palette = new DataPaletteImpl(type.size());
+            palette = ChunkPool.palette(type.size());
         }
 
         // Read values
@@ -77,8 +79,14 @@ public final class PaletteType1_18 extends Type<DataPalette> {
             final int valuesPerLong = (char) (64 / bitsPerValue);
             final int expectedLength = (type.size() + valuesPerLong - 1) / valuesPerLong;
             if (values.length == expectedLength) { // Thanks, Hypixel
-                CompactArrayUtil.iterateCompactArrayWithPadding(bitsPerValue, type.size(), values,
-                        bitsPerValue == globalPaletteBits ? palette::setIdAt : palette::setPaletteIndexAt);
+                if (bitsPerValue == globalPaletteBits) {
+                    final int[] ids = new int[type.size()];
+                    CompactArrayUtil.unpackWithPadding(bitsPerValue, values, ids);
+                    palette.writeAll(ids);
+                } else {
+                    // Only unpacked if values are modified, most rewriters just change palette entries
+                    palette.setPackedPaletteIndexes(values, bitsPerValue);
+                }
             }
         }
         return palette;
@@ -86,6 +94,22 @@ public final class PaletteType1_18 extends Type<DataPalette> {
 
     @Override
     public void write(final ByteBuf buffer, final DataPalette palette) throws Exception {
+        final int maxLocalSize = 1 << type.highestBitsPerValue();
+        if (palette.size() > maxLocalSize && PaletteCompaction.enabled()) {
+            final DataPalette compacted = PaletteCompaction.compact(palette, type.size(), maxLocalSize);
+            if (compacted != null) {
+                final int start = buffer.writerIndex();
+                writePalette(buffer, compacted);
+                final int valuesPerLong = 64 / globalPaletteBits;
+                PaletteCompaction.recordCompaction((type.size() + valuesPerLong - 1) / valuesPerLong, buffer.writerIndex() - start);
+                return;
+            }
+        }
+
+        writePalette(buffer, palette);
+    }
+
+    private void writePalette(final ByteBuf buffer, final DataPalette palette) throws Exception {
         final int size = palette.size();
         if (size == 1) {
             // Single value palette
@@ -112,6 +136,20 @@ public final class PaletteType1_18 extends Type<DataPalette> {
             }
         }
 
-        Type.LONG_ARRAY_PRIMITIVE.write(buffer, CompactArrayUtil.createCompactArrayWithPadding(bitsPerValue, type.size(), bitsPerValue == globalPaletteBits ? palette::idAt : palette::paletteIndexAt));
+        if (bitsPerValue != globalPaletteBits && palette instanceof DataPaletteImpl) {
+            final long[] packedIndexes = ((DataPaletteImpl) palette).packedPaletteIndexes(bitsPerValue);
+            if (packedIndexes != null) {
+                Type.LONG_ARRAY_PRIMITIVE.write(buffer, packedIndexes);
+                return;
+            }
+        }
+
+        final int[] values = new int[type.size()];
+        if (bitsPerValue == globalPaletteBits) {
+            palette.readAll(values);
+        } else {
+            palette.readAllPaletteIndexes(values);
+        }
+        Type.LONG_ARRAY_PRIMITIVE.write(buffer, CompactArrayUtil.packWithPadding(bitsPerValue, values));
     }
 }
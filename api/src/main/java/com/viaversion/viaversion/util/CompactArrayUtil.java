@@ -123,4 +123,94 @@ public final class CompactArrayUtil {
             consumer.consume(i, value);
         }
     }
+
+    /**
+     * Unpacks all values of a compact array with padding (as used from 1.16 onwards) into the given array.
+     * The data array needs to hold at least as many values as the output array.
+     *
+     * @param bitsPerEntry bits per entry
+     * @param data         packed data
+     * @param output       array to fill with the unpacked values
+     */
+    public static void unpackWithPadding(final int bitsPerEntry, final long[] data, final int[] output) {
+        final int valuesPerLong = 64 / bitsPerEntry;
+        final long mask = (1L << bitsPerEntry) - 1;
+        int index = 0;
+        for (int cell = 0; index < output.length; cell++) {
+            final long value = data[cell];
+            final int end = Math.min(index + valuesPerLong, output.length);
+            for (int shift = 0; index < end; index++, shift += bitsPerEntry) {
+                output[index] = (int) (value >>> shift & mask);
+            }
+        }
+    }
+
+    /**
+     * Packs all values of the given array into a compact array with padding (as used from 1.16 onwards).
+     *
+     * @param bitsPerEntry bits per entry
+     * @param values       values to pack
+     * @return packed data
+     */
+    public static long[] packWithPadding(final int bitsPerEntry, final int[] values) {
+        final int valuesPerLong = 64 / bitsPerEntry;
+        final long mask = (1L << bitsPerEntry) - 1;
+        final long[] data = new long[(values.length + valuesPerLong - 1) / valuesPerLong];
+        int index = 0;
+        for (int cell = 0; cell < data.length; cell++) {
+            long value = 0;
+            final int end = Math.min(index + valuesPerLong, values.length);
+            for (int shift = 0; index < end; index++, shift += bitsPerEntry) {
+                value |= (values[index] & mask) << shift;
+            }
+            data[cell] = value;
+        }
+        return data;
+    }
+
+    /**
+     * Unpacks all values of a compact array without padding (as used before 1.16) into the given array.
+     * The data array needs to hold at least as many values as the output array.
+     *
+     * @param bitsPerEntry bits per entry
+     * @param data         packed data
+     * @param output       array to fill with the unpacked values
+     */
+    public static void unpack(final int bitsPerEntry, final long[] data, final int[] output) {
+        final long mask = (1L << bitsPerEntry) - 1;
+        int bitIndex = 0;
+        for (int i = 0; i < output.length; i++, bitIndex += bitsPerEntry) {
+            final int cell = bitIndex >>> 6;
+            final int shift = bitIndex & 63;
+            long value = data[cell] >>> shift;
+            if (shift + bitsPerEntry > 64) {
+                // Value spans over two longs
+                value |= data[cell + 1] << (64 - shift);
+            }
+            output[i] = (int) (value & mask);
+        }
+    }
+
+    /**
+     * Packs all values of the given array into a compact array without padding (as used before 1.16).
+     *
+     * @param bitsPerEntry bits per entry
+     * @param values       values to pack
+     * @return packed data
+     */
+    public static long[] pack(final int bitsPerEntry, final int[] values) {
+        final long mask = (1L << bitsPerEntry) - 1;
+        final long[] data = new long[(values.length * bitsPerEntry + 63) >>> 6];
+        int bitIndex = 0;
+        for (int i = 0; i < values.length; i++, bitIndex += bitsPerEntry) {
+            final long value = values[i] & mask;
+            final int cell = bitIndex >>> 6;
+            final int shift = bitIndex & 63;
+            data[cell] |= value << shift;
+            if (shift + bitsPerEntry > 64) {
+                data[cell + 1] |= value >>> (64 - shift);
+            }
+        }
+        return data;
+    }
 }
@@ -0,0 +1,40 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
+// The test platform of common is used to initialize Via
+evaluationDependsOn(":viaversion-common")
+
+dependencies {
+    jmh(projects.viaversionCommon)
+    jmh(project(":viaversion-common").the<SourceSetContainer>()["test"].output)
+    jmh(libs.netty)
+    jmh(libs.guava)
+    jmh(libs.snakeYaml)
+}
+
+java {
+    javaTarget(8)
+}
+
+tasks {
+    compileJmhJava {
+        options.encoding = Charsets.UTF_8.name()
+    }
+
+    // Replay a packet capture with e.g. -Pcapture=path/to/file.viacap -Piterations=10
+    register<JavaExec>("replayCapture") {
+        classpath = sourceSets["jmh"].runtimeClasspath
+        mainClass.set("com.viaversion.viaversion.benchmark.replay.CaptureReplay")
+        doFirst {
+            val capture = findProperty("capture") ?: throw GradleException("Missing -Pcapture=<file>")
+            args(file(capture).absolutePath, findProperty("iterations") ?: "5", findProperty("warmupIterations") ?: "2")
+        }
+    }
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // Run a single benchmark class with e.g. -PjmhIncludes=PipelineTransformBenchmark
+    findProperty("jmhIncludes")?.let { includes.add(it as String) }
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.ProtocolInfo;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolManager;
+import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkConnections {
+
+    /**
+     * Creates a headless connection in play state with the full pipeline between the given versions,
+     * the same as set up by the handshake handling of the base protocol.
+     *
+     * @param clientVersion client protocol version
+     * @param serverVersion server protocol version
+     * @return connection with a pipeline from the server to the client version
+     * @throws IllegalArgumentException if there is no protocol path between the versions
+     */
+    public static UserConnection create(final int clientVersion, final int serverVersion) {
+        final UserConnection connection = new UserConnectionImpl(null, false);
+        final ProtocolPipeline pipeline = new ProtocolPipelineImpl(connection);
+        final ProtocolInfo info = connection.getProtocolInfo();
+        info.setProtocolVersion(clientVersion);
+        info.setServerProtocolVersion(serverVersion);
+
+        final ProtocolManager protocolManager = Via.getManager().getProtocolManager();
+        final List<ProtocolPathEntry> protocolPath = protocolManager.getProtocolPath(clientVersion, serverVersion);
+        if (protocolPath == null) {
+            throw new IllegalArgumentException("No protocol path from " + serverVersion + " to " + clientVersion);
+        }
+
+        final List<Protocol> protocols = new ArrayList<>(protocolPath.size());
+        for (final ProtocolPathEntry entry : protocolPath) {
+            protocols.add(entry.protocol());
+            protocolManager.completeMappingDataLoading(entry.protocol().getClass());
+        }
+        pipeline.add(protocols);
+        pipeline.add(protocolManager.getBaseProtocol(serverVersion));
+        info.setState(State.PLAY);
+        return connection;
+    }
+}
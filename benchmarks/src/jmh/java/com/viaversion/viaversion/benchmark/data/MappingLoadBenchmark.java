@@ -0,0 +1,90 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark.data;
+
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.viaversion.viaversion.api.data.MappingDataBase;
+import com.viaversion.viaversion.api.data.MappingDataLoader;
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading of the bundled mapping files.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingLoadBenchmark {
+
+    /**
+     * Unmapped and mapped version of the mapping file.
+     */
+    @Param({"1.12->1.13", "1.16.2->1.17", "1.19.4->1.20"})
+    private String mappings;
+    private String unmappedVersion;
+    private String mappedVersion;
+    private CompoundTag mappingsTag;
+
+    @Setup
+    public void setup() {
+        DummyInitializer.init();
+
+        final String[] versions = mappings.split("->");
+        unmappedVersion = versions[0];
+        mappedVersion = versions[1];
+        mappingsTag = MappingDataLoader.loadNBT("mappings-" + unmappedVersion + "to" + mappedVersion + ".nbt");
+    }
+
+    @Benchmark
+    public Mappings loadBlockStateMappings() {
+        return MappingDataLoader.loadMappings(mappingsTag, "blockstates");
+    }
+
+    @Benchmark
+    public Mappings loadItemMappings() {
+        return MappingDataLoader.loadMappings(mappingsTag, "items");
+    }
+
+    @Benchmark
+    public Mappings loadSoundMappings() {
+        return MappingDataLoader.loadMappings(mappingsTag, "sounds");
+    }
+
+    @Benchmark
+    public MappingDataBase loadMappingData() {
+        // Includes reading the compressed files, identifier files are cached after the first load
+        final MappingDataBase mappingData = new MappingDataBase(unmappedVersion, mappedVersion);
+        mappingData.load();
+        return mappingData;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark.packet;
+
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Field access on wide packets, alternating var ints and strings like join game or spawn entity packets.
+ * The linear benchmarks use a copy of the previous lookup, scanning every written value, as the baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketWrapperAccessBenchmark {
+
+    @Param({"4", "16", "64"})
+    private int fields;
+    private PacketWrapperImpl wrapper;
+    private LinearScanValues linearValues;
+    private int lastIndex;
+
+    @Setup
+    public void setup() {
+        wrapper = new PacketWrapperImpl(0, null, null);
+        linearValues = new LinearScanValues();
+        writeFields();
+        writeLinearFields();
+        lastIndex = fields / 2 - 1;
+    }
+
+    private void writeFields() {
+        for (int i = 0; i < fields; i++) {
+            if ((i & 1) == 0) {
+                wrapper.write(Type.VAR_INT, i);
+            } else {
+                wrapper.write(Type.STRING, "value");
+            }
+        }
+    }
+
+    private void writeLinearFields() {
+        for (int i = 0; i < fields; i++) {
+            if ((i & 1) == 0) {
+                linearValues.write(Type.VAR_INT, i);
+            } else {
+                linearValues.write(Type.STRING, "value");
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer getFirst() throws Exception {
+        return wrapper.get(Type.VAR_INT, 0);
+    }
+
+    @Benchmark
+    public Integer getLast() throws Exception {
+        return wrapper.get(Type.VAR_INT, lastIndex);
+    }
+
+    @Benchmark
+    public void setLast() throws Exception {
+        wrapper.set(Type.VAR_INT, lastIndex, 1);
+    }
+
+    @Benchmark
+    public boolean isMissing() {
+        return wrapper.is(Type.VAR_INT, fields);
+    }
+
+    @Benchmark
+    public Integer writeAndGetAll() throws Exception {
+        // Includes building the index after the values have been written
+        wrapper.clearPacket();
+        writeFields();
+        Integer value = null;
+        for (int i = 0; i <= lastIndex; i++) {
+            value = wrapper.get(Type.VAR_INT, i);
+        }
+        return value;
+    }
+
+    @Benchmark
+    public Integer linearGetFirst() {
+        return linearValues.get(Type.VAR_INT, 0);
+    }
+
+    @Benchmark
+    public Integer linearGetLast() {
+        return linearValues.get(Type.VAR_INT, lastIndex);
+    }
+
+    @Benchmark
+    public void linearSetLast() {
+        linearValues.set(Type.VAR_INT, lastIndex, 1);
+    }
+
+    @Benchmark
+    public boolean linearIsMissing() {
+        return linearValues.is(Type.VAR_INT, fields);
+    }
+
+    @Benchmark
+    public Integer linearWriteAndGetAll() {
+        linearValues.clear();
+        writeLinearFields();
+        Integer value = null;
+        for (int i = 0; i <= lastIndex; i++) {
+            value = linearValues.get(Type.VAR_INT, i);
+        }
+        return value;
+    }
+
+    /**
+     * Written values as previously stored by the packet wrapper, counting occurrences of a type on every lookup.
+     */
+    private static final class LinearScanValues {
+        private final List<Value> values = new ArrayList<>();
+
+        void write(final Type<?> type, final Object value) {
+            values.add(new Value(type, value));
+        }
+
+        void clear() {
+            values.clear();
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T get(final Type<T> type, final int index) {
+            int currentIndex = 0;
+            for (final Value value : values) {
+                if (value.type != type) {
+                    continue;
+                }
+                if (currentIndex == index) {
+                    return (T) value.value;
+                }
+                currentIndex++;
+            }
+            throw new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index);
+        }
+
+        boolean is(final Type<?> type, final int index) {
+            int currentIndex = 0;
+            for (final Value value : values) {
+                if (value.type != type) {
+                    continue;
+                }
+                if (currentIndex == index) {
+                    return true;
+                }
+                currentIndex++;
+            }
+            return false;
+        }
+
+        <T> void set(final Type<T> type, final int index, final T newValue) {
+            int currentIndex = 0;
+            for (final Value value : values) {
+                if (value.type != type) {
+                    continue;
+                }
+                if (currentIndex == index) {
+                    value.value = newValue;
+                    return;
+                }
+                currentIndex++;
+            }
+            throw new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index);
+        }
+    }
+
+    private static final class Value {
+        private final Type<?> type;
+        private Object value;
+
+        private Value(final Type<?> type, final Object value) {
+            this.type = type;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark.packet;
+
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Construction, passthrough and writing of a packet wrapper, using the fields of an entity teleport packet.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketWrapperBenchmark {
+
+    private static final int PACKET_ID = 0x68;
+    private final ByteBuf output = Unpooled.buffer(64);
+    private ByteBuf input;
+
+    @Setup
+    public void setup() {
+        input = Unpooled.buffer();
+        Type.VAR_INT.writePrimitive(input, 12345); // Entity id
+        input.writeDouble(100.5D);
+        input.writeDouble(64D);
+        input.writeDouble(-200.25D);
+        input.writeByte(12); // Yaw
+        input.writeByte(-5); // Pitch
+        input.writeBoolean(true);
+    }
+
+    @Benchmark
+    public PacketWrapperImpl construct() {
+        input.readerIndex(0);
+        return new PacketWrapperImpl(PACKET_ID, input, null);
+    }
+
+    @Benchmark
+    public int constructRecycled() {
+        input.readerIndex(0);
+        final PacketWrapperImpl wrapper = PacketWrapperImpl.recycled(PACKET_ID, input, null);
+        final int id = wrapper.getId();
+        wrapper.recycle();
+        return id;
+    }
+
+    @Benchmark
+    public ByteBuf passthrough() throws Exception {
+        input.readerIndex(0);
+        final PacketWrapperImpl wrapper = PacketWrapperImpl.recycled(PACKET_ID, input, null);
+        try {
+            wrapper.passthrough(Type.VAR_INT);
+            wrapper.passthrough(Type.DOUBLE);
+            wrapper.passthrough(Type.DOUBLE);
+            wrapper.passthrough(Type.DOUBLE);
+            wrapper.passthrough(Type.BYTE);
+            wrapper.passthrough(Type.BYTE);
+            wrapper.passthrough(Type.BOOLEAN);
+            return writeToBuffer(wrapper);
+        } finally {
+            wrapper.recycle();
+        }
+    }
+
+    @Benchmark
+    public ByteBuf passthroughPrimitives() throws Exception {
+        input.readerIndex(0);
+        final PacketWrapperImpl wrapper = PacketWrapperImpl.recycled(PACKET_ID, input, null);
+        try {
+            wrapper.passthroughInt(Type.VAR_INT);
+            wrapper.passthroughDouble(Type.DOUBLE);
+            wrapper.passthroughDouble(Type.DOUBLE);
+            wrapper.passthroughDouble(Type.DOUBLE);
+            wrapper.passthroughByte(Type.BYTE);
+            wrapper.passthroughByte(Type.BYTE);
+            wrapper.passthroughBoolean(Type.BOOLEAN);
+            return writeToBuffer(wrapper);
+        } finally {
+            wrapper.recycle();
+        }
+    }
+
+    @Benchmark
+    public ByteBuf passthroughAcrossProtocols() throws Exception {
+        // Values read and written again by a second protocol after the reader has been reset
+        input.readerIndex(0);
+        final PacketWrapperImpl wrapper = PacketWrapperImpl.recycled(PACKET_ID, input, null);
+        try {
+            wrapper.passthroughInt(Type.VAR_INT);
+            wrapper.passthroughDouble(Type.DOUBLE);
+            wrapper.passthroughDouble(Type.DOUBLE);
+            wrapper.passthroughDouble(Type.DOUBLE);
+            wrapper.resetReader();
+            wrapper.passthroughInt(Type.VAR_INT);
+            return writeToBuffer(wrapper);
+        } finally {
+            wrapper.recycle();
+        }
+    }
+
+    @Benchmark
+    public ByteBuf writeToBuffer() throws Exception {
+        input.readerIndex(0);
+        final PacketWrapperImpl wrapper = PacketWrapperImpl.recycled(PACKET_ID, input, null);
+        try {
+            // Nothing read, writes the remaining input bytes
+            return writeToBuffer(wrapper);
+        } finally {
+            wrapper.recycle();
+        }
+    }
+
+    private ByteBuf writeToBuffer(final PacketWrapperImpl wrapper) throws Exception {
+        output.clear();
+        wrapper.writeToBuffer(output);
+        return output;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark.pipeline;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.Position;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.benchmark.BenchmarkConnections;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.exception.CancelEncoderException;
+import com.viaversion.viaversion.protocols.protocol1_12_1to1_12.ClientboundPackets1_12_1;
+import com.viaversion.viaversion.protocols.protocol1_17_1to1_17.ClientboundPackets1_17_1;
+import com.viaversion.viaversion.protocols.protocol1_8.ClientboundPackets1_8;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Clientbound transformation of play packets through a full connection pipeline, as done by the encode handlers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PipelineTransformBenchmark {
+
+    /**
+     * Server version and client version.
+     */
+    @Param({"1.8->1.20.2", "1.12.2->1.13", "1.17.1->1.18"})
+    private String path;
+    @Param({"ENTITY_POSITION_AND_ROTATION", "BLOCK_CHANGE", "TIME_UPDATE"})
+    private String packet;
+    private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+    private final List<Object> output = new ArrayList<>(1);
+    private UserConnection connection;
+    private ByteBuf template;
+
+    @Setup
+    public void setup() throws Exception {
+        DummyInitializer.init();
+
+        final String[] versions = path.split("->");
+        final ProtocolVersion serverVersion = ProtocolVersion.getClosest(versions[0]);
+        final ProtocolVersion clientVersion = ProtocolVersion.getClosest(versions[1]);
+        connection = BenchmarkConnections.create(clientVersion.getVersion(), serverVersion.getVersion());
+        template = allocator.buffer();
+        writePacket(template, serverVersion);
+    }
+
+    @TearDown
+    public void tearDown() {
+        template.release();
+    }
+
+    private void writePacket(final ByteBuf buffer, final ProtocolVersion serverVersion) throws Exception {
+        final boolean legacy = serverVersion.getVersion() < ProtocolVersion.v1_9.getVersion();
+        final boolean modernPosition = serverVersion.getVersion() >= ProtocolVersion.v1_14.getVersion();
+        switch (packet) {
+            case "ENTITY_POSITION_AND_ROTATION":
+                Type.VAR_INT.writePrimitive(buffer, packetId(serverVersion, ClientboundPackets1_8.ENTITY_POSITION_AND_ROTATION.getId(),
+                        ClientboundPackets1_12_1.ENTITY_POSITION_AND_ROTATION.getId(), ClientboundPackets1_17_1.ENTITY_POSITION_AND_ROTATION.getId()));
+                Type.VAR_INT.writePrimitive(buffer, 12345);
+                for (int i = 0; i < 3; i++) {
+                    // Deltas are bytes before 1.9
+                    if (legacy) {
+                        buffer.writeByte(i + 1);
+                    } else {
+                        buffer.writeShort(i * 128);
+                    }
+                }
+                buffer.writeByte(12);
+                buffer.writeByte(-5);
+                buffer.writeBoolean(true);
+                break;
+            case "BLOCK_CHANGE":
+                Type.VAR_INT.writePrimitive(buffer, packetId(serverVersion, ClientboundPackets1_8.BLOCK_CHANGE.getId(),
+                        ClientboundPackets1_12_1.BLOCK_CHANGE.getId(), ClientboundPackets1_17_1.BLOCK_CHANGE.getId()));
+                final Position position = new Position(100, 64, -200);
+                if (modernPosition) {
+                    Type.POSITION1_14.write(buffer, position);
+                    Type.VAR_INT.writePrimitive(buffer, 1); // Stone
+                } else {
+                    Type.POSITION.write(buffer, position);
+                    Type.VAR_INT.writePrimitive(buffer, 1 << 4); // Stone
+                }
+                break;
+            case "TIME_UPDATE":
+                Type.VAR_INT.writePrimitive(buffer, packetId(serverVersion, ClientboundPackets1_8.TIME_UPDATE.getId(),
+                        ClientboundPackets1_12_1.TIME_UPDATE.getId(), ClientboundPackets1_17_1.TIME_UPDATE.getId()));
+                buffer.writeLong(123456L);
+                buffer.writeLong(6000L);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown packet " + packet);
+        }
+    }
+
+    private static int packetId(final ProtocolVersion serverVersion, final int id1_8, final int id1_12_2, final int id1_17_1) {
+        if (serverVersion == ProtocolVersion.v1_8) {
+            return id1_8;
+        } else if (serverVersion == ProtocolVersion.v1_12_2) {
+            return id1_12_2;
+        } else if (serverVersion == ProtocolVersion.v1_17_1) {
+            return id1_17_1;
+        }
+        throw new IllegalArgumentException("Unsupported server version " + serverVersion);
+    }
+
+    @Benchmark
+    public int transform() throws Exception {
+        // Fresh input buffer as it may be modified in place
+        final ByteBuf input = allocator.buffer(template.readableBytes());
+        input.writeBytes(template, template.readerIndex(), template.readableBytes());
+        try {
+            connection.transformClientbound(input, output, CancelEncoderException::generate);
+            int bytes = 0;
+            for (final Object transformed : output) {
+                bytes += ((ByteBuf) transformed).readableBytes();
+                ReferenceCountUtil.release(transformed);
+            }
+            return bytes;
+        } finally {
+            output.clear();
+            input.release();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark.replay;
+
+import com.viaversion.viaversion.api.connection.ProtocolInfo;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.benchmark.BenchmarkConnections;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.debug.PacketCaptureReader;
+import com.viaversion.viaversion.debug.PacketCaptureReader.CapturedPacket;
+import com.viaversion.viaversion.exception.CancelCodecException;
+import com.viaversion.viaversion.exception.CancelDecoderException;
+import com.viaversion.viaversion.exception.CancelEncoderException;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Replays a capture written by the capture subcommand through a fresh pipeline per iteration,
+ * reporting throughput and per-packet transform latency of the measured iterations.
+ * <p>
+ * Handshake packets are skipped, as the pipeline is built from the protocol versions of the capture.
+ * Usage: {@code CaptureReplay <capture file> [iterations] [warmup iterations]}
+ */
+public final class CaptureReplay {
+
+    private final ByteBufAllocator allocator = PooledByteBufAllocator.DEFAULT;
+    private final List<Object> output = new ArrayList<>(1);
+    private final List<CapturedPacket> packets;
+    private final int clientProtocol;
+    private final int serverProtocol;
+    private final long[] latencies;
+    private long bytesIn;
+    private long bytesOut;
+    private int cancelled;
+    private int errors;
+
+    private CaptureReplay(final List<CapturedPacket> packets, final int clientProtocol, final int serverProtocol) {
+        this.packets = packets;
+        this.clientProtocol = clientProtocol;
+        this.serverProtocol = serverProtocol;
+        this.latencies = new long[packets.size()];
+    }
+
+    public static void main(final String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: CaptureReplay <capture file> [iterations] [warmup iterations]");
+            System.exit(1);
+        }
+
+        final Path path = Paths.get(args[0]);
+        final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        final int warmupIterations = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        DummyInitializer.init();
+
+        final CaptureReplay replay = read(path);
+        System.out.printf("Replaying %d packets from %s (server %s, client %s)%n", replay.packets.size(), path.getFileName(),
+                ProtocolVersion.getProtocol(replay.serverProtocol), ProtocolVersion.getProtocol(replay.clientProtocol));
+        for (int i = 0; i < warmupIterations; i++) {
+            replay.run();
+        }
+
+        final long[] allLatencies = new long[replay.latencies.length * iterations];
+        long totalTime = 0;
+        long bytesIn = 0;
+        long bytesOut = 0;
+        int count = 0;
+        for (int i = 0; i < iterations; i++) {
+            final long start = System.nanoTime();
+            final int replayed = replay.run();
+            totalTime += System.nanoTime() - start;
+
+            System.arraycopy(replay.latencies, 0, allLatencies, count, replayed);
+            count += replayed;
+            bytesIn += replay.bytesIn;
+            bytesOut += replay.bytesOut;
+            System.out.printf("Iteration %d: %d packets, %d cancelled, %d errors%n", i + 1, replayed, replay.cancelled, replay.errors);
+        }
+
+        if (count == 0) {
+            System.out.println("No packets replayed");
+            return;
+        }
+
+        final double seconds = totalTime / 1_000_000_000D;
+        Arrays.sort(allLatencies, 0, count);
+        System.out.printf(Locale.ROOT, "Throughput: %.0f packets/s, %.2f MB/s in, %.2f MB/s out%n",
+                count / seconds, bytesIn / seconds / (1024 * 1024), bytesOut / seconds / (1024 * 1024));
+        System.out.printf(Locale.ROOT, "Latency: p50 %d ns, p99 %d ns, p99.9 %d ns, max %d ns%n",
+                percentile(allLatencies, count, 0.5), percentile(allLatencies, count, 0.99),
+                percentile(allLatencies, count, 0.999), allLatencies[count - 1]);
+    }
+
+    private static CaptureReplay read(final Path path) throws IOException {
+        try (final PacketCaptureReader reader = new PacketCaptureReader(path)) {
+            final List<CapturedPacket> packets = new ArrayList<>();
+            CapturedPacket packet;
+            while ((packet = reader.next()) != null) {
+                if (packet.state() != State.HANDSHAKE && !isPassthrough(packet)) {
+                    packets.add(packet);
+                }
+            }
+            return new CaptureReplay(packets, reader.clientProtocol(), reader.serverProtocol());
+        }
+    }
+
+    private static boolean isPassthrough(final CapturedPacket packet) {
+        return Type.VAR_INT.readPrimitive(Unpooled.wrappedBuffer(packet.data())) == PacketWrapper.PASSTHROUGH_ID;
+    }
+
+    private static long percentile(final long[] sorted, final int count, final double percentile) {
+        return sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+    }
+
+    /**
+     * Transforms all packets of the capture through a fresh connection.
+     *
+     * @return number of transformed packets, with their latencies stored in {@link #latencies}
+     */
+    private int run() {
+        final UserConnection connection = BenchmarkConnections.create(clientProtocol, serverProtocol);
+        final ProtocolInfo info = connection.getProtocolInfo();
+        bytesIn = 0;
+        bytesOut = 0;
+        cancelled = 0;
+        errors = 0;
+
+        int count = 0;
+        for (final CapturedPacket packet : packets) {
+            final boolean clientbound = packet.direction() == Direction.CLIENTBOUND;
+            if (clientbound) {
+                info.setServerState(packet.state());
+            } else {
+                info.setClientState(packet.state());
+            }
+
+            // Fresh input buffer as it may be modified in place
+            final ByteBuf input = allocator.buffer(packet.data().length);
+            input.writeBytes(packet.data());
+            final long start = System.nanoTime();
+            try {
+                if (clientbound) {
+                    connection.transformClientbound(input, output, CancelEncoderException::generate);
+                } else {
+                    connection.transformServerbound(input, output, CancelDecoderException::generate);
+                }
+                latencies[count++] = System.nanoTime() - start;
+                bytesIn += packet.data().length;
+                for (final Object transformed : output) {
+                    bytesOut += ((ByteBuf) transformed).readableBytes();
+                }
+            } catch (Exception e) {
+                if (e instanceof CancelCodecException) {
+                    latencies[count++] = System.nanoTime() - start;
+                    bytesIn += packet.data().length;
+                    cancelled++;
+                } else if (errors++ == 0) {
+                    e.printStackTrace();
+                }
+            } finally {
+                for (final Object transformed : output) {
+                    ReferenceCountUtil.release(transformed);
+                }
+                output.clear();
+                input.release();
+            }
+        }
+        return count;
+    }
+}
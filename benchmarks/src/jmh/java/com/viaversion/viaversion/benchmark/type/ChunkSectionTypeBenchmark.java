@@ -0,0 +1,111 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark.type;
+
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
+import com.viaversion.viaversion.api.type.types.version.PaletteType1_18;
+import com.viaversion.viaversion.api.type.types.version.Types1_8;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading and writing of chunk sections and palettes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkSectionTypeBenchmark {
+
+    private static final int GLOBAL_PALETTE_BITS = 15;
+
+    /**
+     * Number of distinct block states in the section, covering single value, linear and global palettes.
+     */
+    @Param({"1", "16", "200", "1000"})
+    private int distinctStates;
+    private final PaletteType1_18 paletteType = new PaletteType1_18(PaletteType.BLOCKS, GLOBAL_PALETTE_BITS);
+    private final ByteBuf output = Unpooled.buffer(16 * 1024);
+    private DataPalette palette;
+    private ChunkSection section1_8;
+    private ByteBuf paletteInput;
+    private ByteBuf section1_8Input;
+
+    @Setup
+    public void setup() throws Exception {
+        final SplittableRandom random = new SplittableRandom(0);
+        palette = new DataPaletteImpl(ChunkSection.SIZE);
+        section1_8 = new ChunkSectionImpl(true);
+        final DataPalette blocks1_8 = section1_8.palette(PaletteType.BLOCKS);
+        for (int i = 0; i < ChunkSection.SIZE; i++) {
+            final int state = random.nextInt(distinctStates);
+            palette.setIdAt(i, state * 7);
+            blocks1_8.setIdAt(i, state << 4);
+        }
+
+        paletteInput = Unpooled.buffer();
+        paletteType.write(paletteInput, palette);
+        section1_8Input = Unpooled.buffer();
+        Types1_8.CHUNK_SECTION.write(section1_8Input, section1_8);
+    }
+
+    @Benchmark
+    public DataPalette readPalette1_18() throws Exception {
+        paletteInput.readerIndex(0);
+        return paletteType.read(paletteInput);
+    }
+
+    @Benchmark
+    public ByteBuf writePalette1_18() throws Exception {
+        output.clear();
+        paletteType.write(output, palette);
+        return output;
+    }
+
+    @Benchmark
+    public ChunkSection readChunkSection1_8() throws Exception {
+        section1_8Input.readerIndex(0);
+        return Types1_8.CHUNK_SECTION.read(section1_8Input);
+    }
+
+    @Benchmark
+    public ByteBuf writeChunkSection1_8() throws Exception {
+        output.clear();
+        Types1_8.CHUNK_SECTION.write(output, section1_8);
+        return output;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark.type;
+
+import com.viaversion.viaversion.api.minecraft.metadata.Metadata;
+import com.viaversion.viaversion.api.minecraft.metadata.types.MetaType1_8;
+import com.viaversion.viaversion.api.minecraft.metadata.types.MetaType1_9;
+import com.viaversion.viaversion.api.minecraft.metadata.types.MetaTypes1_13;
+import com.viaversion.viaversion.api.minecraft.metadata.types.MetaTypes1_20_2;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.types.version.Types1_13;
+import com.viaversion.viaversion.api.type.types.version.Types1_20_2;
+import com.viaversion.viaversion.api.type.types.version.Types1_8;
+import com.viaversion.viaversion.api.type.types.version.Types1_9;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading and writing of the metadata list types, using the typical metadata of a living entity.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetadataTypeBenchmark {
+
+    @Param({"1.8", "1.9", "1.13", "1.20.2"})
+    private String version;
+    private Type<List<Metadata>> type;
+    private List<Metadata> metadata;
+    private final ByteBuf output = Unpooled.buffer(256);
+    private ByteBuf input;
+
+    @Setup
+    public void setup() throws Exception {
+        metadata = new ArrayList<>();
+        switch (version) {
+            case "1.8":
+                type = Types1_8.METADATA_LIST;
+                metadata.add(new Metadata(0, MetaType1_8.Byte, (byte) 0));
+                metadata.add(new Metadata(1, MetaType1_8.Short, (short) 300));
+                metadata.add(new Metadata(2, MetaType1_8.String, "Zombie"));
+                metadata.add(new Metadata(3, MetaType1_8.Byte, (byte) 1));
+                metadata.add(new Metadata(6, MetaType1_8.Float, 20F));
+                metadata.add(new Metadata(7, MetaType1_8.Int, 0));
+                break;
+            case "1.9":
+                type = Types1_9.METADATA_LIST;
+                metadata.add(new Metadata(0, MetaType1_9.Byte, (byte) 0));
+                metadata.add(new Metadata(1, MetaType1_9.VarInt, 300));
+                metadata.add(new Metadata(2, MetaType1_9.String, "Zombie"));
+                metadata.add(new Metadata(3, MetaType1_9.Boolean, true));
+                metadata.add(new Metadata(6, MetaType1_9.Float, 20F));
+                metadata.add(new Metadata(7, MetaType1_9.VarInt, 0));
+                break;
+            case "1.13": {
+                type = Types1_13.METADATA_LIST;
+                final MetaTypes1_13 types = Types1_13.META_TYPES;
+                metadata.add(new Metadata(0, types.byteType, (byte) 0));
+                metadata.add(new Metadata(1, types.varIntType, 300));
+                metadata.add(new Metadata(2, types.optionalComponentType, null));
+                metadata.add(new Metadata(3, types.booleanType, true));
+                metadata.add(new Metadata(7, types.floatType, 20F));
+                metadata.add(new Metadata(8, types.varIntType, 0));
+                break;
+            }
+            case "1.20.2": {
+                type = Types1_20_2.METADATA_LIST;
+                final MetaTypes1_20_2 types = Types1_20_2.META_TYPES;
+                metadata.add(new Metadata(0, types.byteType, (byte) 0));
+                metadata.add(new Metadata(1, types.varIntType, 300));
+                metadata.add(new Metadata(2, types.optionalComponentType, null));
+                metadata.add(new Metadata(3, types.booleanType, true));
+                metadata.add(new Metadata(6, types.poseType, 0));
+                metadata.add(new Metadata(9, types.floatType, 20F));
+                metadata.add(new Metadata(10, types.varIntType, 0));
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown version " + version);
+        }
+
+        input = Unpooled.buffer();
+        type.write(input, metadata);
+    }
+
+    @Benchmark
+    public List<Metadata> read() throws Exception {
+        input.readerIndex(0);
+        return type.read(input);
+    }
+
+    @Benchmark
+    public ByteBuf write() throws Exception {
+        output.clear();
+        type.write(output, metadata);
+        return output;
+    }
+}
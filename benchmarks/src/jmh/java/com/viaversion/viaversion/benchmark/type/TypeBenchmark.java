@@ -0,0 +1,163 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.benchmark.type;
+
+import com.github.steveice10.opennbt.tag.builtin.ByteTag;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.IntTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.viaversion.viaversion.api.minecraft.item.DataItem;
+import com.viaversion.viaversion.api.minecraft.item.Item;
+import com.viaversion.viaversion.api.type.Type;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading and writing of common standalone types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeBenchmark {
+
+    private static final int VAR_INT = 2_097_151; // 3 bytes
+    private static final String STRING = "minecraft:diamond_sword";
+
+    private final ByteBuf output = Unpooled.buffer(1024);
+    private ByteBuf varIntInput;
+    private ByteBuf stringInput;
+    private ByteBuf nbtInput;
+    private ByteBuf itemInput;
+    private ByteBuf flatVarIntItemInput;
+    private CompoundTag tag;
+    private Item item;
+
+    @Setup
+    public void setup() throws Exception {
+        tag = new CompoundTag();
+        final CompoundTag display = new CompoundTag();
+        display.put("Name", new StringTag("{\"text\":\"Sword\"}"));
+        final ListTag lore = new ListTag(StringTag.class);
+        for (int i = 0; i < 4; i++) {
+            lore.add(new StringTag("Lore line " + i));
+        }
+        display.put("Lore", lore);
+        tag.put("display", display);
+        final ListTag enchantments = new ListTag(CompoundTag.class);
+        for (int i = 0; i < 3; i++) {
+            final CompoundTag enchantment = new CompoundTag();
+            enchantment.put("id", new StringTag("minecraft:sharpness"));
+            enchantment.put("lvl", new IntTag(i + 1));
+            enchantments.add(enchantment);
+        }
+        tag.put("Enchantments", enchantments);
+        tag.put("Unbreakable", new ByteTag((byte) 1));
+        item = new DataItem(276, (byte) 1, (short) 0, tag);
+
+        varIntInput = Unpooled.buffer();
+        Type.VAR_INT.writePrimitive(varIntInput, VAR_INT);
+        stringInput = Unpooled.buffer();
+        Type.STRING.write(stringInput, STRING);
+        nbtInput = Unpooled.buffer();
+        Type.NBT.write(nbtInput, tag);
+        itemInput = Unpooled.buffer();
+        Type.ITEM.write(itemInput, item);
+        flatVarIntItemInput = Unpooled.buffer();
+        Type.FLAT_VAR_INT_ITEM.write(flatVarIntItemInput, item);
+    }
+
+    @Benchmark
+    public int readVarInt() {
+        varIntInput.readerIndex(0);
+        return Type.VAR_INT.readPrimitive(varIntInput);
+    }
+
+    @Benchmark
+    public ByteBuf writeVarInt() {
+        output.clear();
+        Type.VAR_INT.writePrimitive(output, VAR_INT);
+        return output;
+    }
+
+    @Benchmark
+    public String readString() throws Exception {
+        stringInput.readerIndex(0);
+        return Type.STRING.read(stringInput);
+    }
+
+    @Benchmark
+    public ByteBuf writeString() throws Exception {
+        output.clear();
+        Type.STRING.write(output, STRING);
+        return output;
+    }
+
+    @Benchmark
+    public CompoundTag readNBT() throws Exception {
+        nbtInput.readerIndex(0);
+        return Type.NBT.read(nbtInput);
+    }
+
+    @Benchmark
+    public ByteBuf writeNBT() throws Exception {
+        output.clear();
+        Type.NBT.write(output, tag);
+        return output;
+    }
+
+    @Benchmark
+    public Item readItem() throws Exception {
+        itemInput.readerIndex(0);
+        return Type.ITEM.read(itemInput);
+    }
+
+    @Benchmark
+    public ByteBuf writeItem() throws Exception {
+        output.clear();
+        Type.ITEM.write(output, item);
+        return output;
+    }
+
+    @Benchmark
+    public Item readFlatVarIntItem() throws Exception {
+        flatVarIntItemInput.readerIndex(0);
+        return Type.FLAT_VAR_INT_ITEM.read(flatVarIntItemInput);
+    }
+
+    @Benchmark
+    public ByteBuf writeFlatVarIntItem() throws Exception {
+        output.clear();
+        Type.FLAT_VAR_INT_ITEM.write(output, item);
+        return output;
+    }
+}
@@ -0,0 +1,187 @@
+import groovy.json.JsonParserType
+import groovy.json.JsonSlurper
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.tasks.InputDirectory
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+import java.io.BufferedOutputStream
+import java.io.DataOutputStream
+import java.io.File
+
+/**
+ * Converts bundled json data files into uncompressed nbt, the format the mapping files are already shipped in,
+ * so they can be read without building Gson trees at runtime.
+ */
+abstract class ConvertDataTask : DefaultTask() {
+
+    @get:InputDirectory
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val dataDirectory: DirectoryProperty
+
+    @get:OutputDirectory
+    abstract val outputDirectory: DirectoryProperty
+
+    @TaskAction
+    fun convert() {
+        val output = outputDirectory.get().asFile.resolve(DATA_PATH)
+        output.deleteRecursively()
+        output.mkdirs()
+
+        val input = dataDirectory.get().asFile
+        for (name in FILES) {
+            val json = JsonSlurper().setType(JsonParserType.LAX).parse(input.resolve("$name.json"), Charsets.UTF_8.name())
+            NbtWriter(output.resolve("$name.nbt")).use { writer ->
+                @Suppress("UNCHECKED_CAST")
+                write(name, writer, json as Map<String, Any?>)
+            }
+        }
+    }
+
+    companion object {
+        const val DATA_PATH = "assets/viaversion/data"
+
+        private val FILES = listOf(
+            "blockIds1.12to1.13",
+            "blockNumberToString1.12",
+            "channelmappings-1.13",
+            "mapping-lang-1.12-1.13",
+            "itemrecipes1_12_2to1_13"
+        )
+
+        private fun write(name: String, writer: NbtWriter, json: Map<String, Any?>) {
+            when (name) {
+                "blockIds1.12to1.13" -> for ((key, value) in json) {
+                    writer.stringList(key, (value as List<*>).map { it as String })
+                }
+                "blockNumberToString1.12" -> {
+                    writer.intArray("ids", json.keys.map { it.toInt() }.toIntArray())
+                    writer.stringList("names", json.values.map { it as String })
+                }
+                "channelmappings-1.13" -> for ((key, value) in json) {
+                    writer.string(key, value as String)
+                }
+                "mapping-lang-1.12-1.13" -> {
+                    // Null values mean the key is unchanged, which nbt can't hold
+                    writer.stringList("unchanged", json.filterValues { it == null }.keys.toList())
+                    writer.compound("changed") {
+                        for ((key, value) in json) {
+                            if (value != null) {
+                                writer.string(key, value as String)
+                            }
+                        }
+                    }
+                }
+                "itemrecipes1_12_2to1_13" -> for ((key, value) in json) {
+                    writer.compound(key) { writeRecipe(writer, value as Map<*, *>) }
+                }
+                else -> throw IllegalArgumentException("No converter for $name")
+            }
+        }
+
+        val CONVERTED_FILES: List<String> get() = FILES.map { "$DATA_PATH/$it.json" }
+
+        private fun writeRecipe(writer: NbtWriter, recipe: Map<*, *>) {
+            writer.string("type", recipe["type"] as String)
+            (recipe["group"] as String?)?.let { writer.string("group", it) }
+            (recipe["width"] as Number?)?.let { writer.int("width", it.toInt()) }
+            (recipe["height"] as Number?)?.let { writer.int("height", it.toInt()) }
+            (recipe["experience"] as Number?)?.let { writer.float("experience", it.toFloat()) }
+            (recipe["cookingTime"] as Number?)?.let { writer.int("cookingTime", it.toInt()) }
+            (recipe["ingredient"] as List<*>?)?.let { writer.intArray("ingredient", items(it)) }
+            (recipe["ingredients"] as List<*>?)?.let { ingredients ->
+                writer.intArrayList("ingredients", ingredients.map { items(it as List<*>) })
+            }
+            writer.intArray("result", items(listOf(recipe["result"])))
+        }
+
+        // Items are stored as flat id/amount pairs
+        private fun items(items: List<*>): IntArray {
+            val array = IntArray(items.size * 2)
+            for ((i, item) in items.withIndex()) {
+                item as Map<*, *>
+                array[i * 2] = item["id"].toString().toInt()
+                array[i * 2 + 1] = (item["amount"] as Number).toInt()
+            }
+            return array
+        }
+    }
+
+    /**
+     * Writes a single unnamed root compound with the tags written through it.
+     */
+    class NbtWriter(file: File) : AutoCloseable {
+        private val out = DataOutputStream(BufferedOutputStream(file.outputStream()))
+
+        init {
+            header(COMPOUND, "")
+        }
+
+        fun compound(name: String, body: () -> Unit) {
+            header(COMPOUND, name)
+            body()
+            out.writeByte(END)
+        }
+
+        fun string(name: String, value: String) {
+            header(STRING, name)
+            out.writeUTF(value)
+        }
+
+        fun int(name: String, value: Int) {
+            header(INT, name)
+            out.writeInt(value)
+        }
+
+        fun float(name: String, value: Float) {
+            header(FLOAT, name)
+            out.writeFloat(value)
+        }
+
+        fun intArray(name: String, value: IntArray) {
+            header(INT_ARRAY, name)
+            writeIntArray(value)
+        }
+
+        fun stringList(name: String, values: List<String>) {
+            header(LIST, name)
+            out.writeByte(if (values.isEmpty()) END else STRING)
+            out.writeInt(values.size)
+            values.forEach(out::writeUTF)
+        }
+
+        fun intArrayList(name: String, values: List<IntArray>) {
+            header(LIST, name)
+            out.writeByte(if (values.isEmpty()) END else INT_ARRAY)
+            out.writeInt(values.size)
+            values.forEach(::writeIntArray)
+        }
+
+        private fun writeIntArray(value: IntArray) {
+            out.writeInt(value.size)
+            value.forEach(out::writeInt)
+        }
+
+        private fun header(type: Int, name: String) {
+            out.writeByte(type)
+            out.writeUTF(name)
+        }
+
+        override fun close() {
+            out.writeByte(END)
+            out.close()
+        }
+
+        private companion object {
+            const val END = 0
+            const val INT = 3
+            const val FLOAT = 5
+            const val STRING = 8
+            const val LIST = 9
+            const val COMPOUND = 10
+            const val INT_ARRAY = 11
+        }
+    }
+}
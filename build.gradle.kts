@@ -25,10 +25,14 @@ val special = setOf(
     projects.adventure
 ).map { it.dependencyProject }
 
+// Not published, only needs the base Java setup
+val benchmarks = projects.viaversionBenchmarks.dependencyProject
+
 subprojects {
     when (this) {
         in platforms -> plugins.apply("via.platform-conventions")
         in special -> plugins.apply("via.base-conventions")
+        benchmarks -> plugins.apply("java")
         else -> plugins.apply("via.standard-conventions")
     }
 
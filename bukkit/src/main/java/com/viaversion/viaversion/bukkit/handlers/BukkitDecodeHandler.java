@@ -40,7 +40,7 @@ public final class BukkitDecodeHandler extends MessageToMessageDecoder<ByteBuf>
 
     @Override
     protected void decode(final ChannelHandlerContext ctx, final ByteBuf bytebuf, final List<Object> out) throws Exception {
-        if (!connection.checkServerboundPacket()) {
+        if (!connection.checkServerboundPacket(bytebuf)) {
             throw CancelDecoderException.generate(null);
         }
         if (!connection.shouldTransformPacket()) {
@@ -48,13 +48,7 @@ public final class BukkitDecodeHandler extends MessageToMessageDecoder<ByteBuf>
             return;
         }
 
-        final ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
-        try {
-            connection.transformIncoming(transformedBuf, CancelDecoderException::generate);
-            out.add(transformedBuf.retain());
-        } finally {
-            transformedBuf.release();
-        }
+        connection.transformIncoming(bytebuf, out, CancelDecoderException::generate);
     }
 
     @Override
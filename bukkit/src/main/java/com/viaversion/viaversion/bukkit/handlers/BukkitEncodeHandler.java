@@ -27,6 +27,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.handler.codec.MessageToMessageEncoder;
@@ -41,6 +42,15 @@ public final class BukkitEncodeHandler extends MessageToMessageEncoder<ByteBuf>
         this.connection = connection;
     }
 
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        if (msg instanceof ByteBuf && connection.shouldTransformPacket() && connection.queueClientbound((ByteBuf) msg, promise)) {
+            // Written once the packets before it have been converted
+            return;
+        }
+        super.write(ctx, msg, promise);
+    }
+
     @Override
     protected void encode(final ChannelHandlerContext ctx, final ByteBuf bytebuf, final List<Object> out) throws Exception {
         if (!connection.checkClientboundPacket()) {
@@ -51,21 +61,24 @@ public final class BukkitEncodeHandler extends MessageToMessageEncoder<ByteBuf>
             return;
         }
 
-        final ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
-        try {
-            final boolean needsCompression = !handledCompression && handleCompressionOrder(ctx, transformedBuf);
-            connection.transformClientbound(transformedBuf, CancelEncoderException::generate);
-            if (needsCompression) {
+        if (!handledCompression && handleCompressionOrder(ctx)) {
+            // The packet was compressed before reaching us, transform a decompressed copy and compress it again
+            final ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
+            try {
+                decompress(ctx, transformedBuf);
+                connection.transformClientbound(transformedBuf, CancelEncoderException::generate);
                 recompress(ctx, transformedBuf);
+                out.add(transformedBuf.retain());
+            } finally {
+                transformedBuf.release();
             }
-
-            out.add(transformedBuf.retain());
-        } finally {
-            transformedBuf.release();
+            return;
         }
+
+        connection.transformClientbound(bytebuf, out, CancelEncoderException::generate);
     }
 
-    private boolean handleCompressionOrder(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
+    private boolean handleCompressionOrder(final ChannelHandlerContext ctx) {
         final ChannelPipeline pipeline = ctx.pipeline();
         final List<String> names = pipeline.names();
         final int compressorIndex = names.indexOf(BukkitChannelInitializer.MINECRAFT_COMPRESSOR);
@@ -76,13 +89,6 @@ public final class BukkitEncodeHandler extends MessageToMessageEncoder<ByteBuf>
         handledCompression = true;
         if (compressorIndex > names.indexOf(BukkitChannelInitializer.VIA_ENCODER)) {
             // Need to decompress this packet due to bad order
-            final ByteBuf decompressed = (ByteBuf) PipelineUtil.callDecode((ByteToMessageDecoder) pipeline.get(BukkitChannelInitializer.MINECRAFT_DECOMPRESSOR), ctx, buf).get(0);
-            try {
-                buf.clear().writeBytes(decompressed);
-            } finally {
-                decompressed.release();
-            }
-
             pipeline.addAfter(BukkitChannelInitializer.MINECRAFT_COMPRESSOR, BukkitChannelInitializer.VIA_ENCODER, pipeline.remove(BukkitChannelInitializer.VIA_ENCODER));
             pipeline.addAfter(BukkitChannelInitializer.MINECRAFT_DECOMPRESSOR, BukkitChannelInitializer.VIA_DECODER, pipeline.remove(BukkitChannelInitializer.VIA_DECODER));
             return true;
@@ -90,6 +96,15 @@ public final class BukkitEncodeHandler extends MessageToMessageEncoder<ByteBuf>
         return false;
     }
 
+    private void decompress(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
+        final ByteBuf decompressed = (ByteBuf) PipelineUtil.callDecode((ByteToMessageDecoder) ctx.pipeline().get(BukkitChannelInitializer.MINECRAFT_DECOMPRESSOR), ctx, buf).get(0);
+        try {
+            buf.clear().writeBytes(decompressed);
+        } finally {
+            decompressed.release();
+        }
+    }
+
     private void recompress(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
         final ByteBuf compressed = ctx.alloc().buffer();
         try {
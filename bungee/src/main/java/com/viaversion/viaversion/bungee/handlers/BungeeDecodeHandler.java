@@ -40,19 +40,13 @@ public class BungeeDecodeHandler extends MessageToMessageDecoder<ByteBuf> {
             throw CancelDecoderException.generate(null);
         }
 
-        if (!info.checkServerboundPacket()) throw CancelDecoderException.generate(null);
+        if (!info.checkServerboundPacket(bytebuf)) throw CancelDecoderException.generate(null);
         if (!info.shouldTransformPacket()) {
             out.add(bytebuf.retain());
             return;
         }
 
-        ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
-        try {
-            info.transformServerbound(transformedBuf, CancelDecoderException::generate);
-            out.add(transformedBuf.retain());
-        } finally {
-            transformedBuf.release();
-        }
+        info.transformServerbound(bytebuf, out, CancelDecoderException::generate);
     }
 
     @Override
@@ -24,6 +24,7 @@ import com.viaversion.viaversion.exception.CancelEncoderException;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToMessageEncoder;
 import java.util.List;
 
@@ -36,6 +37,15 @@ public class BungeeEncodeHandler extends MessageToMessageEncoder<ByteBuf> {
         this.info = info;
     }
 
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        if (msg instanceof ByteBuf && info.shouldTransformPacket() && info.queueClientbound((ByteBuf) msg, promise)) {
+            // Written once the packets before it have been converted
+            return;
+        }
+        super.write(ctx, msg, promise);
+    }
+
     @Override
     protected void encode(final ChannelHandlerContext ctx, ByteBuf bytebuf, List<Object> out) throws Exception {
         if (!ctx.channel().isActive()) {
@@ -48,49 +58,50 @@ public class BungeeEncodeHandler extends MessageToMessageEncoder<ByteBuf> {
             return;
         }
 
-        ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
-        try {
-            boolean needsCompress = handleCompressionOrder(ctx, transformedBuf);
-            info.transformClientbound(transformedBuf, CancelEncoderException::generate);
-
-            if (needsCompress) {
+        if (!handledCompression && handleCompressionOrder(ctx)) {
+            // The packet was compressed before reaching us, transform a decompressed copy and compress it again
+            ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
+            try {
+                decompress(ctx, transformedBuf);
+                info.transformClientbound(transformedBuf, CancelEncoderException::generate);
                 recompress(ctx, transformedBuf);
+                out.add(transformedBuf.retain());
+            } finally {
+                transformedBuf.release();
             }
-
-            out.add(transformedBuf.retain());
-        } finally {
-            transformedBuf.release();
+            return;
         }
+
+        info.transformClientbound(bytebuf, out, CancelEncoderException::generate);
     }
 
-    private boolean handleCompressionOrder(ChannelHandlerContext ctx, ByteBuf buf) {
-        boolean needsCompress = false;
-        if (!handledCompression) {
-            if (ctx.pipeline().names().indexOf("compress") > ctx.pipeline().names().indexOf("via-encoder")) {
-                // Need to decompress this packet due to bad order
-                ByteBuf decompressed = BungeePipelineUtil.decompress(ctx, buf);
+    private boolean handleCompressionOrder(ChannelHandlerContext ctx) {
+        if (ctx.pipeline().names().indexOf("compress") <= ctx.pipeline().names().indexOf("via-encoder")) {
+            return false;
+        }
+
+        // Need to decompress this packet due to bad order, reorder the pipeline
+        ChannelHandler dec = ctx.pipeline().get("via-decoder");
+        ChannelHandler enc = ctx.pipeline().get("via-encoder");
+        ctx.pipeline().remove(dec);
+        ctx.pipeline().remove(enc);
+        ctx.pipeline().addAfter("decompress", "via-decoder", dec);
+        ctx.pipeline().addAfter("compress", "via-encoder", enc);
+        handledCompression = true;
+        return true;
+    }
 
-                // Ensure the buffer wasn't reused
-                if (buf != decompressed) {
-                    try {
-                        buf.clear().writeBytes(decompressed);
-                    } finally {
-                        decompressed.release();
-                    }
-                }
+    private void decompress(ChannelHandlerContext ctx, ByteBuf buf) {
+        ByteBuf decompressed = BungeePipelineUtil.decompress(ctx, buf);
 
-                // Reorder the pipeline
-                ChannelHandler dec = ctx.pipeline().get("via-decoder");
-                ChannelHandler enc = ctx.pipeline().get("via-encoder");
-                ctx.pipeline().remove(dec);
-                ctx.pipeline().remove(enc);
-                ctx.pipeline().addAfter("decompress", "via-decoder", dec);
-                ctx.pipeline().addAfter("compress", "via-encoder", enc);
-                needsCompress = true;
-                handledCompression = true;
+        // Ensure the buffer wasn't reused
+        if (buf != decompressed) {
+            try {
+                buf.clear().writeBytes(decompressed);
+            } finally {
+                decompressed.release();
             }
         }
-        return needsCompress;
     }
 
     private void recompress(ChannelHandlerContext ctx, ByteBuf buf) {
@@ -8,3 +8,17 @@ dependencies {
 java {
     withJavadocJar()
 }
+
+// Bundled json data files are shipped as nbt instead
+val convertDataFiles = tasks.register<ConvertDataTask>("convertDataFiles") {
+    dataDirectory.set(layout.projectDirectory.dir("src/main/resources/${ConvertDataTask.DATA_PATH}"))
+    outputDirectory.set(layout.buildDirectory.dir("generated/resources/data"))
+}
+
+sourceSets.main {
+    resources.srcDir(convertDataFiles)
+}
+
+tasks.processResources {
+    exclude(ConvertDataTask.CONVERTED_FILES)
+}
@@ -21,7 +21,6 @@ import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.ViaManager;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.debug.DebugHandler;
-import com.viaversion.viaversion.api.platform.PlatformTask;
 import com.viaversion.viaversion.api.platform.UnsupportedSoftware;
 import com.viaversion.viaversion.api.platform.ViaInjector;
 import com.viaversion.viaversion.api.platform.ViaPlatform;
@@ -32,8 +31,10 @@ import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import com.viaversion.viaversion.api.protocol.version.ServerProtocolVersion;
 import com.viaversion.viaversion.api.scheduler.Scheduler;
 import com.viaversion.viaversion.commands.ViaCommandHandler;
+import com.viaversion.viaversion.connection.ChunkConversionQueue;
 import com.viaversion.viaversion.connection.ConnectionManagerImpl;
 import com.viaversion.viaversion.debug.DebugHandlerImpl;
+import com.viaversion.viaversion.metrics.MetricsHandlerImpl;
 import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
 import com.viaversion.viaversion.protocol.ServerProtocolVersionRange;
 import com.viaversion.viaversion.protocol.ServerProtocolVersionSingleton;
@@ -54,6 +55,7 @@ public class ViaManagerImpl implements ViaManager {
     private final ProtocolManagerImpl protocolManager = new ProtocolManagerImpl();
     private final ConnectionManager connectionManager = new ConnectionManagerImpl();
     private final DebugHandler debugHandler = new DebugHandlerImpl();
+    private final MetricsHandlerImpl metricsHandler = new MetricsHandlerImpl();
     private final ViaProviders providers = new ViaProviders();
     private final Scheduler scheduler = new TaskScheduler();
     private final ViaPlatform<?> platform;
@@ -62,7 +64,6 @@ public class ViaManagerImpl implements ViaManager {
     private final ViaPlatformLoader loader;
     private final Set<String> subPlatforms = new HashSet<>();
     private List<Runnable> enableListeners = new ArrayList<>();
-    private PlatformTask<?> mappingLoadingTask;
     private boolean initialized;
 
     public ViaManagerImpl(ViaPlatform<?> platform, ViaInjector injector, ViaCommandHandler commandHandler, ViaPlatformLoader loader) {
@@ -154,14 +155,12 @@ public class ViaManagerImpl implements ViaManager {
 
         // Load Platform
         loader.load();
-        // Common tasks
-        mappingLoadingTask = Via.getPlatform().runRepeatingAsync(() -> {
-            if (protocolManager.checkForMappingCompletion() && mappingLoadingTask != null) {
-                mappingLoadingTask.cancel();
-                mappingLoadingTask = null;
-            }
-        }, 10L);
 
+        // Load mapping data of protocols registered since, or of all protocols if the server version is still unknown
+        // The loader executor is shut down as soon as loading has finished
+        protocolManager.startMappingDataLoading();
+
+        // Common tasks
         int serverProtocolVersion = protocolManager.getServerProtocolVersion().lowestSupportedVersion();
         if (serverProtocolVersion < ProtocolVersion.v1_9.getVersion()) {
             if (Via.getConfig().isSimulatePlayerTick()) {
@@ -208,6 +207,8 @@ public class ViaManagerImpl implements ViaManager {
 
         loader.unload();
         scheduler.shutdown();
+        ChunkConversionQueue.shutdown();
+        metricsHandler.exporter().stopServer();
     }
 
     private void checkJavaVersion() { // Stolen from Paper
@@ -286,6 +287,11 @@ public class ViaManagerImpl implements ViaManager {
         return debugHandler;
     }
 
+    @Override
+    public MetricsHandlerImpl metricsHandler() {
+        return metricsHandler;
+    }
+
     @Override
     public ViaInjector getInjector() {
         return injector;
@@ -23,12 +23,14 @@ import com.viaversion.viaversion.api.command.ViaCommandSender;
 import com.viaversion.viaversion.api.command.ViaSubCommand;
 import com.viaversion.viaversion.api.command.ViaVersionCommand;
 import com.viaversion.viaversion.commands.defaultsubs.AutoTeamSubCmd;
+import com.viaversion.viaversion.commands.defaultsubs.CaptureSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.DebugSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.DisplayLeaksSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.DontBugMeSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.DumpSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.HelpSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.ListSubCmd;
+import com.viaversion.viaversion.commands.defaultsubs.MetricsSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.PPSSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.ReloadSubCmd;
 import java.util.ArrayList;
@@ -169,6 +171,8 @@ public abstract class ViaCommandHandler implements ViaVersionCommand {
         registerSubCommand(new ListSubCmd());
         registerSubCommand(new PPSSubCmd());
         registerSubCommand(new DebugSubCmd());
+        registerSubCommand(new CaptureSubCmd());
+        registerSubCommand(new MetricsSubCmd());
         registerSubCommand(new DumpSubCmd());
         registerSubCommand(new DisplayLeaksSubCmd());
         registerSubCommand(new DontBugMeSubCmd());
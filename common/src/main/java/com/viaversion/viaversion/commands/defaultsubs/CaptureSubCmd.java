@@ -0,0 +1,171 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.commands.defaultsubs;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.command.ViaCommandSender;
+import com.viaversion.viaversion.api.command.ViaSubCommand;
+import com.viaversion.viaversion.api.connection.PacketCapture;
+import com.viaversion.viaversion.api.connection.ProtocolInfo;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.debug.PacketCaptureWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+
+public class CaptureSubCmd extends ViaSubCommand {
+
+    private static final long DEFAULT_MAX_MEGABYTES = 64;
+
+    @Override
+    public String name() {
+        return "capture";
+    }
+
+    @Override
+    public String description() {
+        return "Record the raw packets of a player to a file";
+    }
+
+    @Override
+    public String usage() {
+        return "capture <start <player> [max size in MB]|stop [player]>";
+    }
+
+    @Override
+    public boolean execute(ViaCommandSender sender, String[] args) {
+        if (args.length == 0) {
+            return false;
+        }
+
+        if (args[0].equalsIgnoreCase("start") && (args.length == 2 || args.length == 3)) {
+            final UserConnection connection = connection(args[1]);
+            if (connection == null) {
+                sendMessage(sender, "&cCould not find player %s", args[1]);
+                return true;
+            }
+
+            long maxMegabytes = DEFAULT_MAX_MEGABYTES;
+            if (args.length == 3) {
+                try {
+                    maxMegabytes = Long.parseLong(args[2]);
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+
+            startCapture(sender, connection, args[1], maxMegabytes);
+            return true;
+        } else if (args[0].equalsIgnoreCase("stop") && args.length <= 2) {
+            if (args.length == 2) {
+                final UserConnection connection = connection(args[1]);
+                if (connection == null || !stopCapture(connection)) {
+                    sendMessage(sender, "&cNo capture running for %s", args[1]);
+                } else {
+                    sendMessage(sender, "&6Stopped capturing packets of %s", args[1]);
+                }
+                return true;
+            }
+
+            int stopped = 0;
+            for (final UserConnection connection : Via.getManager().getConnectionManager().getConnections()) {
+                if (stopCapture(connection)) {
+                    stopped++;
+                }
+            }
+            sendMessage(sender, "&6Stopped %s packet capture(s)", stopped);
+            return true;
+        }
+        return false;
+    }
+
+    private void startCapture(ViaCommandSender sender, UserConnection connection, String name, long maxMegabytes) {
+        if (connection.getPacketCapture() != null) {
+            sendMessage(sender, "&cPackets of %s are already being captured", name);
+            return;
+        }
+
+        final File folder = new File(Via.getPlatform().getDataFolder(), "captures");
+        final String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date());
+        final Path path = new File(folder, name + "-" + timestamp + ".viacap").toPath();
+        final ProtocolInfo info = connection.getProtocolInfo();
+        try {
+            Files.createDirectories(folder.toPath());
+            connection.setPacketCapture(new PacketCaptureWriter(path, info.getProtocolVersion(), info.getServerProtocolVersion(), maxMegabytes * 1024 * 1024, capture -> {
+                // Also clear captures that stopped on their own
+                if (connection.getPacketCapture() == capture) {
+                    connection.setPacketCapture(null);
+                }
+            }));
+        } catch (IOException e) {
+            Via.getPlatform().getLogger().log(Level.WARNING, "Failed to create packet capture " + path, e);
+            sendMessage(sender, "&cFailed to create packet capture: %s", e.getMessage());
+            return;
+        }
+        sendMessage(sender, "&6Capturing packets of %s to %s", name, path.getFileName());
+    }
+
+    private boolean stopCapture(UserConnection connection) {
+        final PacketCapture capture = connection.getPacketCapture();
+        if (capture == null) {
+            return false;
+        }
+
+        connection.setPacketCapture(null);
+        try {
+            capture.close();
+        } catch (IOException e) {
+            Via.getPlatform().getLogger().log(Level.WARNING, "Failed to close packet capture", e);
+        }
+        return true;
+    }
+
+    private UserConnection connection(String playerName) {
+        for (final ViaCommandSender player : Via.getPlatform().getOnlinePlayers()) {
+            if (player.getName().equalsIgnoreCase(playerName)) {
+                return Via.getManager().getConnectionManager().getConnectedClient(player.getUUID());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public List<String> onTabComplete(ViaCommandSender sender, String[] args) {
+        if (args.length == 1) {
+            return Arrays.asList("start", "stop");
+        } else if (args.length == 2) {
+            final List<String> names = new ArrayList<>();
+            for (final ViaCommandSender player : Via.getPlatform().getOnlinePlayers()) {
+                if (player.getName().toLowerCase(Locale.ROOT).startsWith(args[1].toLowerCase(Locale.ROOT))) {
+                    names.add(player.getName());
+                }
+            }
+            return names;
+        }
+        return Collections.emptyList();
+    }
+}
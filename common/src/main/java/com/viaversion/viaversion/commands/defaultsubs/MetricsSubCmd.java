@@ -0,0 +1,198 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.commands.defaultsubs;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.command.ViaCommandSender;
+import com.viaversion.viaversion.api.command.ViaSubCommand;
+import com.viaversion.viaversion.api.metrics.MetricsHandler;
+import com.viaversion.viaversion.api.metrics.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.metrics.MetricsHandlerImpl;
+import com.viaversion.viaversion.metrics.PrometheusExporter;
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+public class MetricsSubCmd extends ViaSubCommand {
+
+    private static final int DEFAULT_TOP_ENTRIES = 10;
+
+    @Override
+    public String name() {
+        return "metrics";
+    }
+
+    @Override
+    public String description() {
+        return "Toggle and show packet transform metrics";
+    }
+
+    @Override
+    public String usage() {
+        return "metrics [reset|top [count] [pipeline]|dump [file]|serve <port|stop>]";
+    }
+
+    @Override
+    public boolean execute(ViaCommandSender sender, String[] args) {
+        final MetricsHandler metrics = Via.getManager().metricsHandler();
+        if (args.length == 0) {
+            metrics.setEnabled(!metrics.enabled());
+            sendMessage(sender, "&6Metrics are now %s", (metrics.enabled() ? "&aenabled" : "&cdisabled"));
+            return true;
+        }
+
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case "reset":
+                metrics.reset();
+                sendMessage(sender, "&6Cleared recorded metrics");
+                return true;
+            case "top":
+                int count = DEFAULT_TOP_ENTRIES;
+                if (args.length > 1) {
+                    try {
+                        count = Integer.parseInt(args[1]);
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+                sendTop(sender, metrics, count, args.length > 2 && args[2].equalsIgnoreCase("pipeline"));
+                return true;
+            case "dump":
+                final PrometheusExporter exporter = exporter(sender, metrics);
+                if (exporter == null) {
+                    return true;
+                }
+
+                // Only take the file name to stay inside the data folder
+                final String fileName = args.length > 1 ? new File(args[1]).getName() : "metrics.prom";
+                final File file = new File(Via.getPlatform().getDataFolder(), fileName);
+                try {
+                    exporter.writeTo(file.toPath());
+                    sendMessage(sender, "&6Wrote metrics to %s", file.getName());
+                } catch (IOException e) {
+                    sendMessage(sender, "&cFailed to write metrics: %s", e.getMessage());
+                }
+                return true;
+            case "serve":
+                if (args.length != 2) {
+                    return false;
+                }
+                serve(sender, metrics, args[1]);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void sendTop(ViaCommandSender sender, MetricsHandler metrics, int count, boolean pipeline) {
+        final List<TransformMetrics> sorted = new ArrayList<>();
+        for (final TransformMetrics metric : metrics.transformMetrics()) {
+            if ((metric.protocolClass() == null) == pipeline) {
+                sorted.add(metric);
+            }
+        }
+        sorted.sort(Comparator.comparingLong(TransformMetrics::totalNanos).reversed());
+
+        sendMessage(sender, "&4Packet transform metrics%s", (metrics.enabled() ? "" : " &c(disabled)"));
+        if (sorted.isEmpty()) {
+            sendMessage(sender, "&cNothing has been recorded.");
+        }
+        for (int i = 0; i < Math.min(count, sorted.size()); i++) {
+            final TransformMetrics metric = sorted.get(i);
+            final String owner = metric.protocolClass() != null ? metric.protocolClass().getSimpleName() : "Pipeline";
+            sendMessage(sender, "&6%s &7%s %s %s&8: &f%s total, %s packets, avg %s, p99 %s, max %s, %s cancelled",
+                    owner, metric.direction(), metric.state(), metric.packetName(), formatNanos(metric.totalNanos()), metric.count(),
+                    formatNanos(metric.totalNanos() / Math.max(1, metric.count())), formatNanos(metric.percentileNanos(0.99)),
+                    formatNanos(metric.maxNanos()), metric.cancelled());
+        }
+        for (final Direction direction : Direction.values()) {
+            sendMessage(sender, "&6%s bytes&8: &f%s in, %s out", direction, metrics.bytesIn(direction), metrics.bytesOut(direction));
+        }
+        if (metrics.compactedPalettes() != 0) {
+            sendMessage(sender, "&6Palette compaction&8: &f%s sections, %s bytes saved", metrics.compactedPalettes(), metrics.paletteBytesSaved());
+        }
+        if (metrics.cachedLightChunks() != 0) {
+            sendMessage(sender, "&61.17 light cache&8: &f%s chunks, %s bytes", metrics.cachedLightChunks(), metrics.cachedLightBytes());
+        }
+    }
+
+    private void serve(ViaCommandSender sender, MetricsHandler metrics, String arg) {
+        final PrometheusExporter exporter = exporter(sender, metrics);
+        if (exporter == null) {
+            return;
+        }
+
+        if (arg.equalsIgnoreCase("stop")) {
+            sendMessage(sender, exporter.stopServer() ? "&6Stopped the metrics endpoint" : "&cThe metrics endpoint is not running");
+            return;
+        }
+
+        final int port;
+        try {
+            port = Integer.parseInt(arg);
+        } catch (NumberFormatException e) {
+            sendMessage(sender, "&cInvalid port %s", arg);
+            return;
+        }
+
+        try {
+            exporter.startServer(port);
+        } catch (IOException e) {
+            sendMessage(sender, "&cFailed to start the metrics endpoint: %s", e.getMessage());
+            return;
+        }
+
+        final InetSocketAddress address = exporter.serverAddress();
+        sendMessage(sender, "&6Serving metrics on http://%s:%s/metrics", address.getHostString(), address.getPort());
+        if (!metrics.enabled()) {
+            sendMessage(sender, "&cMetrics are disabled, enable them with /viaversion metrics");
+        }
+    }
+
+    private PrometheusExporter exporter(ViaCommandSender sender, MetricsHandler metrics) {
+        if (!(metrics instanceof MetricsHandlerImpl)) {
+            sendMessage(sender, "&cMetrics export is not supported on this platform");
+            return null;
+        }
+        return ((MetricsHandlerImpl) metrics).exporter();
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 10_000) {
+            return nanos + "ns";
+        } else if (nanos < 10_000_000) {
+            return String.format(Locale.ROOT, "%.1fus", nanos / 1_000D);
+        }
+        return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000D);
+    }
+
+    @Override
+    public List<String> onTabComplete(final ViaCommandSender sender, final String[] args) {
+        if (args.length == 1) {
+            return Arrays.asList("reset", "top", "dump", "serve");
+        }
+        return Collections.emptyList();
+    }
+}
@@ -47,7 +47,7 @@ public class PPSSubCmd extends ViaSubCommand {
     @Override
     public boolean execute(ViaCommandSender sender, String[] args) {
         Map<Integer, Set<String>> playerVersions = new HashMap<>();
-        int totalPackets = 0;
+        long totalPackets = 0;
         int clients = 0;
         long max = 0;
 
@@ -56,11 +56,17 @@ public class PPSSubCmd extends ViaSubCommand {
             if (!playerVersions.containsKey(playerVersion))
                 playerVersions.put(playerVersion, new HashSet<>());
             UserConnection uc = Via.getManager().getConnectionManager().getConnectedClient(p.getUUID());
-            if (uc != null && uc.getPacketTracker().getPacketsPerSecond() > -1) {
-                playerVersions.get(playerVersion).add(p.getName() + " (" + uc.getPacketTracker().getPacketsPerSecond() + " PPS)");
-                totalPackets += uc.getPacketTracker().getPacketsPerSecond();
-                if (uc.getPacketTracker().getPacketsPerSecond() > max) {
-                    max = uc.getPacketTracker().getPacketsPerSecond();
+            if (uc == null) {
+                continue;
+            }
+
+            // Updated on the connection's event loop, read it once
+            long pps = uc.getPacketTracker().getPacketsPerSecond();
+            if (pps > -1) {
+                playerVersions.get(playerVersion).add(p.getName() + " (" + pps + " PPS)");
+                totalPackets += pps;
+                if (pps > max) {
+                    max = pps;
                 }
                 clients++;
             }
@@ -21,6 +21,7 @@ import com.google.gson.JsonElement;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.configuration.ViaVersionConfig;
 import com.viaversion.viaversion.api.minecraft.WorldIdentifiers;
+import com.viaversion.viaversion.api.protocol.packet.PacketLimiterConfig;
 import com.viaversion.viaversion.api.protocol.version.BlockedProtocolVersions;
 import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import com.viaversion.viaversion.protocol.BlockedProtocolVersionsImpl;
@@ -30,6 +31,7 @@ import it.unimi.dsi.fastutil.ints.IntSet;
 import java.io.File;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.IntPredicate;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -55,6 +57,7 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
     private int warningPPS;
     private int maxPPSWarnings;
     private String maxPPSWarningsKickMessage;
+    private PacketLimiterConfig packetLimiterConfig;
     private boolean sendSupportedVersions;
     private boolean simulatePlayerTick;
     private boolean itemCache;
@@ -69,6 +72,10 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
     private String blockedDisconnectMessage;
     private String reloadDisconnectMessage;
     private boolean suppressConversionWarnings;
+    private boolean cacheMappings;
+    private boolean compactChunkPalettes;
+    private boolean poolChunkObjects;
+    private int chunkWorkerThreads;
     private boolean disable1_13TabComplete;
     private boolean minimizeCooldown;
     private boolean teamColourFix;
@@ -121,6 +128,7 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
         warningPPS = getInt("tracking-warning-pps", 120);
         maxPPSWarnings = getInt("tracking-max-warnings", 3);
         maxPPSWarningsKickMessage = getString("tracking-max-kick-msg", "You are sending too many packets, :(");
+        packetLimiterConfig = loadPacketLimiterConfig();
         sendSupportedVersions = getBoolean("send-supported-versions", false);
         simulatePlayerTick = getBoolean("simulate-pt", true);
         itemCache = getBoolean("item-cache", true);
@@ -137,6 +145,10 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
         minimizeCooldown = getBoolean("minimize-cooldown", true);
         teamColourFix = getBoolean("team-colour-fix", true);
         suppressConversionWarnings = getBoolean("suppress-conversion-warnings", false);
+        cacheMappings = getBoolean("cache-mappings", true);
+        compactChunkPalettes = getBoolean("compact-chunk-palettes", false);
+        poolChunkObjects = getBoolean("pool-chunk-objects", false);
+        chunkWorkerThreads = Math.max(0, getInt("chunk-worker-threads", 0));
         disable1_13TabComplete = getBoolean("disable-1_13-auto-complete", false);
         serversideBlockConnections = getBoolean("serverside-blockconnections", true);
         reduceBlockStorageMemory = getBoolean("reduce-blockstorage-memory", false);
@@ -161,6 +173,19 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
         chatTypeFormats = get("chat-types-1_19", Map.class, new HashMap<String, String>());
     }
 
+    private PacketLimiterConfig loadPacketLimiterConfig() {
+        Map<String, Integer> weights = new HashMap<>();
+        Map<?, ?> configuredWeights = get("packet-limiter-weights", Map.class, new HashMap<>());
+        for (Map.Entry<?, ?> entry : configuredWeights.entrySet()) {
+            if (!(entry.getValue() instanceof Number) || ((Number) entry.getValue()).intValue() < 1) {
+                Via.getPlatform().getLogger().warning("Invalid packet limiter weight found in config: '" + entry.getKey() + ": " + entry.getValue() + "'");
+                continue;
+            }
+            weights.put(entry.getKey().toString().toUpperCase(Locale.ROOT), ((Number) entry.getValue()).intValue());
+        }
+        return new PacketLimiterConfig(maxPPS, maxPPSKickMessage, trackingPeriod, warningPPS, maxPPSWarnings, maxPPSWarningsKickMessage, weights);
+    }
+
     private BlockedProtocolVersions loadBlockedProtocolVersions() {
         List<Integer> blockProtocols = getListSafe("block-protocols", Integer.class, "Invalid blocked version protocol found in config: '%s'");
         List<String> blockVersions = getListSafe("block-versions", String.class, "Invalid blocked version found in config: '%s'");
@@ -332,6 +357,11 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
         return maxPPSWarningsKickMessage;
     }
 
+    @Override
+    public PacketLimiterConfig getPacketLimiterConfig() {
+        return packetLimiterConfig;
+    }
+
     @Override
     public boolean isSendSupportedVersions() {
         return sendSupportedVersions;
@@ -423,6 +453,26 @@ public abstract class AbstractViaConfig extends Config implements ViaVersionConf
         return suppressConversionWarnings;
     }
 
+    @Override
+    public boolean isCacheMappings() {
+        return cacheMappings;
+    }
+
+    @Override
+    public boolean isCompactChunkPalettes() {
+        return compactChunkPalettes;
+    }
+
+    @Override
+    public boolean isPoolChunkObjects() {
+        return poolChunkObjects;
+    }
+
+    @Override
+    public int getChunkWorkerThreads() {
+        return chunkWorkerThreads;
+    }
+
     @Override
     public boolean isDisable1_13AutoComplete() {
         return disable1_13TabComplete;
@@ -0,0 +1,366 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.connection;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypeMap;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypesProvider;
+import com.viaversion.viaversion.exception.CancelException;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Converts the clientbound chunk packets of a connection on a shared worker pool instead of its event loop.
+ * All clientbound packets following a chunk packet are held back until it has been converted and written,
+ * so the order of packets is kept. Apart from the conversion itself, everything runs on the connection's event loop.
+ * <p>
+ * Chunk packets are only converted off the event loop if every protocol in the pipeline either has thread-safe
+ * chunk handlers or only changes the packet id, see {@link Protocol#hasThreadSafeChunkHandlers()}.
+ */
+public final class ChunkConversionQueue {
+
+    private static final Set<String> CHUNK_PACKETS = ImmutableSet.of("CHUNK_DATA", "MAP_BULK_CHUNK");
+    private static final int QUEUED_TASKS_PER_THREAD = 64;
+    private static final int MAX_QUEUED_PACKETS = 1024;
+    private static final long WRITABILITY_RECHECK_MILLIS = 10;
+    private static ThreadPoolExecutor executor;
+    private final Queue<QueuedPacket> queue = new ArrayDeque<>();
+    private final UserConnectionImpl connection;
+    private final Channel channel;
+    private ProtocolPipeline pipeline;
+    private int pipelineSize = -1;
+    private BitSet chunkPacketIds;
+    private ChannelFuture lastWrite;
+    private boolean converting;
+    private boolean awaitingWritability;
+
+    ChunkConversionQueue(final UserConnectionImpl connection, final Channel channel) {
+        this.connection = connection;
+        this.channel = channel;
+        channel.closeFuture().addListener(future -> channel.eventLoop().execute(this::releaseQueued));
+    }
+
+    /**
+     * Returns whether chunk conversion on worker threads is enabled.
+     *
+     * @return whether chunk worker threads are enabled
+     */
+    static boolean enabled() {
+        return Via.getConfig().getChunkWorkerThreads() > 0;
+    }
+
+    private static synchronized @Nullable ThreadPoolExecutor executor() {
+        if (executor == null) {
+            final int threads = Via.getConfig().getChunkWorkerThreads();
+            if (threads <= 0) {
+                return null;
+            }
+
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(threads * QUEUED_TASKS_PER_THREAD),
+                    new ThreadFactoryBuilder().setNameFormat("Via-Chunkworker-%d").setDaemon(true).build());
+        }
+        return executor;
+    }
+
+    /**
+     * Stops the chunk worker threads if they have been started.
+     */
+    public static synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Returns whether the packet has to be queued, either because it is a chunk packet or because other packets are still queued.
+     *
+     * @param state packet state
+     * @param id    unmapped packet id
+     * @return whether the packet has to be queued
+     */
+    boolean shouldQueue(final State state, final int id) {
+        return !queue.isEmpty() || converting || isChunkPacket(state, id);
+    }
+
+    /**
+     * Queues the packet to be transformed and written once all previously queued packets have been written.
+     *
+     * @param packet  packet buffer, released once transformed
+     * @param promise promise of the write, completed once the transformed packet has been written
+     * @param state   packet state
+     * @param id      unmapped packet id
+     */
+    void add(final ByteBuf packet, final ChannelPromise promise, final State state, final int id) {
+        queue.add(new QueuedPacket(packet, promise, isChunkPacket(state, id)));
+        process();
+    }
+
+    private boolean isChunkPacket(final State state, final int id) {
+        if (state != State.PLAY || id < 0) {
+            return false;
+        }
+
+        final ProtocolPipeline currentPipeline = connection.getProtocolInfo().getPipeline();
+        if (pipeline != currentPipeline || pipelineSize != currentPipeline.pipes().size()) {
+            pipeline = currentPipeline;
+            pipelineSize = currentPipeline.pipes().size();
+            chunkPacketIds = chunkPacketIds(currentPipeline);
+        }
+        return chunkPacketIds.get(id);
+    }
+
+    private BitSet chunkPacketIds(final ProtocolPipeline pipeline) {
+        final BitSet ids = new BitSet();
+        if (!pipeline.hasNonBaseProtocols()) {
+            return ids;
+        }
+
+        for (final String name : CHUNK_PACKETS) {
+            final int id = threadSafeChunkPacketId(pipeline, name);
+            if (id != -1) {
+                ids.set(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the id the chunk packet is sent with by the server if all protocols in the pipeline can convert it off the event loop.
+     *
+     * @param pipeline protocol pipeline
+     * @param name     chunk packet type name
+     * @return id of the packet as sent by the server, or -1 if it has to be converted on the event loop or is unknown
+     */
+    private int threadSafeChunkPacketId(final ProtocolPipeline pipeline, final String name) {
+        // Clientbound ids are those of the server version, as known by the first protocol the packets go through
+        int serverId = -1;
+        final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+        for (final Protocol protocol : pipeline.reversedPipes()) {
+            final PacketTypesProvider<?, ?, ?, ?> provider = protocol.getPacketTypesProvider();
+            final PacketTypeMap<? extends PacketType> packetTypes = provider.unmappedClientboundPacketTypes().get(State.PLAY);
+            final PacketType packetType = packetTypes != null ? packetTypes.typeByName(name) : null;
+            if (packetType != null && serverId == -1) {
+                serverId = packetType.getId();
+            }
+
+            if (protocol.hasThreadSafeChunkHandlers()) {
+                continue;
+            }
+
+            // Only changing the id is fine as well
+            if (packetType == null || !protocolManager.supportsPacketIdRemapping(protocol) || protocol.transformsUnmappedPackets()
+                    || protocol.remappedPacketId(connection, Direction.CLIENTBOUND, State.PLAY, packetType.getId()) == -1) {
+                return -1;
+            }
+        }
+        return serverId;
+    }
+
+    private void process() {
+        if (!channel.isActive()) {
+            releaseQueued();
+            return;
+        }
+
+        final ChannelHandlerContext context = channel.pipeline().context(Via.getManager().getInjector().getEncoderName());
+        boolean written = false;
+        QueuedPacket packet;
+        while (!converting && (packet = queue.peek()) != null) {
+            if (!packet.chunk) {
+                // Cheap packets queued behind a chunk are transformed right here
+                queue.poll();
+                written |= write(context, transform(packet.buf), packet.promise);
+                continue;
+            }
+
+            if (queue.size() > MAX_QUEUED_PACKETS) {
+                // Too much held back, stop waiting for the client and convert the remaining chunks right here until caught up
+                queue.poll();
+                written |= write(context, transform(packet.buf), packet.promise);
+                continue;
+            }
+
+            if (awaitingWritability) {
+                break;
+            }
+            if (!channel.isWritable() && lastWrite != null) {
+                // Let the client catch up before converting more chunks
+                awaitingWritability = true;
+                if (lastWrite.isDone()) {
+                    channel.eventLoop().schedule(this::resume, WRITABILITY_RECHECK_MILLIS, TimeUnit.MILLISECONDS);
+                } else {
+                    lastWrite.addListener(future -> resume());
+                }
+                break;
+            }
+
+            queue.poll();
+            convert(packet);
+        }
+
+        if (written) {
+            context.flush();
+        }
+    }
+
+    private void convert(final QueuedPacket packet) {
+        converting = true;
+        final ThreadPoolExecutor executor = executor();
+        final Runnable task = () -> {
+            final Object result = transform(packet.buf);
+            channel.eventLoop().execute(() -> completed(result, packet.promise));
+        };
+        try {
+            if (executor == null) {
+                throw new RejectedExecutionException();
+            }
+            executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            // The pool is saturated, convert it on the event loop instead
+            channel.eventLoop().execute(task);
+        }
+    }
+
+    private void completed(final Object result, final ChannelPromise promise) {
+        converting = false;
+        if (!channel.isActive()) {
+            if (result instanceof List) {
+                ((List<?>) result).forEach(ReferenceCountUtil::release);
+            }
+            promise.tryFailure(new ClosedChannelException());
+            releaseQueued();
+            return;
+        }
+
+        final ChannelHandlerContext context = channel.pipeline().context(Via.getManager().getInjector().getEncoderName());
+        if (write(context, result, promise)) {
+            context.flush();
+        }
+        process();
+    }
+
+    private void resume() {
+        if (channel.eventLoop().inEventLoop()) {
+            awaitingWritability = false;
+            process();
+        } else {
+            channel.eventLoop().execute(this::resume);
+        }
+    }
+
+    /**
+     * Transforms the packet and releases it.
+     *
+     * @param packet packet to transform
+     * @return list of transformed packet buffers, or the exception thrown while transforming
+     */
+    private Object transform(final ByteBuf packet) {
+        final List<Object> out = new ArrayList<>(1);
+        try {
+            connection.transformQueued(packet, out, t -> CancelException.CACHED);
+            return out;
+        } catch (final CancelException e) {
+            return out;
+        } catch (final Throwable t) {
+            out.forEach(ReferenceCountUtil::release);
+            return t;
+        } finally {
+            packet.release();
+        }
+    }
+
+    /**
+     * Writes the transformed packet buffers through the encoder's context, completing the promise with the last write.
+     *
+     * @param context encoder context
+     * @param result  transformed packet buffers or the exception thrown while transforming
+     * @param promise promise of the original write
+     * @return whether anything has been written
+     */
+    private boolean write(@Nullable final ChannelHandlerContext context, final Object result, final ChannelPromise promise) {
+        if (result instanceof Throwable) {
+            // Same as an exception thrown by the encoder
+            promise.tryFailure((Throwable) result);
+            channel.pipeline().fireExceptionCaught((Throwable) result);
+            return false;
+        }
+
+        final List<?> out = (List<?>) result;
+        if (context == null) {
+            out.forEach(ReferenceCountUtil::release);
+            promise.tryFailure(new ClosedChannelException());
+            return false;
+        }
+        if (out.isEmpty()) {
+            // Cancelled, nothing left to write
+            promise.trySuccess();
+            return false;
+        }
+
+        for (int i = 0; i < out.size(); i++) {
+            lastWrite = i == out.size() - 1 ? context.write(out.get(i), promise) : context.write(out.get(i));
+        }
+        return true;
+    }
+
+    private void releaseQueued() {
+        QueuedPacket packet;
+        while ((packet = queue.poll()) != null) {
+            packet.buf.release();
+            packet.promise.tryFailure(new ClosedChannelException());
+        }
+    }
+
+    private static final class QueuedPacket {
+        private final ByteBuf buf;
+        private final ChannelPromise promise;
+        private final boolean chunk;
+
+        private QueuedPacket(final ByteBuf buf, final ChannelPromise promise, final boolean chunk) {
+            this.buf = buf;
+            this.promise = promise;
+            this.chunk = chunk;
+        }
+    }
+}
@@ -19,15 +19,18 @@ package com.viaversion.viaversion.connection;
 
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
+import com.viaversion.viaversion.api.connection.PacketCapture;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class ConnectionManagerImpl implements ConnectionManager {
@@ -74,6 +77,19 @@ public class ConnectionManagerImpl implements ConnectionManager {
         }
 
         connection.clearStoredObjects();
+
+        final PacketCapture capture = connection.getPacketCapture();
+        if (capture != null) {
+            connection.setPacketCapture(null);
+            // Closing waits for pending packets to be written
+            Via.getPlatform().runAsync(() -> {
+                try {
+                    capture.close();
+                } catch (IOException e) {
+                    Via.getPlatform().getLogger().log(Level.WARNING, "Failed to close packet capture", e);
+                }
+            });
+        }
     }
 
     @Override
@@ -20,10 +20,13 @@ package com.viaversion.viaversion.connection;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.data.MappingType;
+import com.viaversion.viaversion.api.data.Mappings;
 import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
 import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import java.util.UUID;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class ProtocolInfoImpl implements ProtocolInfo {
     private final UserConnection connection;
@@ -118,6 +121,11 @@ public class ProtocolInfoImpl implements ProtocolInfo {
         this.pipeline = pipeline;
     }
 
+    @Override
+    public @Nullable Mappings getComposedMappings(final MappingType type) {
+        return Via.getManager().getProtocolManager().getComposedMappings(protocolVersion, serverProtocolVersion, type);
+    }
+
     @Override
     public UserConnection getUser() {
         return connection;
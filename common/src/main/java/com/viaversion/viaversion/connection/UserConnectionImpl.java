@@ -19,27 +19,40 @@ package com.viaversion.viaversion.connection;
 
 import com.google.common.cache.CacheBuilder;
 import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.PacketCapture;
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.entity.EntityTracker;
+import com.viaversion.viaversion.api.metrics.MetricsHandler;
 import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolManager;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketLimiterConfig;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketTracker;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypeMap;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypesProvider;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.types.VarIntType;
 import com.viaversion.viaversion.exception.CancelException;
 import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
 import com.viaversion.viaversion.util.ChatColorUtil;
 import com.viaversion.viaversion.util.PipelineUtil;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
 import io.netty.channel.ChannelHandlerContext;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -51,6 +64,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class UserConnectionImpl implements UserConnection {
     private static final AtomicLong IDS = new AtomicLong();
+    private static final int MIN_SLICED_BODY_LENGTH = 256;
     private final long id = IDS.incrementAndGet();
     private final Map<Class<?>, StorableObject> storedObjects = new ConcurrentHashMap<>();
     private final Map<Class<? extends Protocol>, EntityTracker> entityTrackers = new HashMap<>();
@@ -64,6 +78,10 @@ public class UserConnectionImpl implements UserConnection {
     private boolean active = true;
     private boolean pendingDisconnect;
     private boolean packetLimiterEnabled = true;
+    private PacketLimiterConfig packetWeightsConfig;
+    private int[] packetWeights;
+    private volatile PacketCapture packetCapture;
+    private ChunkConversionQueue conversionQueue;
 
     /**
      * Creates an UserConnection. When it's a client-side connection, some method behaviors are modified.
@@ -192,6 +210,16 @@ public class UserConnectionImpl implements UserConnection {
         }
     }
 
+    @Override
+    public @Nullable PacketCapture getPacketCapture() {
+        return packetCapture;
+    }
+
+    @Override
+    public void setPacketCapture(@Nullable PacketCapture packetCapture) {
+        this.packetCapture = packetCapture;
+    }
+
     @Override
     public PacketTracker getPacketTracker() {
         return packetTracker;
@@ -289,7 +317,16 @@ public class UserConnectionImpl implements UserConnection {
             return false;
         }
         // Increment received + Check PPS
-        return !packetLimiterEnabled || !packetTracker.incrementReceived() || !packetTracker.exceedsMaxPPS();
+        return !packetLimiterEnabled || !packetTracker.trackReceived(1);
+    }
+
+    @Override
+    public boolean checkServerboundPacket(ByteBuf packet) {
+        if (pendingDisconnect) {
+            return false;
+        }
+        // Increment received + Check PPS, counting expensive packets with their weight
+        return !packetLimiterEnabled || !packetTracker.trackReceived(packetWeight(packet));
     }
 
     @Override
@@ -313,34 +350,314 @@ public class UserConnectionImpl implements UserConnection {
         transform(buf, Direction.SERVERBOUND, cancelSupplier);
     }
 
+    @Override
+    public void transformClientbound(ByteBuf in, List<Object> out, Function<Throwable, Exception> cancelSupplier) throws Exception {
+        transform(in, out, Direction.CLIENTBOUND, cancelSupplier);
+    }
+
+    @Override
+    public void transformServerbound(ByteBuf in, List<Object> out, Function<Throwable, Exception> cancelSupplier) throws Exception {
+        transform(in, out, Direction.SERVERBOUND, cancelSupplier);
+    }
+
     private void transform(ByteBuf buf, Direction direction, Function<Throwable, Exception> cancelSupplier) throws Exception {
         if (!buf.isReadable()) return;
 
-        int id = Type.VAR_INT.readPrimitive(buf);
+        capture(buf, direction);
+        final int startIndex = buf.readerIndex();
+        final int id = Type.VAR_INT.readPrimitive(buf);
         if (id == PacketWrapper.PASSTHROUGH_ID) {
-            if (!passthroughTokens.remove(Type.UUID.read(buf))) {
-                throw new IllegalArgumentException("Invalid token");
-            }
+            checkPassthroughToken(buf);
             return;
         }
 
-        PacketWrapper wrapper = new PacketWrapperImpl(id, buf, this);
-        State state = protocolInfo.getState(direction);
-        try {
-            protocolInfo.getPipeline().transform(direction, state, wrapper);
-        } catch (CancelException ex) {
-            throw cancelSupplier.apply(ex);
+        final State state = protocolInfo.getState(direction);
+
+        final int mappedId = remappedPacketId(direction, state, id);
+        if (mappedId != -1 && rewritePacketId(buf, startIndex, mappedId)) {
+            recordBytes(direction, buf.readableBytes(), buf.readableBytes());
+            return;
         }
 
-        ByteBuf transformed = buf.alloc().buffer();
+        final ByteBuf transformed;
+        if (mappedId != -1) {
+            final int length = buf.writerIndex() - startIndex;
+            transformed = withPacketId(buf, mappedId);
+            recordBytes(direction, length, transformed.readableBytes());
+        } else {
+            transformed = transform(buf, id, direction, state, cancelSupplier);
+        }
         try {
-            wrapper.writeToBuffer(transformed);
             buf.clear().writeBytes(transformed);
         } finally {
             transformed.release();
         }
     }
 
+    /**
+     * Transforms a clientbound packet previously queued for conversion.
+     *
+     * @param in             packet buffer
+     * @param out            list to add the transformed packet buffers to
+     * @param cancelSupplier function called with original CancelException for generating the Exception when the packet is cancelled
+     */
+    void transformQueued(ByteBuf in, List<Object> out, Function<Throwable, Exception> cancelSupplier) throws Exception {
+        transform(in, out, Direction.CLIENTBOUND, cancelSupplier);
+    }
+
+    @Override
+    public boolean queueClientbound(ByteBuf packet, ChannelPromise promise) {
+        if (clientSide || channel == null || !packet.isReadable()) {
+            return false;
+        }
+        if (conversionQueue == null) {
+            if (!ChunkConversionQueue.enabled()) {
+                return false;
+            }
+            conversionQueue = new ChunkConversionQueue(this, channel);
+        }
+
+        final int readerIndex = packet.readerIndex();
+        final int id = Type.VAR_INT.readPrimitive(packet);
+        packet.readerIndex(readerIndex);
+        final State state = protocolInfo.getState(Direction.CLIENTBOUND);
+        if (!conversionQueue.shouldQueue(state, id)) {
+            return false;
+        }
+
+        // Skips the encoder, so count it here
+        checkClientboundPacket();
+        conversionQueue.add(packet, promise, state, id);
+        return true;
+    }
+
+    private void transform(ByteBuf in, List<Object> out, Direction direction, Function<Throwable, Exception> cancelSupplier) throws Exception {
+        if (!in.isReadable()) {
+            out.add(in.retain());
+            return;
+        }
+
+        capture(in, direction);
+        final int startIndex = in.readerIndex();
+        final int id = Type.VAR_INT.readPrimitive(in);
+        if (id == PacketWrapper.PASSTHROUGH_ID) {
+            checkPassthroughToken(in);
+            // Hand over the rest of the input without copying
+            out.add(in.readSlice(in.readableBytes()).retain());
+            return;
+        }
+
+        final State state = protocolInfo.getState(direction);
+
+        final int mappedId = remappedPacketId(direction, state, id);
+        if (mappedId == -1) {
+            out.add(transform(in, id, direction, state, cancelSupplier));
+            return;
+        }
+
+        // The input may still be referenced elsewhere, so the new id always goes into a new buffer
+        final int length = in.writerIndex() - startIndex;
+        final ByteBuf transformed = in.readableBytes() >= MIN_SLICED_BODY_LENGTH ? withPacketIdSlice(in, mappedId) : withPacketId(in, mappedId);
+        recordBytes(direction, length, transformed.readableBytes());
+        out.add(transformed);
+    }
+
+    /**
+     * Transforms the packet contained in the given buffer and writes the result into a single newly allocated buffer.
+     *
+     * @param buf            buffer with the packet contents after the packet id, only read from
+     * @param id             unmapped packet id
+     * @param direction      packet direction
+     * @param state          protocol state
+     * @param cancelSupplier function called with original CancelException for generating the Exception when the packet is cancelled
+     * @return buffer containing the transformed packet
+     */
+    private ByteBuf transform(ByteBuf buf, int id, Direction direction, State state, Function<Throwable, Exception> cancelSupplier) throws Exception {
+        final int length = buf.readableBytes() + VarIntType.varIntLength(id);
+        // The wrapper does not outlive this method unless scheduled, so it is reused for the next packet on this thread
+        PacketWrapperImpl wrapper = PacketWrapperImpl.recycled(id, buf, this);
+        try {
+            try {
+                protocolInfo.getPipeline().transform(direction, state, wrapper);
+            } catch (CancelException ex) {
+                recordBytes(direction, length, 0);
+                throw cancelSupplier.apply(ex);
+            }
+
+            // Most packets roughly keep their size, so start off with the input length to avoid resizing
+            ByteBuf transformed = buf.alloc().buffer(length);
+            try {
+                wrapper.writeToBuffer(transformed);
+                recordBytes(direction, length, transformed.readableBytes());
+                return transformed.retain();
+            } finally {
+                transformed.release();
+            }
+        } finally {
+            wrapper.recycle();
+        }
+    }
+
+    /**
+     * Returns the packet limiter weight of the given serverbound packet.
+     * Weights are applied to every client once it is playing, whether or not its packets are transformed.
+     *
+     * @param packet serverbound packet, its reader index is left unchanged
+     * @return weight of the packet, at least 1
+     */
+    private int packetWeight(ByteBuf packet) {
+        if (clientSide || !packet.isReadable()) {
+            return 1;
+        }
+
+        // Inactive connections are no longer tracked after logging in, their packets are play (or configuration) packets
+        final State state = active ? protocolInfo.getClientState() : protocolInfo.getUuid() != null ? State.PLAY : null;
+        if (state != State.PLAY) {
+            return 1;
+        }
+
+        final PacketLimiterConfig config = Via.getConfig().getPacketLimiterConfig();
+        if (config.packetWeights().isEmpty()) {
+            return 1;
+        }
+
+        if (packetWeightsConfig != config) {
+            packetWeights = packetWeights(config);
+            packetWeightsConfig = config;
+        }
+        final int id = peekPacketId(packet);
+        return id >= 0 && id < packetWeights.length ? Math.max(1, packetWeights[id]) : 1;
+    }
+
+    private static int peekPacketId(ByteBuf packet) {
+        final int readerIndex = packet.readerIndex();
+        try {
+            return Type.VAR_INT.readPrimitive(packet);
+        } catch (RuntimeException e) {
+            return -1; // Left to the decoder to fail on
+        } finally {
+            packet.readerIndex(readerIndex);
+        }
+    }
+
+    private int[] packetWeights(PacketLimiterConfig config) {
+        // Serverbound ids are those of the client version, as known by any protocol taking packets from it.
+        // These are looked up regardless of the pipeline, so clients on the server's version are weighted the same way
+        final ProtocolManager protocolManager = Via.getManager().getProtocolManager();
+        final int clientVersion = protocolInfo.getProtocolVersion();
+        for (final ProtocolVersion version : ProtocolVersion.getProtocols()) {
+            // Either a protocol from the client version, or one to it for the newest versions
+            PacketTypeMap<? extends PacketType> packetTypes = null;
+            Protocol protocol = protocolManager.getProtocol(clientVersion, version.getVersion());
+            if (protocol != null) {
+                final PacketTypesProvider<?, ?, ?, ?> provider = protocol.getPacketTypesProvider();
+                packetTypes = provider.unmappedServerboundPacketTypes().get(State.PLAY);
+            } else if ((protocol = protocolManager.getProtocol(version.getVersion(), clientVersion)) != null) {
+                final PacketTypesProvider<?, ?, ?, ?> provider = protocol.getPacketTypesProvider();
+                packetTypes = provider.mappedServerboundPacketTypes().get(State.PLAY);
+            }
+            if (packetTypes == null) {
+                continue;
+            }
+
+            int[] weights = new int[0];
+            for (final Map.Entry<String, Integer> entry : config.packetWeights().entrySet()) {
+                final PacketType packetType = packetTypes.typeByName(entry.getKey());
+                if (packetType == null) {
+                    continue;
+                }
+
+                if (packetType.getId() >= weights.length) {
+                    final int length = weights.length;
+                    weights = Arrays.copyOf(weights, packetType.getId() + 1);
+                    Arrays.fill(weights, length, weights.length, 1);
+                }
+                weights[packetType.getId()] = entry.getValue();
+            }
+            return weights;
+        }
+        return new int[0];
+    }
+
+    private void recordBytes(Direction direction, int bytesIn, int bytesOut) {
+        final MetricsHandler metrics = Via.getManager().metricsHandler();
+        if (metrics.enabled()) {
+            metrics.recordBytes(direction, bytesIn, bytesOut);
+        }
+    }
+
+    private void checkPassthroughToken(ByteBuf buf) {
+        if (!passthroughTokens.remove(Type.UUID.read(buf))) {
+            throw new IllegalArgumentException("Invalid token");
+        }
+    }
+
+    private int remappedPacketId(Direction direction, State state, int id) {
+        if (Via.getManager().debugHandler().enabled()) {
+            // Packets have to be read to be logged
+            return -1;
+        }
+        return protocolInfo.getPipeline().remappedPacketId(this, direction, state, id);
+    }
+
+    private void capture(ByteBuf buf, Direction direction) {
+        final PacketCapture capture = packetCapture;
+        if (capture != null) {
+            capture.capture(direction, protocolInfo.getState(direction), buf);
+        }
+    }
+
+    /**
+     * Overwrites the packet id in place if the mapped id has the same length, without touching the rest of the packet.
+     * Only used for buffers transformed in place, which are overwritten with the transformed packet either way.
+     *
+     * @param buf        buffer with its reader index after the packet id
+     * @param startIndex index of the packet id
+     * @param mappedId   mapped packet id
+     * @return whether the id could be rewritten, in which case the reader index is reset to the start of the packet
+     */
+    private boolean rewritePacketId(ByteBuf buf, int startIndex, int mappedId) {
+        if (VarIntType.varIntLength(mappedId) != buf.readerIndex() - startIndex) {
+            return false;
+        }
+
+        final int writerIndex = buf.writerIndex();
+        buf.readerIndex(startIndex).writerIndex(startIndex);
+        Type.VAR_INT.writePrimitive(buf, mappedId);
+        buf.writerIndex(writerIndex);
+        return true;
+    }
+
+    /**
+     * Returns a newly allocated buffer with the given packet id followed by the rest of the packet.
+     *
+     * @param buf      buffer with its reader index after the packet id
+     * @param mappedId mapped packet id
+     * @return buffer containing the packet with its new id
+     */
+    private ByteBuf withPacketId(ByteBuf buf, int mappedId) {
+        final ByteBuf output = buf.alloc().buffer(VarIntType.varIntLength(mappedId) + buf.readableBytes());
+        Type.VAR_INT.writePrimitive(output, mappedId);
+        output.writeBytes(buf);
+        return output;
+    }
+
+    /**
+     * Returns a buffer composed of a new header with the given packet id and a retained slice of the rest of the packet,
+     * leaving the given buffer untouched.
+     *
+     * @param buf      buffer with its reader index after the packet id
+     * @param mappedId mapped packet id
+     * @return buffer containing the packet with its new id
+     */
+    private ByteBuf withPacketIdSlice(ByteBuf buf, int mappedId) {
+        final ByteBuf header = buf.alloc().buffer(VarIntType.varIntLength(mappedId));
+        Type.VAR_INT.writePrimitive(header, mappedId);
+        final ByteBuf body = buf.readSlice(buf.readableBytes()).retain();
+        // Releasing the composite releases both components
+        return Unpooled.wrappedBuffer(header, body);
+    }
+
     @Override
     public long getId() {
         return id;
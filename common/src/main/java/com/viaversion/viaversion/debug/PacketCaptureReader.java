@@ -0,0 +1,170 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.debug;
+
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Reads capture files written by {@link PacketCaptureWriter}.
+ */
+public final class PacketCaptureReader implements Closeable {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final State[] STATES = State.values();
+    private final DataInputStream in;
+    private final int clientProtocol;
+    private final int serverProtocol;
+    private final long startTime;
+    private long time;
+
+    public PacketCaptureReader(final Path path) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024));
+        try {
+            if (in.readInt() != PacketCaptureWriter.MAGIC) {
+                throw new IOException("Not a packet capture file: " + path);
+            }
+
+            final int formatVersion = in.readUnsignedByte();
+            if (formatVersion != PacketCaptureWriter.FORMAT_VERSION) {
+                throw new IOException("Unsupported packet capture format version " + formatVersion);
+            }
+
+            clientProtocol = (int) readVarLong();
+            serverProtocol = (int) readVarLong();
+            startTime = in.readLong();
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next packet of the capture.
+     *
+     * @return next packet, or null if the end of the capture has been reached
+     * @throws IOException if the capture could not be read or is truncated
+     */
+    public @Nullable CapturedPacket next() throws IOException {
+        final int header = in.read();
+        if (header == -1) {
+            return null;
+        }
+
+        final Direction direction = DIRECTIONS[header & 1];
+        final int stateOrdinal = header >>> 1;
+        if (stateOrdinal >= STATES.length) {
+            throw new IOException("Invalid packet state " + stateOrdinal);
+        }
+
+        time += readVarLong();
+        final byte[] data = new byte[(int) readVarLong()];
+        in.readFully(data);
+        return new CapturedPacket(direction, STATES[stateOrdinal], time, data);
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift >= 64) {
+                throw new IOException("VarLong too big");
+            }
+
+            b = in.read();
+            if (b == -1) {
+                throw new EOFException();
+            }
+
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    public int clientProtocol() {
+        return clientProtocol;
+    }
+
+    public int serverProtocol() {
+        return serverProtocol;
+    }
+
+    /**
+     * Returns the time the capture was started at.
+     *
+     * @return start time in epoch millis
+     */
+    public long startTime() {
+        return startTime;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    public static final class CapturedPacket {
+        private final Direction direction;
+        private final State state;
+        private final long time;
+        private final byte[] data;
+
+        public CapturedPacket(final Direction direction, final State state, final long time, final byte[] data) {
+            this.direction = direction;
+            this.state = state;
+            this.time = time;
+            this.data = data;
+        }
+
+        public Direction direction() {
+            return direction;
+        }
+
+        public State state() {
+            return state;
+        }
+
+        /**
+         * Returns the time the packet was captured at.
+         *
+         * @return nanos elapsed since the capture was started
+         */
+        public long time() {
+            return time;
+        }
+
+        /**
+         * Returns the packet id and data, as received before transformation.
+         *
+         * @return packet id and data
+         */
+        public byte[] data() {
+            return data;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.debug;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.PacketCapture;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.netty.buffer.ByteBuf;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Writes the raw packets of a connection to a capture file, to be read back with {@link PacketCaptureReader}.
+ * <p>
+ * The file starts with the {@link #MAGIC} int, a format version byte, the client and server protocol versions as
+ * var ints and the start time in epoch millis. Each record consists of a byte holding the direction ordinal in the
+ * lowest bit and the state ordinal in the upper bits, the nanos elapsed since the previous record as a var long,
+ * and the packet length as a var int followed by the packet id and data.
+ * <p>
+ * Packets are copied on the calling thread and written to the file by a background thread owned by the writer,
+ * so capturing never blocks on file IO.
+ */
+public final class PacketCaptureWriter implements PacketCapture {
+
+    public static final int MAGIC = 0x56494143; // VIAC
+    public static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+    private final ExecutorService writer;
+    private final DataOutputStream out;
+    private final Path path;
+    private final long maxBytes;
+    private final Consumer<PacketCaptureWriter> closeCallback;
+    private long lastTime;
+    private long writtenBytes;
+    private boolean closed;
+    private boolean failed; // Only accessed by the writer thread
+
+    /**
+     * Creates a new capture file, replacing any existing file at the given path.
+     *
+     * @param path           file to write to
+     * @param clientProtocol protocol version of the client
+     * @param serverProtocol protocol version of the server
+     * @param maxBytes       maximum size of the file after which capturing stops
+     * @throws IOException if the file could not be created
+     */
+    public PacketCaptureWriter(final Path path, final int clientProtocol, final int serverProtocol, final long maxBytes) throws IOException {
+        this(path, clientProtocol, serverProtocol, maxBytes, null);
+    }
+
+    /**
+     * Creates a new capture file, replacing any existing file at the given path.
+     *
+     * @param path           file to write to
+     * @param clientProtocol protocol version of the client
+     * @param serverProtocol protocol version of the server
+     * @param maxBytes       maximum size of the file after which capturing stops
+     * @param closeCallback  called once the capture is closed, including when it stops on its own
+     * @throws IOException if the file could not be created
+     */
+    public PacketCaptureWriter(final Path path, final int clientProtocol, final int serverProtocol, final long maxBytes,
+                               @Nullable final Consumer<PacketCaptureWriter> closeCallback) throws IOException {
+        this.path = path;
+        this.maxBytes = maxBytes;
+        this.closeCallback = closeCallback;
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        writeVarLong(clientProtocol);
+        writeVarLong(serverProtocol);
+        out.writeLong(System.currentTimeMillis());
+        writtenBytes = out.size();
+        lastTime = System.nanoTime();
+        this.writer = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("Via Packet Capture %d").setDaemon(true).build());
+    }
+
+    @Override
+    public synchronized void capture(final Direction direction, final State state, final ByteBuf packet) {
+        if (closed) {
+            return;
+        }
+
+        final int length = packet.readableBytes();
+        final long time = System.nanoTime();
+        final long delta = time - lastTime;
+        final long recordLength = 1 + varLongLength(delta) + varLongLength(length) + length;
+        if (writtenBytes + recordLength > maxBytes) {
+            Via.getPlatform().getLogger().info("Packet capture " + path.getFileName() + " reached its size limit");
+            closeAsync();
+            return;
+        }
+
+        final byte[] data = new byte[length];
+        packet.getBytes(packet.readerIndex(), data);
+        final int header = direction.ordinal() | state.ordinal() << 1;
+        writer.execute(() -> writeRecord(header, delta, data));
+
+        lastTime = time;
+        writtenBytes += recordLength;
+    }
+
+    private void writeRecord(final int header, final long delta, final byte[] data) {
+        if (failed) {
+            return;
+        }
+
+        try {
+            out.writeByte(header);
+            writeVarLong(delta);
+            writeVarLong(data.length);
+            out.write(data);
+        } catch (IOException e) {
+            Via.getPlatform().getLogger().log(Level.WARNING, "Failed to write packet capture " + path.getFileName(), e);
+            failed = true;
+            closeAsync();
+        }
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int varLongLength(final long value) {
+        return (63 - Long.numberOfLeadingZeros(value | 1)) / 7 + 1;
+    }
+
+    /**
+     * Stops capturing and closes the file once all pending packets are written, without waiting for it.
+     */
+    private synchronized void closeAsync() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        writer.execute(this::closeFile);
+        writer.shutdown();
+        if (closeCallback != null) {
+            closeCallback.accept(this);
+        }
+    }
+
+    private void closeFile() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            Via.getPlatform().getLogger().log(Level.WARNING, "Failed to close packet capture " + path.getFileName(), e);
+        }
+    }
+
+    /**
+     * Stops capturing and waits for all pending packets to be written and the file to be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        closeAsync();
+        try {
+            if (!writer.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new IOException("Timed out writing packet capture " + path.getFileName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing packet capture " + path.getFileName(), e);
+        }
+    }
+
+    public Path path() {
+        return path;
+    }
+}
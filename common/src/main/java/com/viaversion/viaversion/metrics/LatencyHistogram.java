@@ -0,0 +1,90 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear histogram of nanosecond latencies in the style of HdrHistogram.
+ * <p>
+ * Values below 16 are counted exactly, larger values are split into 8 buckets per power of two,
+ * keeping the relative error of reported values below 1/8th. Values beyond ~18 minutes are clamped.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int EXACT_VALUES = SUB_BUCKETS * 2;
+    private static final int MAX_BIT = 39;
+    private static final long MAX_VALUE = (1L << (MAX_BIT + 1)) - 1;
+    private static final int BUCKETS = EXACT_VALUES + (MAX_BIT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    void record(final long nanos) {
+        buckets.incrementAndGet(bucket(Math.max(0, Math.min(nanos, MAX_VALUE))));
+    }
+
+    /**
+     * Returns the highest value of the bucket the given share of recorded values falls into.
+     *
+     * @param percentile percentile between 0 and 1
+     * @return value at the percentile, or 0 if nothing has been recorded
+     */
+    long percentile(final double percentile) {
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(BUCKETS - 1);
+    }
+
+    static int bucket(final long value) {
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+
+        final int bit = 63 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (bit - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return EXACT_VALUES + (bit - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValue(final int bucket) {
+        if (bucket < EXACT_VALUES) {
+            return bucket;
+        }
+
+        final int bit = (bucket - EXACT_VALUES) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+        final long subBucket = (bucket - EXACT_VALUES) % SUB_BUCKETS;
+        final long lowestValue = (1L << bit) | subBucket << (bit - SUB_BUCKET_BITS);
+        return lowestValue + (1L << (bit - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.metrics;
+
+import com.viaversion.viaversion.api.connection.ProtocolInfo;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.metrics.MetricsHandler;
+import com.viaversion.viaversion.api.metrics.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.AbstractProtocol;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypeMap;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypesProvider;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public final class MetricsHandlerImpl implements MetricsHandler {
+
+    private final Map<Key, TransformMetricsImpl> metrics = new ConcurrentHashMap<>();
+    private final LongAdder[] bytesIn = {new LongAdder(), new LongAdder()};
+    private final LongAdder[] bytesOut = {new LongAdder(), new LongAdder()};
+    private final LongAdder compactedPalettes = new LongAdder();
+    private final LongAdder paletteBytesSaved = new LongAdder();
+    private final LongAdder cachedLightChunks = new LongAdder();
+    private final LongAdder cachedLightBytes = new LongAdder();
+    private final PrometheusExporter exporter = new PrometheusExporter(this);
+    private volatile boolean enabled;
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void recordTransform(final Protocol protocol, final Direction direction, final State state, final int packetId, final long nanos, final boolean cancelled) {
+        final Key key = new Key(protocol.getClass(), direction, state, packetId, -1);
+        TransformMetricsImpl metric = metrics.get(key);
+        if (metric == null) {
+            metric = metrics.computeIfAbsent(key, k -> new TransformMetricsImpl(k.protocolClass, direction, state, packetId, -1,
+                    packetName(Collections.singletonList(protocol), direction, state, packetId)));
+        }
+        metric.record(nanos, cancelled);
+    }
+
+    @Override
+    public void recordPipelineTransform(final UserConnection connection, final Direction direction, final State state, final int packetId, final long nanos, final boolean cancelled) {
+        // Unmapped ids are those of the server version for clientbound packets, and of the client version for serverbound ones
+        final ProtocolInfo info = connection.getProtocolInfo();
+        final int version = direction == Direction.CLIENTBOUND ? info.getServerProtocolVersion() : info.getProtocolVersion();
+        final Key key = new Key(null, direction, state, packetId, version);
+        TransformMetricsImpl metric = metrics.get(key);
+        if (metric == null) {
+            final List<Protocol> protocols = direction == Direction.CLIENTBOUND ? info.getPipeline().reversedPipes() : info.getPipeline().pipes();
+            metric = metrics.computeIfAbsent(key, k -> new TransformMetricsImpl(null, direction, state, packetId, version,
+                    packetName(protocols, direction, state, packetId)));
+        }
+        metric.record(nanos, cancelled);
+    }
+
+    private static String packetName(final List<Protocol> protocols, final Direction direction, final State state, final int packetId) {
+        for (final Protocol protocol : protocols) {
+            final PacketTypesProvider<?, ?, ?, ?> provider = protocol.getPacketTypesProvider();
+            final Map<State, ? extends PacketTypeMap<? extends PacketType>> packetTypes = direction == Direction.CLIENTBOUND
+                    ? provider.unmappedClientboundPacketTypes() : provider.unmappedServerboundPacketTypes();
+            final PacketTypeMap<? extends PacketType> stateTypes = packetTypes.get(state);
+            final PacketType packetType = stateTypes != null ? stateTypes.typeById(packetId) : null;
+            if (packetType != null) {
+                return packetType.getName();
+            }
+        }
+        return AbstractProtocol.toNiceHex(packetId);
+    }
+
+    @Override
+    public void recordBytes(final Direction direction, final int bytesIn, final int bytesOut) {
+        this.bytesIn[direction.ordinal()].add(bytesIn);
+        this.bytesOut[direction.ordinal()].add(bytesOut);
+    }
+
+    @Override
+    public void recordPaletteCompaction(final int bytesSaved) {
+        compactedPalettes.increment();
+        paletteBytesSaved.add(bytesSaved);
+    }
+
+    @Override
+    public void recordCachedLight(final int chunks, final long bytes) {
+        cachedLightChunks.add(chunks);
+        cachedLightBytes.add(bytes);
+    }
+
+    @Override
+    public Collection<TransformMetrics> transformMetrics() {
+        return Collections.unmodifiableCollection(metrics.values());
+    }
+
+    @Override
+    public long bytesIn(final Direction direction) {
+        return bytesIn[direction.ordinal()].sum();
+    }
+
+    @Override
+    public long bytesOut(final Direction direction) {
+        return bytesOut[direction.ordinal()].sum();
+    }
+
+    @Override
+    public long compactedPalettes() {
+        return compactedPalettes.sum();
+    }
+
+    @Override
+    public long paletteBytesSaved() {
+        return paletteBytesSaved.sum();
+    }
+
+    @Override
+    public long cachedLightChunks() {
+        return cachedLightChunks.sum();
+    }
+
+    @Override
+    public long cachedLightBytes() {
+        return cachedLightBytes.sum();
+    }
+
+    @Override
+    public void reset() {
+        metrics.clear();
+        compactedPalettes.reset();
+        paletteBytesSaved.reset();
+        for (int i = 0; i < bytesIn.length; i++) {
+            bytesIn[i].reset();
+            bytesOut[i].reset();
+        }
+    }
+
+    public PrometheusExporter exporter() {
+        return exporter;
+    }
+
+    private static final class Key {
+        private final Class<? extends Protocol> protocolClass;
+        private final Direction direction;
+        private final State state;
+        private final int packetId;
+        private final int version;
+
+        private Key(@Nullable Class<? extends Protocol> protocolClass, Direction direction, State state, int packetId, int version) {
+            this.protocolClass = protocolClass;
+            this.direction = direction;
+            this.state = state;
+            this.packetId = packetId;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Key key = (Key) o;
+            return packetId == key.packetId && version == key.version && protocolClass == key.protocolClass
+                    && direction == key.direction && state == key.state;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Objects.hashCode(protocolClass);
+            result = 31 * result + direction.hashCode();
+            result = 31 * result + state.hashCode();
+            result = 31 * result + packetId;
+            result = 31 * result + version;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import com.viaversion.viaversion.api.metrics.MetricsHandler;
+import com.viaversion.viaversion.api.metrics.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Exports metrics in the Prometheus text format, either to a file or through an http endpoint on the loopback address.
+ */
+public final class PrometheusExporter {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private final MetricsHandler metrics;
+    private HttpServer server;
+
+    public PrometheusExporter(final MetricsHandler metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Writes the current metrics to the given file, replacing it if present.
+     *
+     * @param path file to write to
+     * @throws IOException if the file could not be written
+     */
+    public void writeTo(final Path path) throws IOException {
+        Files.write(path, export().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Starts serving the metrics on {@code http://127.0.0.1:<port>/metrics}, stopping the previously started server.
+     *
+     * @param port port to bind to
+     * @throws IOException if the server could not be started
+     */
+    public synchronized void startServer(final int port) throws IOException {
+        stopServer();
+        final HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> {
+            final byte[] response = export().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, response.length);
+            try (final OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+        this.server = server;
+    }
+
+    /**
+     * Stops the http server if running.
+     *
+     * @return whether a server was running
+     */
+    public synchronized boolean stopServer() {
+        if (server == null) {
+            return false;
+        }
+
+        server.stop(0);
+        server = null;
+        return true;
+    }
+
+    public synchronized @Nullable InetSocketAddress serverAddress() {
+        return server != null ? server.getAddress() : null;
+    }
+
+    public String export() {
+        final StringWriter writer = new StringWriter();
+        try {
+            write(writer);
+        } catch (IOException e) {
+            throw new RuntimeException(e); // Can't happen with a StringWriter
+        }
+        return writer.toString();
+    }
+
+    public void write(final Writer writer) throws IOException {
+        final List<TransformMetrics> transformMetrics = new ArrayList<>(metrics.transformMetrics());
+        final List<String> labels = new ArrayList<>(transformMetrics.size());
+        for (final TransformMetrics metric : transformMetrics) {
+            labels.add(labels(metric));
+        }
+
+        header(writer, "viaversion_transform_seconds", "summary", "Time spent transforming packets, per protocol or through full pipelines");
+        for (int i = 0; i < transformMetrics.size(); i++) {
+            final TransformMetrics metric = transformMetrics.get(i);
+            for (final double quantile : QUANTILES) {
+                sample(writer, "viaversion_transform_seconds", labels.get(i) + ",quantile=\"" + quantile + "\"", seconds(metric.percentileNanos(quantile)));
+            }
+            sample(writer, "viaversion_transform_seconds_sum", labels.get(i), seconds(metric.totalNanos()));
+            sample(writer, "viaversion_transform_seconds_count", labels.get(i), Long.toString(metric.count()));
+        }
+
+        header(writer, "viaversion_transform_max_seconds", "gauge", "Longest time spent transforming a single packet");
+        for (int i = 0; i < transformMetrics.size(); i++) {
+            sample(writer, "viaversion_transform_max_seconds", labels.get(i), seconds(transformMetrics.get(i).maxNanos()));
+        }
+
+        header(writer, "viaversion_transform_cancelled_total", "counter", "Number of cancelled packets");
+        for (int i = 0; i < transformMetrics.size(); i++) {
+            sample(writer, "viaversion_transform_cancelled_total", labels.get(i), Long.toString(transformMetrics.get(i).cancelled()));
+        }
+
+        header(writer, "viaversion_transform_bytes_total", "counter", "Size of packets going into and coming out of the pipelines");
+        for (final Direction direction : Direction.values()) {
+            final String directionLabel = "direction=\"" + direction.name().toLowerCase(Locale.ROOT) + "\"";
+            sample(writer, "viaversion_transform_bytes_total", directionLabel + ",stage=\"in\"", Long.toString(metrics.bytesIn(direction)));
+            sample(writer, "viaversion_transform_bytes_total", directionLabel + ",stage=\"out\"", Long.toString(metrics.bytesOut(direction)));
+        }
+
+        header(writer, "viaversion_palette_compactions_total", "counter", "Number of chunk section palettes written with a local instead of the global palette");
+        sample(writer, "viaversion_palette_compactions_total", "", Long.toString(metrics.compactedPalettes()));
+        header(writer, "viaversion_palette_compaction_bytes_saved_total", "counter", "Bytes saved by writing local instead of global chunk section palettes");
+        sample(writer, "viaversion_palette_compaction_bytes_saved_total", "", Long.toString(metrics.paletteBytesSaved()));
+
+        header(writer, "viaversion_light_cache_chunks", "gauge", "Number of chunks light data is cached for to send it along with 1.18 chunks");
+        sample(writer, "viaversion_light_cache_chunks", "", Long.toString(metrics.cachedLightChunks()));
+        header(writer, "viaversion_light_cache_bytes", "gauge", "Approximate size of the cached light data");
+        sample(writer, "viaversion_light_cache_bytes", "", Long.toString(metrics.cachedLightBytes()));
+    }
+
+    private static String labels(final TransformMetrics metric) {
+        final String protocol = metric.protocolClass() != null ? metric.protocolClass().getSimpleName() : "pipeline";
+        final String version = metric.protocolVersion() != -1 ? ProtocolVersion.getProtocol(metric.protocolVersion()).getName() : "";
+        return "protocol=\"" + escape(protocol) + "\",version=\"" + escape(version)
+                + "\",direction=\"" + metric.direction().name().toLowerCase(Locale.ROOT)
+                + "\",state=\"" + metric.state().name().toLowerCase(Locale.ROOT)
+                + "\",packet=\"" + escape(metric.packetName()) + "\"";
+    }
+
+    private static void header(final Writer writer, final String name, final String type, final String help) throws IOException {
+        writer.write("# HELP " + name + " " + help + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void sample(final Writer writer, final String name, final String labels, final String value) throws IOException {
+        writer.write(name + "{" + labels + "} " + value + "\n");
+    }
+
+    private static String seconds(final long nanos) {
+        return Double.toString(nanos / 1_000_000_000D);
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
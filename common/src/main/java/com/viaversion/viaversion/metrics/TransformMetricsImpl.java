@@ -0,0 +1,114 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.metrics;
+
+import com.viaversion.viaversion.api.metrics.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+final class TransformMetricsImpl implements TransformMetrics {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final Class<? extends Protocol> protocolClass;
+    private final Direction direction;
+    private final State state;
+    private final int packetId;
+    private final int protocolVersion;
+    private final String packetName;
+
+    TransformMetricsImpl(@Nullable Class<? extends Protocol> protocolClass, Direction direction, State state, int packetId, int protocolVersion, String packetName) {
+        this.protocolClass = protocolClass;
+        this.direction = direction;
+        this.state = state;
+        this.packetId = packetId;
+        this.protocolVersion = protocolVersion;
+        this.packetName = packetName;
+    }
+
+    void record(long nanos, boolean cancelled) {
+        count.increment();
+        if (cancelled) {
+            this.cancelled.increment();
+        }
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram.record(nanos);
+    }
+
+    @Override
+    public @Nullable Class<? extends Protocol> protocolClass() {
+        return protocolClass;
+    }
+
+    @Override
+    public Direction direction() {
+        return direction;
+    }
+
+    @Override
+    public State state() {
+        return state;
+    }
+
+    @Override
+    public int packetId() {
+        return packetId;
+    }
+
+    @Override
+    public int protocolVersion() {
+        return protocolVersion;
+    }
+
+    @Override
+    public String packetName() {
+        return packetName;
+    }
+
+    @Override
+    public long count() {
+        return count.sum();
+    }
+
+    @Override
+    public long cancelled() {
+        return cancelled.sum();
+    }
+
+    @Override
+    public long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public long percentileNanos(double percentile) {
+        return Math.min(histogram.percentile(percentile), maxNanos());
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Mapping data loading tasks bound to protocols, each one only running after all of its dependencies have finished.
+ * <p>
+ * Tasks are executed on a pool sized to the available processors. Once all started tasks have completed after
+ * {@link #arm()} has been called, the pool is shut down and {@link #completion()} is completed. Tasks started
+ * after that are run on a late loading pool, whose threads stop when idle.
+ */
+final class MappingLoaderGraph {
+
+    private final Map<Class<? extends Protocol>, Node> nodes = new ConcurrentHashMap<>();
+    private final Map<String, Long> loadTimes = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private final Runnable finishHandler;
+    private final int parallelism;
+    private volatile ForkJoinPool pool;
+    private volatile ThreadPoolExecutor latePool;
+    private volatile boolean armed;
+
+    MappingLoaderGraph(final Runnable finishHandler) {
+        this.finishHandler = finishHandler;
+        this.parallelism = Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(parallelism, MappingLoaderGraph::newWorkerThread, null, false);
+    }
+
+    private static ForkJoinWorkerThread newWorkerThread(final ForkJoinPool pool) {
+        final ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {
+        };
+        thread.setName("Via-Mappingloader-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    /**
+     * Adds a loading task for the given protocol. If the protocol already has a task, the new one runs after it.
+     * The task is not started until {@link #start(Class)} is called for the protocol or one depending on it.
+     *
+     * @param protocolClass protocol class
+     * @param dependsOn     class of the protocol that the task depends on, or null
+     * @param runnable      loading task
+     * @return added node
+     * @throws IllegalArgumentException if no task has been added for the dependency
+     */
+    Node add(final Class<? extends Protocol> protocolClass, @Nullable final Class<? extends Protocol> dependsOn, final Runnable runnable) {
+        final List<Node> dependencies = new ArrayList<>(2);
+        final Node previous = nodes.get(protocolClass);
+        if (previous != null) {
+            dependencies.add(previous);
+        }
+        if (dependsOn != null) {
+            final Node dependency = nodes.get(dependsOn);
+            if (dependency == null) {
+                throw new IllegalArgumentException("No mapping loading task registered for " + dependsOn.getSimpleName()
+                        + ", which " + protocolClass.getSimpleName() + " depends on");
+            }
+            dependencies.add(dependency);
+        }
+
+        final Node node = new Node(protocolClass, dependencies, runnable);
+        nodes.put(protocolClass, node);
+        return node;
+    }
+
+    /**
+     * Starts the current task of the given protocol and all of its dependencies, if not already started.
+     *
+     * @param protocolClass protocol class
+     */
+    void start(final Class<? extends Protocol> protocolClass) {
+        final Node node = nodes.get(protocolClass);
+        if (node != null) {
+            start(node);
+        }
+    }
+
+    void start(final Node node) {
+        if (!node.started.compareAndSet(false, true)) {
+            return;
+        }
+
+        final CompletableFuture<?>[] dependencyFutures = new CompletableFuture[node.dependencies.size()];
+        for (int i = 0; i < dependencyFutures.length; i++) {
+            final Node dependency = node.dependencies.get(i);
+            start(dependency);
+            dependencyFutures[i] = dependency.future;
+        }
+
+        running.incrementAndGet();
+        CompletableFuture.allOf(dependencyFutures).whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                // Don't load on top of incomplete mapping data, fail along with the dependency
+                Via.getPlatform().getLogger().severe("Skipping mapping loading of " + node.protocolClass.getSimpleName() + " as a dependency failed to load");
+                complete(node, throwable);
+            } else {
+                execute(() -> run(node));
+            }
+        });
+    }
+
+    void startAll() {
+        for (final Node node : nodes.values()) {
+            start(node);
+        }
+    }
+
+    boolean isStarted(final Class<? extends Protocol> protocolClass) {
+        final Node node = nodes.get(protocolClass);
+        return node != null && node.started.get();
+    }
+
+    private void run(final Node node) {
+        final long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            node.runnable.run();
+        } catch (final Throwable throwable) {
+            Via.getPlatform().getLogger().severe("Error during mapping loading of " + node.protocolClass.getSimpleName());
+            throwable.printStackTrace();
+            failure = throwable;
+        }
+
+        loadTimes.merge(node.protocolClass.getSimpleName(), System.nanoTime() - start, Long::sum);
+        complete(node, failure);
+    }
+
+    private void complete(final Node node, @Nullable final Throwable failure) {
+        if (failure != null) {
+            node.future.completeExceptionally(failure);
+        } else {
+            node.future.complete(null);
+        }
+
+        if (running.decrementAndGet() == 0) {
+            tryFinish();
+        }
+    }
+
+    private void execute(final Runnable runnable) {
+        final ForkJoinPool pool = this.pool;
+        if (pool != null) {
+            try {
+                pool.execute(runnable);
+                return;
+            } catch (final RejectedExecutionException ignored) {
+                // Shut down in the meantime
+            }
+        }
+
+        // Late loading - keep it off the calling thread, which is likely a network thread
+        latePool().execute(runnable);
+    }
+
+    private ThreadPoolExecutor latePool() {
+        ThreadPoolExecutor latePool = this.latePool;
+        if (latePool != null) {
+            return latePool;
+        }
+
+        synchronized (this) {
+            if (this.latePool == null) {
+                final ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Via-Mappingloader-Late-%d").setDaemon(true).build();
+                latePool = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+                latePool.allowCoreThreadTimeOut(true);
+                this.latePool = latePool;
+            }
+            return this.latePool;
+        }
+    }
+
+    /**
+     * Allows the graph to finish once all started tasks have completed.
+     */
+    void arm() {
+        armed = true;
+        tryFinish();
+    }
+
+    /**
+     * Shuts down the pool and completes the completion future if all started tasks have completed.
+     *
+     * @return true if the graph has now been finished
+     */
+    synchronized boolean tryFinish() {
+        if (!armed || pool == null || running.get() != 0) {
+            return false;
+        }
+
+        pool.shutdown();
+        pool = null;
+        finishHandler.run();
+        completion.complete(null);
+        return true;
+    }
+
+    boolean isFinished() {
+        return completion.isDone();
+    }
+
+    CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    @Nullable CompletableFuture<Void> future(final Class<? extends Protocol> protocolClass) {
+        final Node node = nodes.get(protocolClass);
+        return node != null ? node.future : null;
+    }
+
+    int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the time spent in completed tasks by protocol name, in nanoseconds.
+     *
+     * @return load times of completed tasks by protocol name
+     */
+    Map<String, Long> loadTimes() {
+        return Collections.unmodifiableMap(loadTimes);
+    }
+
+    static final class Node {
+        private final Class<? extends Protocol> protocolClass;
+        private final List<Node> dependencies;
+        private final Runnable runnable;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        private Node(final Class<? extends Protocol> protocolClass, final List<Node> dependencies, final Runnable runnable) {
+            this.protocolClass = protocolClass;
+            this.dependencies = dependencies;
+            this.runnable = runnable;
+        }
+
+        CompletableFuture<Void> future() {
+            return future;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.AbstractProtocol;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.mapping.PacketMapping;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Flattened view of the protocols of a pipeline in one direction, holding the exact protocols acting on a packet per state and packet id.
+ * <p>
+ * Entries are compiled on first use by following the packet mappings of the protocols. Since handlers may still change the
+ * packet id or state beyond what their mappings say, the expected ids are checked while transforming, falling back to
+ * going through the remaining protocols one by one.
+ * <p>
+ * Only ViaVersion's own protocols and those opting in through {@link Protocol#supportsPacketIdRemapping()} are skipped for packets they have no mapping for,
+ * all others are called for every packet. Tables belong to a single pipeline and are replaced whenever its protocols change,
+ * but may be used by multiple threads, so entries are published through atomic arrays.
+ */
+final class PacketTransformTable {
+    private static final int MAX_CACHED_ID = 0xFF;
+    private final AtomicReferenceArray<AtomicReferenceArray<Entry>> entries = new AtomicReferenceArray<>(State.values().length);
+    private final Direction direction;
+    private final Protocol[] protocols;
+
+    /**
+     * Creates a table for the given protocols in the order they are applied in.
+     *
+     * @param direction packet direction
+     * @param protocols protocols in the order packets of the direction go through them
+     */
+    PacketTransformTable(final Direction direction, final List<Protocol> protocols) {
+        this.direction = direction;
+        this.protocols = protocols.toArray(new Protocol[0]);
+    }
+
+    /**
+     * Transforms the packet through all protocols of the table.
+     *
+     * @param state   protocol state
+     * @param wrapper packet wrapper
+     * @throws Exception if transforming the packet fails
+     */
+    void transform(final State state, final PacketWrapper wrapper) throws Exception {
+        final PacketType packetType = wrapper.getPacketType();
+        if (packetType != null && packetType.state() != state) {
+            transformFrom(0, state, wrapper);
+            return;
+        }
+
+        final Entry entry = entry(state, wrapper.getId());
+        final Protocol[] steps = entry.steps;
+        State updatedState = state; // The state might change while transforming, so we need to check for that
+        for (int i = 0; i <= steps.length; i++) {
+            if (wrapper.getId() != entry.packetIds[i] || updatedState != state) {
+                // A handler changed the packet beyond its mapping, go through the remaining protocols one by one
+                transformFrom(entry.protocolIndexes[i - 1] + 1, updatedState, wrapper);
+                return;
+            }
+            if (i == steps.length) {
+                break;
+            }
+
+            steps[i].transform(direction, updatedState, wrapper);
+            wrapper.resetReader();
+            if (wrapper.getPacketType() != null) {
+                updatedState = wrapper.getPacketType().state();
+            }
+        }
+    }
+
+    private void transformFrom(final int index, final State state, final PacketWrapper wrapper) throws Exception {
+        State updatedState = state;
+        for (int i = index; i < protocols.length; i++) {
+            protocols[i].transform(direction, updatedState, wrapper);
+            wrapper.resetReader();
+            if (wrapper.getPacketType() != null) {
+                updatedState = wrapper.getPacketType().state();
+            }
+        }
+    }
+
+    /**
+     * Returns the packet id the given packet is mapped to if none of the protocols need to read or change its contents.
+     *
+     * @param connection       user connection
+     * @param state            protocol state
+     * @param unmappedPacketId unmapped packet id
+     * @return mapped packet id, or -1 if the packet has to be fully transformed
+     * @see Protocol#remappedPacketId(UserConnection, Direction, State, int)
+     */
+    int remappedPacketId(final UserConnection connection, final State state, final int unmappedPacketId) {
+        final Entry entry = entry(state, unmappedPacketId);
+        if (!entry.idOnly) {
+            return -1;
+        }
+
+        // Protocols with their own transform logic may decide based on user data
+        for (int i = 0; i < entry.steps.length; i++) {
+            if (entry.custom[i] && entry.steps[i].remappedPacketId(connection, direction, state, entry.packetIds[i]) != entry.packetIds[i + 1]) {
+                return -1;
+            }
+        }
+        return entry.packetIds[entry.steps.length];
+    }
+
+    private Entry entry(final State state, final int unmappedPacketId) {
+        if (unmappedPacketId < 0 || unmappedPacketId > MAX_CACHED_ID) {
+            return compile(state, unmappedPacketId);
+        }
+
+        AtomicReferenceArray<Entry> stateEntries = entries.get(state.ordinal());
+        if (stateEntries == null) {
+            stateEntries = new AtomicReferenceArray<>(MAX_CACHED_ID + 1);
+            if (!entries.compareAndSet(state.ordinal(), null, stateEntries)) {
+                stateEntries = entries.get(state.ordinal());
+            }
+        }
+
+        Entry entry = stateEntries.get(unmappedPacketId);
+        if (entry == null) {
+            // Compiling is deterministic, so concurrent compilations of the same entry are harmless
+            entry = compile(state, unmappedPacketId);
+            stateEntries.set(unmappedPacketId, entry);
+        }
+        return entry;
+    }
+
+    private Entry compile(final State state, final int unmappedPacketId) {
+        final Protocol[] steps = new Protocol[protocols.length];
+        final int[] protocolIndexes = new int[protocols.length];
+        final int[] packetIds = new int[protocols.length + 1];
+        final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+        final boolean[] custom = new boolean[protocols.length];
+        boolean idOnly = true;
+        int packetId = unmappedPacketId;
+        int size = 0;
+        for (int i = 0; i < protocols.length; i++) {
+            final Protocol protocol = protocols[i];
+            final boolean optedIn = protocolManager.supportsPacketIdRemapping(protocol);
+            final PacketMapping mapping = protocol instanceof AbstractProtocol
+                    ? ((AbstractProtocol<?, ?, ?, ?>) protocol).packetMapping(direction, state, packetId) : null;
+            final boolean customTransform = !optedIn || !(protocol instanceof AbstractProtocol) || protocol.transformsUnmappedPackets();
+            if (mapping == null && !customTransform) {
+                // Not touched by this protocol
+                continue;
+            }
+
+            if (!optedIn) {
+                idOnly = false;
+            } else if (!customTransform) {
+                idOnly &= mapping.handler() == null;
+            }
+
+            steps[size] = protocol;
+            protocolIndexes[size] = i;
+            packetIds[size] = packetId;
+            custom[size] = customTransform;
+            if (mapping != null) {
+                packetId = mapping.mappedPacketId(packetId);
+                if (packetId == -1) {
+                    // Unknown until the mapping is applied, check the rest as the packet goes through them
+                    idOnly = false;
+                    size++;
+                    break;
+                }
+            }
+            size++;
+        }
+
+        packetIds[size] = packetId;
+        return new Entry(Arrays.copyOf(steps, size), Arrays.copyOf(protocolIndexes, size), Arrays.copyOf(packetIds, size + 1), Arrays.copyOf(custom, size), idOnly);
+    }
+
+    private static final class Entry {
+        private final Protocol[] steps;
+        private final int[] protocolIndexes;
+        private final int[] packetIds;
+        private final boolean[] custom;
+        private final boolean idOnly;
+
+        private Entry(final Protocol[] steps, final int[] protocolIndexes, final int[] packetIds, final boolean[] custom, final boolean idOnly) {
+            this.steps = steps;
+            this.protocolIndexes = protocolIndexes;
+            this.packetIds = packetIds;
+            this.custom = custom;
+            this.idOnly = idOnly;
+        }
+    }
+}
@@ -18,12 +18,16 @@
 package com.viaversion.viaversion.protocol;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.data.IntArrayMappings;
+import com.viaversion.viaversion.api.data.MappingData;
 import com.viaversion.viaversion.api.data.MappingDataLoader;
+import com.viaversion.viaversion.api.data.MappingType;
+import com.viaversion.viaversion.api.data.Mappings;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.ProtocolManager;
 import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
@@ -97,13 +101,7 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.SynchronousQueue;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.function.Function;
 
 public class ProtocolManagerImpl implements ProtocolManager {
     private static final Protocol BASE_PROTOCOL = new BaseProtocol();
@@ -112,24 +110,20 @@ public class ProtocolManagerImpl implements ProtocolManager {
     private final Int2ObjectMap<Int2ObjectMap<Protocol>> registryMap = new Int2ObjectOpenHashMap<>(32);
     private final Map<Class<? extends Protocol>, Protocol<?, ?, ?, ?>> protocols = new HashMap<>(64);
     private final Map<ProtocolPathKey, List<ProtocolPathEntry>> pathCache = new ConcurrentHashMap<>();
+    private final Map<ProtocolPathKey, Mappings[]> composedMappingsCache = new ConcurrentHashMap<>();
     private final Set<Integer> supportedVersions = new HashSet<>();
     private final List<Pair<Range<Integer>, Protocol>> baseProtocols = Lists.newCopyOnWriteArrayList();
+    // Protocols of ViaVersion itself, written to meet the requirements of the optional protocol capabilities
+    private Set<Class<? extends Protocol>> internalProtocols = Collections.emptySet();
 
-    private final ReadWriteLock mappingLoaderLock = new ReentrantReadWriteLock();
-    private Map<Class<? extends Protocol>, CompletableFuture<Void>> mappingLoaderFutures = new HashMap<>();
-    private ThreadPoolExecutor mappingLoaderExecutor;
-    private boolean mappingsLoaded;
+    private final MappingLoaderGraph mappingLoaderGraph = new MappingLoaderGraph(this::finishMappingLoading);
+    private final long mappingLoadingStart = System.nanoTime();
+    private volatile boolean mappingsLoaded;
 
     private ServerProtocolVersion serverProtocolVersion = new ServerProtocolVersionSingleton(-1);
     private int maxPathDeltaIncrease; // Only allow lowering path entries by default
     private int maxProtocolPathSize = 50;
 
-    public ProtocolManagerImpl() {
-        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("Via-Mappingloader-%d").build();
-        mappingLoaderExecutor = new ThreadPoolExecutor(12, Integer.MAX_VALUE, 30L, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
-        mappingLoaderExecutor.allowCoreThreadTimeOut(true);
-    }
-
     public void registerProtocols() {
         // Base Protocol
         registerBaseProtocol(BASE_PROTOCOL, Range.lessThan(Integer.MIN_VALUE));
@@ -177,11 +171,22 @@ public class ProtocolManagerImpl implements ProtocolManager {
 
         registerProtocol(new Protocol1_19To1_18_2(), ProtocolVersion.v1_19, ProtocolVersion.v1_18_2);
         registerProtocol(new Protocol1_19_1To1_19(), ProtocolVersion.v1_19_1, ProtocolVersion.v1_19);
+        // Falls back to the default chat types of the 1.19 mapping data, even if 1.19 is not on the path itself
+        mappingLoaderGraph.add(Protocol1_19_1To1_19.class, Protocol1_19To1_18_2.class, () -> {
+        });
         registerProtocol(new Protocol1_19_3To1_19_1(), ProtocolVersion.v1_19_3, ProtocolVersion.v1_19_1);
         registerProtocol(new Protocol1_19_4To1_19_3(), ProtocolVersion.v1_19_4, ProtocolVersion.v1_19_3);
 
         registerProtocol(new Protocol1_20To1_19_4(), ProtocolVersion.v1_20, ProtocolVersion.v1_19_4);
         registerProtocol(new Protocol1_20_2To1_20(), ProtocolVersion.v1_20_2, ProtocolVersion.v1_20);
+
+        // Registered before any other plugin gets to register their own protocols
+        internalProtocols = ImmutableSet.<Class<? extends Protocol>>builder()
+                .add(BaseProtocol.class, BaseProtocol1_7.class, BaseProtocol1_16.class)
+                .addAll(protocols.keySet())
+                .build();
+
+        startReachableMappingDataLoading();
     }
 
     @Override
@@ -198,6 +203,9 @@ public class ProtocolManagerImpl implements ProtocolManager {
         if (!pathCache.isEmpty()) {
             pathCache.clear();
         }
+        if (!composedMappingsCache.isEmpty()) {
+            composedMappingsCache.clear();
+        }
 
         protocols.put(protocol.getClass(), protocol);
 
@@ -215,12 +223,10 @@ public class ProtocolManagerImpl implements ProtocolManager {
         }
 
         if (protocol.hasMappingDataToLoad()) {
-            if (mappingLoaderExecutor != null) {
-                // Submit mapping data loading
-                addMappingLoaderFuture(protocol.getClass(), protocol::loadMappingData);
-            } else {
-                // Late protocol adding - just do it on the current thread
-                protocol.loadMappingData();
+            // Only load mapping data once the protocol is known to be needed
+            mappingLoaderGraph.add(protocol.getClass(), null, protocol::loadMappingData);
+            if (Via.getManager().isInitialized() || mappingsLoaded) {
+                startReachableMappingDataLoading();
             }
         }
     }
@@ -277,6 +283,59 @@ public class ProtocolManagerImpl implements ProtocolManager {
         return path;
     }
 
+    @Override
+    public @Nullable Mappings getComposedMappings(int clientVersion, int serverVersion, MappingType type) {
+        ProtocolPathKey key = new ProtocolPathKeyImpl(clientVersion, serverVersion);
+        Mappings[] composedMappings = composedMappingsCache.get(key);
+        if (composedMappings == null) {
+            List<ProtocolPathEntry> protocolPath = getProtocolPath(clientVersion, serverVersion);
+            if (protocolPath == null) {
+                return null;
+            }
+
+            composedMappings = new Mappings[MappingType.values().length];
+            for (MappingType mappingType : MappingType.values()) {
+                composedMappings[mappingType.ordinal()] = composeMappings(protocolPath, mappingType);
+            }
+            composedMappingsCache.put(key, composedMappings);
+        }
+        return composedMappings[type.ordinal()];
+    }
+
+    /**
+     * Composes the clientbound mappings of the given type over a protocol path, starting at the server side.
+     *
+     * @param protocolPath protocol path from the client to the server version
+     * @param type         mapping type
+     * @return composed mappings, or null if no protocol on the path has mappings of the type
+     */
+    private static @Nullable Mappings composeMappings(List<ProtocolPathEntry> protocolPath, MappingType type) {
+        int[] composed = null;
+        int mappedSize = -1;
+        for (int i = protocolPath.size() - 1; i >= 0; i--) {
+            MappingData mappingData = protocolPath.get(i).protocol().getMappingData();
+            Mappings mappings = mappingData != null ? type.mappings(mappingData) : null;
+            if (mappings == null) {
+                continue;
+            }
+
+            if (composed == null) {
+                composed = new int[mappings.size()];
+                for (int id = 0; id < composed.length; id++) {
+                    composed[id] = mappings.getNewId(id);
+                }
+            } else {
+                for (int id = 0; id < composed.length; id++) {
+                    if (composed[id] != -1) {
+                        composed[id] = mappings.getNewId(composed[id]);
+                    }
+                }
+            }
+            mappedSize = mappings.mappedSize();
+        }
+        return composed != null ? IntArrayMappings.of(composed, mappedSize) : null;
+    }
+
     @Override
     public <C extends ClientboundPacketType,
             S extends ServerboundPacketType
@@ -372,6 +431,7 @@ public class ProtocolManagerImpl implements ProtocolManager {
         this.serverProtocolVersion = serverProtocolVersion;
         //noinspection deprecation
         ProtocolRegistry.SERVER_PROTOCOL = serverProtocolVersion.lowestSupportedVersion();
+        startReachableMappingDataLoading();
     }
 
     @Override
@@ -416,72 +476,105 @@ public class ProtocolManagerImpl implements ProtocolManager {
         return BASE_PROTOCOL;
     }
 
+    /**
+     * Returns whether packets may be remapped by id only for the given protocol, which is always the case for ViaVersion's own protocols.
+     *
+     * @param protocol protocol
+     * @return true if packets may be remapped by id only
+     * @see Protocol#supportsPacketIdRemapping()
+     */
+    public boolean supportsPacketIdRemapping(Protocol protocol) {
+        return internalProtocols.contains(protocol.getClass()) || protocol.supportsPacketIdRemapping();
+    }
+
+    /**
+     * Returns whether chunks may be reused after being handled by the given protocol, which is always the case for ViaVersion's own protocols.
+     *
+     * @param protocol protocol
+     * @return true if chunks may be reused after being handled by the protocol
+     * @see Protocol#supportsChunkPooling()
+     */
+    public boolean supportsChunkPooling(Protocol protocol) {
+        return internalProtocols.contains(protocol.getClass()) || protocol.supportsChunkPooling();
+    }
+
     @Override
     public void completeMappingDataLoading(Class<? extends Protocol> protocolClass) throws Exception {
-        if (mappingsLoaded) return;
+        // Load the mapping data now if the protocol has not been deemed reachable before
+        mappingLoaderGraph.start(protocolClass);
+
+        CompletableFuture<Void> future = mappingLoaderGraph.future(protocolClass);
+        if (future == null || future.isDone()) {
+            return;
+        }
 
-        CompletableFuture<Void> future = getMappingLoaderFuture(protocolClass);
-        if (future != null) {
-            // Wait for completion
-            future.get();
+        if (mappingLoaderGraph.isFinished()) {
+            // Loaded on the late loading pool, but the caller (usually a network thread) is still blocked until then
+            Via.getPlatform().getLogger().warning("Loading mapping data of " + protocolClass.getSimpleName()
+                    + " late, blocking thread " + Thread.currentThread().getName() + " until done");
         }
+        // Wait for completion
+        future.get();
     }
 
-    @Override
-    public boolean checkForMappingCompletion() {
-        mappingLoaderLock.readLock().lock();
-        try {
-            if (mappingsLoaded) {
-                return false;
-            }
+    /**
+     * Starts loading the mapping data of all protocols on a path from any client version to the server version,
+     * then finishes mapping loading as soon as all started loading has completed.
+     * If the server version is still unknown, the mapping data of all protocols is loaded.
+     */
+    public void startMappingDataLoading() {
+        if (serverProtocolVersion.isKnown()) {
+            startReachableMappingDataLoading();
+        } else {
+            mappingLoaderGraph.startAll();
+        }
+        mappingLoaderGraph.arm();
+    }
+
+    private void startReachableMappingDataLoading() {
+        if (!serverProtocolVersion.isKnown()) {
+            return;
+        }
+
+        for (ProtocolVersion version : ProtocolVersion.getProtocols()) {
+            for (int serverVersion : serverProtocolVersion.supportedVersions()) {
+                List<ProtocolPathEntry> protocolPath = getProtocolPath(version.getVersion(), serverVersion);
+                if (protocolPath == null) continue;
 
-            for (CompletableFuture<Void> future : mappingLoaderFutures.values()) {
-                // Return if any future hasn't completed yet
-                if (!future.isDone()) {
-                    return false;
+                for (ProtocolPathEntry pathEntry : protocolPath) {
+                    mappingLoaderGraph.start(pathEntry.protocol().getClass());
                 }
             }
-
-            shutdownLoaderExecutor();
-            return true;
-        } finally {
-            mappingLoaderLock.readLock().unlock();
         }
     }
 
     @Override
-    public void addMappingLoaderFuture(Class<? extends Protocol> protocolClass, Runnable runnable) {
-        CompletableFuture<Void> future = CompletableFuture.runAsync(runnable, mappingLoaderExecutor).exceptionally(mappingLoaderThrowable(protocolClass));
+    @Deprecated
+    public boolean checkForMappingCompletion() {
+        return mappingLoaderGraph.tryFinish();
+    }
 
-        mappingLoaderLock.writeLock().lock();
-        try {
-            mappingLoaderFutures.put(protocolClass, future);
-        } finally {
-            mappingLoaderLock.writeLock().unlock();
-        }
+    @Override
+    public CompletableFuture<Void> mappingLoadingFuture() {
+        return mappingLoaderGraph.completion();
+    }
+
+    @Override
+    public void addMappingLoaderFuture(Class<? extends Protocol> protocolClass, Runnable runnable) {
+        mappingLoaderGraph.start(mappingLoaderGraph.add(protocolClass, null, runnable));
     }
 
     @Override
     public void addMappingLoaderFuture(Class<? extends Protocol> protocolClass, Class<? extends Protocol> dependsOn, Runnable runnable) {
-        CompletableFuture<Void> future = getMappingLoaderFuture(dependsOn)
-                .whenCompleteAsync((v, throwable) -> runnable.run(), mappingLoaderExecutor).exceptionally(mappingLoaderThrowable(protocolClass));
-
-        mappingLoaderLock.writeLock().lock();
-        try {
-            mappingLoaderFutures.put(protocolClass, future);
-        } finally {
-            mappingLoaderLock.writeLock().unlock();
+        MappingLoaderGraph.Node node = mappingLoaderGraph.add(protocolClass, dependsOn, runnable);
+        if (mappingLoaderGraph.isStarted(dependsOn)) {
+            mappingLoaderGraph.start(node);
         }
     }
 
     @Override
     public @Nullable CompletableFuture<Void> getMappingLoaderFuture(Class<? extends Protocol> protocolClass) {
-        mappingLoaderLock.readLock().lock();
-        try {
-            return mappingsLoaded ? null : mappingLoaderFutures.get(protocolClass);
-        } finally {
-            mappingLoaderLock.readLock().unlock();
-        }
+        return mappingsLoaded ? null : mappingLoaderGraph.future(protocolClass);
     }
 
     @Override
@@ -495,26 +588,37 @@ public class ProtocolManagerImpl implements ProtocolManager {
         return new PacketWrapperImpl(packetId, buf, connection);
     }
 
-    public void shutdownLoaderExecutor() {
-        Preconditions.checkArgument(!mappingsLoaded);
+    private void finishMappingLoading() {
+        mappingsLoaded = true;
 
         // If this log message is missing, something is wrong
-        Via.getPlatform().getLogger().info("Finished mapping loading, shutting down loader executor!");
-        mappingsLoaded = true;
-        mappingLoaderExecutor.shutdown();
-        mappingLoaderExecutor = null;
-        mappingLoaderFutures.clear();
-        mappingLoaderFutures = null;
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - mappingLoadingStart);
+        Via.getPlatform().getLogger().info("Finished mapping loading in " + millis + "ms using " + mappingLoaderGraph.parallelism() + " threads, shutting down loader executor!");
+        logLoadTimes("files", MappingDataLoader.loadTimes());
+        logLoadTimes("protocols", mappingLoaderGraph.loadTimes());
 
         // Clear cached mapping files
         MappingDataLoader.clearCache();
     }
 
-    private Function<Throwable, Void> mappingLoaderThrowable(Class<? extends Protocol> protocolClass) {
-        return throwable -> {
-            Via.getPlatform().getLogger().severe("Error during mapping loading of " + protocolClass.getSimpleName());
-            throwable.printStackTrace();
-            return null;
-        };
+    private void logLoadTimes(String type, Map<String, Long> loadTimes) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(loadTimes.entrySet());
+        entries.sort(Collections.reverseOrder(Map.Entry.comparingByValue()));
+
+        // Only list the slowest entries outside of debug mode
+        int count = Via.getManager().isDebug() ? entries.size() : Math.min(entries.size(), 5);
+        if (count == 0) {
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder("Mapping load times of ").append(count == entries.size() ? "all " : "slowest ").append(type).append(": ");
+        for (int i = 0; i < count; i++) {
+            Map.Entry<String, Long> entry = entries.get(i);
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(entry.getKey()).append(" (").append(TimeUnit.NANOSECONDS.toMillis(entry.getValue())).append("ms)");
+        }
+        Via.getPlatform().getLogger().info(builder.toString());
     }
 }
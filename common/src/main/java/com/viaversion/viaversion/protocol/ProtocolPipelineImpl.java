@@ -20,6 +20,7 @@ package com.viaversion.viaversion.protocol;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.debug.DebugHandler;
+import com.viaversion.viaversion.api.metrics.MetricsHandler;
 import com.viaversion.viaversion.api.platform.ViaPlatform;
 import com.viaversion.viaversion.api.protocol.AbstractSimpleProtocol;
 import com.viaversion.viaversion.api.protocol.Protocol;
@@ -27,6 +28,7 @@ import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.exception.CancelException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -45,6 +47,8 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
     private final List<Protocol> protocolList = new CopyOnWriteArrayList<>();
     private final Set<Class<? extends Protocol>> protocolSet = new HashSet<>();
     private List<Protocol> reversedProtocolList = new CopyOnWriteArrayList<>();
+    private volatile PacketTransformTable serverboundTable;
+    private volatile PacketTransformTable clientboundTable;
     private int baseProtocols;
 
     public ProtocolPipelineImpl(UserConnection userConnection) {
@@ -61,6 +65,7 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         reversedProtocolList.add(baseProtocol);
         protocolSet.add(baseProtocol.getClass());
         baseProtocols++;
+        refreshTransformTables();
     }
 
     @Override
@@ -81,12 +86,15 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         }
 
         protocolSet.add(protocol.getClass());
+        clearTransformTables();
         protocol.init(userConnection);
+        refreshTransformTables();
     }
 
     @Override
     public synchronized void add(final Collection<Protocol> protocols) {
         protocolList.addAll(protocols);
+        clearTransformTables();
         for (final Protocol protocol : protocols) {
             protocol.init(userConnection);
             protocolSet.add(protocol.getClass());
@@ -101,6 +109,18 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         Collections.reverse(additionalProtocols);
         protocols.addAll(additionalProtocols);
         reversedProtocolList = new CopyOnWriteArrayList<>(protocols);
+        refreshTransformTables();
+    }
+
+    private synchronized void refreshTransformTables() {
+        serverboundTable = new PacketTransformTable(Direction.SERVERBOUND, protocolList);
+        clientboundTable = new PacketTransformTable(Direction.CLIENTBOUND, reversedProtocolList);
+    }
+
+    private synchronized void clearTransformTables() {
+        // Packets sent while protocols are being initialized go through the protocol lists directly
+        serverboundTable = null;
+        clientboundTable = null;
     }
 
     @Override
@@ -113,14 +133,50 @@ public class ProtocolPipelineImpl extends AbstractSimpleProtocol implements Prot
         }
 
         // Apply protocols
-        packetWrapper.apply(direction, state, 0, protocolListFor(direction));
-        super.transform(direction, state, packetWrapper);
+        MetricsHandler metrics = Via.getManager().metricsHandler();
+        if (metrics.enabled()) {
+            transformWithMetrics(metrics, direction, state, packetWrapper, originalID);
+        } else {
+            applyProtocols(direction, state, packetWrapper);
+            super.transform(direction, state, packetWrapper);
+        }
 
         if (debugHandler.enabled() && debugHandler.logPostPacketTransform() && debugHandler.shouldLog(packetWrapper, direction)) {
             logPacket(direction, state, packetWrapper, originalID);
         }
     }
 
+    private void transformWithMetrics(MetricsHandler metrics, Direction direction, State state, PacketWrapper packetWrapper, int originalID) throws Exception {
+        long start = System.nanoTime();
+        try {
+            applyProtocols(direction, state, packetWrapper);
+            super.transform(direction, state, packetWrapper);
+        } catch (CancelException e) {
+            metrics.recordPipelineTransform(userConnection, direction, state, originalID, System.nanoTime() - start, true);
+            throw e;
+        }
+        metrics.recordPipelineTransform(userConnection, direction, state, originalID, System.nanoTime() - start, packetWrapper.isCancelled());
+    }
+
+    private void applyProtocols(Direction direction, State state, PacketWrapper packetWrapper) throws Exception {
+        final PacketTransformTable table = transformTableFor(direction);
+        if (table != null) {
+            table.transform(state, packetWrapper);
+        } else {
+            packetWrapper.apply(direction, state, 0, protocolListFor(direction));
+        }
+    }
+
+    @Override
+    public int remappedPacketId(UserConnection connection, Direction direction, State state, int unmappedPacketId) {
+        final PacketTransformTable table = transformTableFor(direction);
+        return table != null ? table.remappedPacketId(connection, state, unmappedPacketId) : -1;
+    }
+
+    private @Nullable PacketTransformTable transformTableFor(final Direction direction) {
+        return direction == Direction.SERVERBOUND ? serverboundTable : clientboundTable;
+    }
+
     private List<Protocol> protocolListFor(final Direction direction) {
         return Collections.unmodifiableList(direction == Direction.SERVERBOUND ? protocolList : reversedProtocolList);
     }
@@ -21,41 +21,66 @@ import com.google.common.base.Preconditions;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkPool;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.protocol.remapper.PacketHandler;
+import com.viaversion.viaversion.api.type.PrimitiveType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.TypeConverter;
 import com.viaversion.viaversion.exception.CancelException;
 import com.viaversion.viaversion.exception.InformativeException;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
 import com.viaversion.viaversion.util.PipelineUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
 import java.io.IOException;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class PacketWrapperImpl implements PacketWrapper {
     private static final Protocol[] PROTOCOL_ARRAY = new Protocol[0];
-
-    private final Deque<PacketValue> readableObjects = new ArrayDeque<>();
-    private final List<PacketValue> packetValues = new ArrayList<>();
-    private final ByteBuf inputBuffer;
-    private final UserConnection userConnection;
+    private static final ThreadLocal<PacketWrapperImpl> RECYCLED = new ThreadLocal<>();
+    private static final int INITIAL_CAPACITY = 16;
+    // Marks a value stored in the primitives array of a PrimitiveType
+    private static final Object PRIMITIVE = new Object();
+
+    // Values written in the current transformation
+    private Type<?>[] types = new Type[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private long[] primitives = new long[INITIAL_CAPACITY];
+    private int size;
+    // Values written in previous transformations, read from before the input buffer
+    private Type<?>[] readableTypes = new Type[INITIAL_CAPACITY];
+    private Object[] readableValues = new Object[INITIAL_CAPACITY];
+    private long[] readablePrimitives = new long[INITIAL_CAPACITY];
+    private int readerIndex;
+    private int readableSize;
+    // Positions of the written values per type, lazily updated on lookups
+    private final Map<Type<?>, TypeIndex> typeIndexes = new IdentityHashMap<>();
+    private TypeIndex[] typeIndexPool = new TypeIndex[8];
+    private int usedTypeIndexes;
+    private int indexedSize;
+    private ByteBuf inputBuffer;
+    private UserConnection userConnection;
     private boolean send = true;
     /**
      * Only non-null if specifically set and gotten before packet transformation
      */
     private PacketType packetType;
     private int id;
+    // Only scheduled sends use the wrapper after its transformation, all other sends and queues copy it out right away
+    private boolean recyclable;
 
     public PacketWrapperImpl(int packetId, @Nullable ByteBuf inputBuffer, UserConnection userConnection) {
         this.id = packetId;
@@ -70,42 +95,82 @@ public class PacketWrapperImpl implements PacketWrapper {
         this.userConnection = userConnection;
     }
 
+    /**
+     * Returns a packet wrapper recycled on the current thread, or a new one if none is available.
+     * The wrapper must be returned with {@link #recycle()} on the same thread once it has been written.
+     *
+     * @param packetId       packet id
+     * @param inputBuffer    input buffer
+     * @param userConnection user connection
+     * @return packet wrapper
+     */
+    public static PacketWrapperImpl recycled(int packetId, @Nullable ByteBuf inputBuffer, UserConnection userConnection) {
+        PacketWrapperImpl wrapper = RECYCLED.get();
+        if (wrapper != null) {
+            RECYCLED.set(null);
+            wrapper.id = packetId;
+            wrapper.inputBuffer = inputBuffer;
+            wrapper.userConnection = userConnection;
+        } else {
+            // First packet on this thread or a nested transformation
+            wrapper = new PacketWrapperImpl(packetId, inputBuffer, userConnection);
+        }
+        wrapper.recyclable = true;
+        return wrapper;
+    }
+
+    /**
+     * Clears the wrapper and makes it available to {@link #recycled(int, ByteBuf, UserConnection)} on the current thread,
+     * unless it has been handed over to other tasks.
+     */
+    public void recycle() {
+        if (!recyclable) {
+            return;
+        }
+
+        if (Via.getConfig().isPoolChunkObjects()) {
+            releaseChunks(values, 0, size);
+            releaseChunks(readableValues, readerIndex, readableSize);
+        }
+        clearValues();
+        inputBuffer = null;
+        userConnection = null;
+        send = true;
+        packetType = null;
+        id = -1;
+        recyclable = false;
+        if (RECYCLED.get() == null) {
+            RECYCLED.set(this);
+        }
+    }
+
     @Override
     public <T> T get(Type<T> type, int index) throws Exception {
-        int currentIndex = 0;
-        for (PacketValue packetValue : packetValues) {
-            if (packetValue.type() != type) {
-                continue;
-            }
-            if (currentIndex == index) {
+        final TypeIndex typeIndex = typeIndex(type);
+        if (typeIndex != null && index >= 0 && index < typeIndex.size) {
+            final int position = typeIndex.positions[index];
+            final Object value = values[position];
+            if (value == PRIMITIVE) {
                 //noinspection unchecked
-                return (T) packetValue.value();
+                return ((PrimitiveType<T>) type).box(primitives[position]);
             }
-            currentIndex++;
+            //noinspection unchecked
+            return (T) value;
         }
         throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
     }
 
     @Override
     public boolean is(Type type, int index) {
-        int currentIndex = 0;
-        for (PacketValue packetValue : packetValues) {
-            if (packetValue.type() != type) {
-                continue;
-            }
-            if (currentIndex == index) {
-                return true;
-            }
-            currentIndex++;
-        }
-        return false;
+        final TypeIndex typeIndex = typeIndex(type);
+        return typeIndex != null && index >= 0 && index < typeIndex.size;
     }
 
     @Override
     public boolean isReadable(Type type, int index) {
         int currentIndex = 0;
-        for (PacketValue packetValue : readableObjects) {
-            if (packetValue.type().getBaseClass() != type.getBaseClass()) {
+        for (int i = readerIndex; i < readableSize; i++) {
+            if (readableTypes[i].getBaseClass() != type.getBaseClass()) {
                 continue;
             }
             if (currentIndex == index) {
@@ -119,16 +184,18 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     @Override
     public <T> void set(Type<T> type, int index, T value) throws Exception {
-        int currentIndex = 0;
-        for (PacketValue packetValue : packetValues) {
-            if (packetValue.type() != type) {
-                continue;
-            }
-            if (currentIndex == index) {
-                packetValue.setValue(attemptTransform(type, value));
-                return;
+        final TypeIndex typeIndex = typeIndex(type);
+        if (typeIndex != null && index >= 0 && index < typeIndex.size) {
+            final int position = typeIndex.positions[index];
+            final Object transformedValue = attemptTransform(type, value);
+            if (transformedValue != null && type instanceof PrimitiveType) {
+                //noinspection unchecked
+                primitives[position] = ((PrimitiveType<T>) type).unbox((T) transformedValue);
+                values[position] = PRIMITIVE;
+            } else {
+                values[position] = transformedValue;
             }
-            currentIndex++;
+            return;
         }
         throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
     }
@@ -139,33 +206,105 @@ public class PacketWrapperImpl implements PacketWrapper {
             return null;
         }
 
-        if (readableObjects.isEmpty()) {
+        final int index = nextReadable(type);
+        if (index == -1) {
             Preconditions.checkNotNull(inputBuffer, "This packet does not have an input buffer.");
             // We could in the future log input read values, but honestly for things like bulk maps, mem waste D:
             try {
                 return type.read(inputBuffer);
             } catch (Exception e) {
-                throw createInformativeException(e, type, packetValues.size() + 1);
+                throw createInformativeException(e, type, size + 1);
             }
         }
 
-        PacketValue readValue = readableObjects.poll();
-        Type readType = readValue.type();
-        if (readType == type
-                || (type.getBaseClass() == readType.getBaseClass()
-                && type.getOutputClass() == readType.getOutputClass())) {
+        final Object value = readableValues[index];
+        readableValues[index] = null;
+        if (value == PRIMITIVE) {
             //noinspection unchecked
-            return (T) readValue.value();
-        } else if (readType == Type.NOTHING) {
-            return read(type); // retry
-        } else {
-            throw createInformativeException(new IOException("Unable to read type " + type.getTypeName() + ", found " + readValue.type().getTypeName()), type, readableObjects.size());
+            return ((PrimitiveType<T>) readableTypes[index]).box(readablePrimitives[index]);
         }
+        //noinspection unchecked
+        return (T) value;
+    }
+
+    /**
+     * Reads a value of a primitive type as a long.
+     *
+     * @param type primitive type
+     * @return value stored as a long
+     * @throws InformativeException if it fails to read
+     */
+    private long readPrimitive(Type<?> type) throws Exception {
+        final int index = nextReadable(type);
+        if (index == -1) {
+            Preconditions.checkNotNull(inputBuffer, "This packet does not have an input buffer.");
+            try {
+                return ((PrimitiveType<?>) type).readLong(inputBuffer);
+            } catch (Exception e) {
+                throw createInformativeException(e, type, size + 1);
+            }
+        }
+
+        final Object value = readableValues[index];
+        readableValues[index] = null;
+        if (value == PRIMITIVE) {
+            return readablePrimitives[index];
+        }
+        // Only null values are stored as objects, throwing just like unboxing them would
+        //noinspection unchecked
+        return ((PrimitiveType<Object>) type).unbox(value);
+    }
+
+    /**
+     * Returns the position of the next readable value if matching the given type, or -1 if it has to be read from the input buffer.
+     *
+     * @param type type to read
+     * @return position of the next readable value, or -1 if it has to be read from the input buffer
+     * @throws InformativeException if the next readable value is of a different type
+     */
+    private int nextReadable(Type<?> type) throws InformativeException {
+        while (readerIndex != readableSize) {
+            final int index = readerIndex++;
+            final Type<?> readType = readableTypes[index];
+            if (readType == type
+                    || (type.getBaseClass() == readType.getBaseClass()
+                    && type.getOutputClass() == readType.getOutputClass())) {
+                return index;
+            }
+
+            readableValues[index] = null;
+            if (readType != Type.NOTHING) {
+                throw createInformativeException(new IOException("Unable to read type " + type.getTypeName() + ", found " + readType.getTypeName()), type, readableSize - readerIndex);
+            }
+        }
+        return -1;
     }
 
     @Override
     public <T> void write(Type<T> type, T value) {
-        packetValues.add(new PacketValue(type, attemptTransform(type, value)));
+        final Object transformedValue = attemptTransform(type, value);
+        if (transformedValue != null && type instanceof PrimitiveType) {
+            //noinspection unchecked
+            add(type, PRIMITIVE, ((PrimitiveType<T>) type).unbox((T) transformedValue));
+        } else {
+            add(type, transformedValue, 0);
+        }
+    }
+
+    private void writePrimitive(Type<?> type, long value) {
+        add(type, PRIMITIVE, value);
+    }
+
+    private void add(Type<?> type, @Nullable Object value, long primitive) {
+        if (size == types.length) {
+            final int capacity = size << 1;
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+            primitives = Arrays.copyOf(primitives, capacity);
+        }
+        types[size] = type;
+        primitives[size] = primitive;
+        values[size++] = value;
     }
 
     /**
@@ -194,11 +333,157 @@ public class PacketWrapperImpl implements PacketWrapper {
         return value;
     }
 
+    @Override
+    public int readInt(Type<Integer> type) throws Exception {
+        return type instanceof PrimitiveType ? (int) readPrimitive(type) : read(type);
+    }
+
+    @Override
+    public void writeInt(Type<Integer> type, int value) {
+        if (type instanceof PrimitiveType) {
+            writePrimitive(type, value);
+        } else {
+            write(type, value);
+        }
+    }
+
+    @Override
+    public int passthroughInt(Type<Integer> type) throws Exception {
+        final int value = readInt(type);
+        writeInt(type, value);
+        return value;
+    }
+
+    @Override
+    public long readLong(Type<Long> type) throws Exception {
+        return type instanceof PrimitiveType ? readPrimitive(type) : read(type);
+    }
+
+    @Override
+    public void writeLong(Type<Long> type, long value) {
+        if (type instanceof PrimitiveType) {
+            writePrimitive(type, value);
+        } else {
+            write(type, value);
+        }
+    }
+
+    @Override
+    public long passthroughLong(Type<Long> type) throws Exception {
+        final long value = readLong(type);
+        writeLong(type, value);
+        return value;
+    }
+
+    @Override
+    public short readShort(Type<Short> type) throws Exception {
+        return type instanceof PrimitiveType ? (short) readPrimitive(type) : read(type);
+    }
+
+    @Override
+    public void writeShort(Type<Short> type, short value) {
+        if (type instanceof PrimitiveType) {
+            writePrimitive(type, value);
+        } else {
+            write(type, value);
+        }
+    }
+
+    @Override
+    public short passthroughShort(Type<Short> type) throws Exception {
+        final short value = readShort(type);
+        writeShort(type, value);
+        return value;
+    }
+
+    @Override
+    public byte readByte(Type<Byte> type) throws Exception {
+        return type instanceof PrimitiveType ? (byte) readPrimitive(type) : read(type);
+    }
+
+    @Override
+    public void writeByte(Type<Byte> type, byte value) {
+        if (type instanceof PrimitiveType) {
+            writePrimitive(type, value);
+        } else {
+            write(type, value);
+        }
+    }
+
+    @Override
+    public byte passthroughByte(Type<Byte> type) throws Exception {
+        final byte value = readByte(type);
+        writeByte(type, value);
+        return value;
+    }
+
+    @Override
+    public float readFloat(Type<Float> type) throws Exception {
+        return type instanceof PrimitiveType ? Float.intBitsToFloat((int) readPrimitive(type)) : read(type);
+    }
+
+    @Override
+    public void writeFloat(Type<Float> type, float value) {
+        if (type instanceof PrimitiveType) {
+            writePrimitive(type, Float.floatToRawIntBits(value));
+        } else {
+            write(type, value);
+        }
+    }
+
+    @Override
+    public float passthroughFloat(Type<Float> type) throws Exception {
+        final float value = readFloat(type);
+        writeFloat(type, value);
+        return value;
+    }
+
+    @Override
+    public double readDouble(Type<Double> type) throws Exception {
+        return type instanceof PrimitiveType ? Double.longBitsToDouble(readPrimitive(type)) : read(type);
+    }
+
+    @Override
+    public void writeDouble(Type<Double> type, double value) {
+        if (type instanceof PrimitiveType) {
+            writePrimitive(type, Double.doubleToRawLongBits(value));
+        } else {
+            write(type, value);
+        }
+    }
+
+    @Override
+    public double passthroughDouble(Type<Double> type) throws Exception {
+        final double value = readDouble(type);
+        writeDouble(type, value);
+        return value;
+    }
+
+    @Override
+    public boolean readBoolean(Type<Boolean> type) throws Exception {
+        return type instanceof PrimitiveType ? readPrimitive(type) != 0 : read(type);
+    }
+
+    @Override
+    public void writeBoolean(Type<Boolean> type, boolean value) {
+        if (type instanceof PrimitiveType) {
+            writePrimitive(type, value ? 1 : 0);
+        } else {
+            write(type, value);
+        }
+    }
+
+    @Override
+    public boolean passthroughBoolean(Type<Boolean> type) throws Exception {
+        final boolean value = readBoolean(type);
+        writeBoolean(type, value);
+        return value;
+    }
+
     @Override
     public void passthroughAll() throws Exception {
         // Copy previous objects
-        packetValues.addAll(readableObjects);
-        readableObjects.clear();
+        moveReadableValues();
         // If the buffer has readable bytes, copy them.
         if (inputBuffer.isReadable()) {
             passthrough(Type.REMAINING_BYTES);
@@ -210,30 +495,159 @@ public class PacketWrapperImpl implements PacketWrapper {
         if (id != -1) {
             Type.VAR_INT.writePrimitive(buffer, id);
         }
-        if (!readableObjects.isEmpty()) {
-            packetValues.addAll(readableObjects);
-            readableObjects.clear();
-        }
+        moveReadableValues();
 
-        int index = 0;
-        for (PacketValue packetValue : packetValues) {
+        for (int i = 0; i < size; i++) {
+            final Type type = types[i];
             try {
-                packetValue.type().write(buffer, packetValue.value());
+                final Object value = values[i];
+                if (value == PRIMITIVE) {
+                    ((PrimitiveType<?>) type).writeLong(buffer, primitives[i]);
+                } else {
+                    //noinspection unchecked
+                    type.write(buffer, value);
+                }
             } catch (Exception e) {
-                throw createInformativeException(e, packetValue.type(), index);
+                throw createInformativeException(e, type, i);
             }
-            index++;
         }
         writeRemaining(buffer);
     }
 
+    /**
+     * Appends the values yet to be read to the written values.
+     */
+    private void moveReadableValues() {
+        for (int i = readerIndex; i < readableSize; i++) {
+            add(readableTypes[i], readableValues[i], readablePrimitives[i]);
+        }
+        clearReadableValues();
+    }
+
+    private void clearReadableValues() {
+        Arrays.fill(readableValues, readerIndex, readableSize, null);
+        readerIndex = 0;
+        readableSize = 0;
+    }
+
+    /**
+     * Gives the chunks among the given values back to the chunk pool of the current thread,
+     * if all protocols they may have been handed to have opted into chunk pooling.
+     */
+    private void releaseChunks(Object[] values, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final Object value = values[i];
+            if (value instanceof Chunk) {
+                if (!pipelineSupportsChunkPooling()) {
+                    return;
+                }
+                ChunkPool.release((Chunk) value);
+            } else if (value instanceof Chunk[]) {
+                if (!pipelineSupportsChunkPooling()) {
+                    return;
+                }
+                for (final Chunk chunk : (Chunk[]) value) {
+                    ChunkPool.release(chunk);
+                }
+            }
+        }
+    }
+
+    private boolean pipelineSupportsChunkPooling() {
+        final ProtocolInfo protocolInfo = userConnection != null ? userConnection.getProtocolInfo() : null;
+        if (protocolInfo == null || protocolInfo.getPipeline() == null) {
+            return false;
+        }
+
+        final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+        for (final Protocol protocol : protocolInfo.getPipeline().pipes()) {
+            if (!protocolManager.supportsChunkPooling(protocol)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void clearValues() {
+        clearReadableValues();
+        clearWrittenValues();
+    }
+
+    private void clearWrittenValues() {
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        clearTypeIndexes();
+    }
+
+    /**
+     * Returns the positions of the written values of the given type, indexing values written since the last lookup.
+     *
+     * @param type type
+     * @return positions of the written values of the type, or null if none have been written
+     */
+    private @Nullable TypeIndex typeIndex(Type<?> type) {
+        for (; indexedSize < size; indexedSize++) {
+            final Type<?> valueType = types[indexedSize];
+            TypeIndex typeIndex = typeIndexes.get(valueType);
+            if (typeIndex == null) {
+                typeIndex = nextTypeIndex();
+                typeIndexes.put(valueType, typeIndex);
+            }
+            typeIndex.add(indexedSize);
+        }
+        return typeIndexes.get(type);
+    }
+
+    private TypeIndex nextTypeIndex() {
+        if (usedTypeIndexes == typeIndexPool.length) {
+            typeIndexPool = Arrays.copyOf(typeIndexPool, usedTypeIndexes << 1);
+        }
+
+        TypeIndex typeIndex = typeIndexPool[usedTypeIndexes];
+        if (typeIndex == null) {
+            typeIndex = typeIndexPool[usedTypeIndexes] = new TypeIndex();
+        } else {
+            typeIndex.size = 0;
+        }
+        usedTypeIndexes++;
+        return typeIndex;
+    }
+
+    private void clearTypeIndexes() {
+        if (indexedSize != 0) {
+            typeIndexes.clear();
+            usedTypeIndexes = 0;
+            indexedSize = 0;
+        }
+    }
+
+    private List<PacketValue> packetValueList() {
+        final List<PacketValue> packetValues = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            packetValues.add(new PacketValue(types[i], value(types[i], values[i], primitives[i])));
+        }
+        return packetValues;
+    }
+
+    private List<PacketValue> readableValueList() {
+        final List<PacketValue> readableValues = new ArrayList<>(readableSize - readerIndex);
+        for (int i = readerIndex; i < readableSize; i++) {
+            readableValues.add(new PacketValue(readableTypes[i], value(readableTypes[i], this.readableValues[i], readablePrimitives[i])));
+        }
+        return readableValues;
+    }
+
+    private static @Nullable Object value(Type<?> type, @Nullable Object value, long primitive) {
+        return value == PRIMITIVE ? ((PrimitiveType<?>) type).box(primitive) : value;
+    }
+
     private InformativeException createInformativeException(final Exception cause, final Type<?> type, final int index) {
         return new InformativeException(cause)
                 .set("Index", index)
                 .set("Type", type.getTypeName())
                 .set("Packet ID", this.id)
                 .set("Packet Type", this.packetType)
-                .set("Data", this.packetValues);
+                .set("Data", packetValueList());
     }
 
     @Override
@@ -241,13 +655,13 @@ public class PacketWrapperImpl implements PacketWrapper {
         if (inputBuffer != null) {
             inputBuffer.clear();
         }
-        readableObjects.clear(); // :(
+        clearReadableValues(); // :(
     }
 
     @Override
     public void clearPacket() {
         clearInputBuffer();
-        packetValues.clear();
+        clearWrittenValues();
     }
 
     private void writeRemaining(ByteBuf output) {
@@ -284,6 +698,7 @@ public class PacketWrapperImpl implements PacketWrapper {
             return;
         }
 
+        recyclable = false; // Used after the current transformation
         connection.getChannel().eventLoop().submit(() -> {
             try {
                 final ByteBuf output = constructPacket(protocol, skipCurrentPipeline, Direction.CLIENTBOUND);
@@ -450,11 +865,26 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     @Override
     public void resetReader() {
-        // Move all packet values to the readable for next packet.
-        for (int i = packetValues.size() - 1; i >= 0; i--) {
-            this.readableObjects.addFirst(this.packetValues.get(i));
+        // Move all packet values to the readable for next packet, keeping unread values behind them
+        for (int i = readerIndex; i < readableSize; i++) {
+            add(readableTypes[i], readableValues[i], readablePrimitives[i]);
         }
-        this.packetValues.clear();
+        Arrays.fill(readableValues, readerIndex, readableSize, null);
+
+        // Swap the arrays instead of moving every value
+        final Type<?>[] readableTypes = this.readableTypes;
+        final Object[] readableValues = this.readableValues;
+        final long[] readablePrimitives = this.readablePrimitives;
+        this.readableTypes = types;
+        this.readableValues = values;
+        this.readablePrimitives = primitives;
+        this.readerIndex = 0;
+        this.readableSize = size;
+        this.types = readableTypes;
+        this.values = readableValues;
+        this.primitives = readablePrimitives;
+        this.size = 0;
+        clearTypeIndexes();
     }
 
     @Override
@@ -513,6 +943,7 @@ public class PacketWrapperImpl implements PacketWrapper {
             return;
         }
 
+        recyclable = false; // Used after the current transformation
         connection.getChannel().eventLoop().submit(() -> {
             try {
                 final ByteBuf output = constructPacket(protocol, skipCurrentPipeline, Direction.SERVERBOUND);
@@ -562,11 +993,23 @@ public class PacketWrapperImpl implements PacketWrapper {
         return "PacketWrapper{" +
                 "type=" + packetType +
                 ", id=" + id +
-                ", values=" + packetValues +
-                ", readable=" + readableObjects +
+                ", values=" + packetValueList() +
+                ", readable=" + readableValueList() +
                 '}';
     }
 
+    private static final class TypeIndex {
+        private int[] positions = new int[4];
+        private int size;
+
+        private void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size << 1);
+            }
+            positions[size++] = position;
+        }
+    }
+
     public static final class PacketValue {
         private final Type type;
         private Object value;
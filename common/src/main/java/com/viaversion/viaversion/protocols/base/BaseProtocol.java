@@ -19,6 +19,7 @@ package com.viaversion.viaversion.protocols.base;
 
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
+import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.platform.providers.ViaProviders;
 import com.viaversion.viaversion.api.protocol.AbstractProtocol;
 import com.viaversion.viaversion.api.protocol.Protocol;
@@ -113,4 +114,22 @@ public class BaseProtocol extends AbstractProtocol {
             }
         }
     }
+
+    @Override
+    public int remappedPacketId(UserConnection connection, Direction direction, State state, int unmappedPacketId) {
+        if (direction == Direction.SERVERBOUND && state == State.HANDSHAKE) {
+            return -1;
+        }
+        return super.remappedPacketId(connection, direction, state, unmappedPacketId);
+    }
+
+    @Override
+    public boolean transformsUnmappedPackets() {
+        return true;
+    }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
@@ -191,4 +191,9 @@ public class BaseProtocol1_7 extends AbstractProtocol {
         }
         return UUID.fromString(uuidString);
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
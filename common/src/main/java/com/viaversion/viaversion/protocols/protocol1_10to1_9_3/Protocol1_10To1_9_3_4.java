@@ -179,7 +179,7 @@ public class Protocol1_10To1_9_3_4 extends AbstractProtocol<ClientboundPackets1_
         // Chunk Data
         registerClientbound(ClientboundPackets1_9_3.CHUNK_DATA, wrapper -> {
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
-            Chunk chunk = wrapper.passthrough(new Chunk1_9_3_4Type(clientWorld));
+            Chunk chunk = wrapper.passthrough(clientWorld.chunkType(Chunk1_9_3_4Type.class, Chunk1_9_3_4Type::new));
 
             if (Via.getConfig().isReplacePistons()) {
                 int replacementId = Via.getConfig().getPistonReplacementId();
@@ -245,4 +245,9 @@ public class Protocol1_10To1_9_3_4 extends AbstractProtocol<ClientboundPackets1_
     public InventoryPackets getItemRewriter() {
         return itemRewriter;
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
@@ -208,7 +208,7 @@ public class Protocol1_11To1_10 extends AbstractProtocol<ClientboundPackets1_9_3
         registerClientbound(ClientboundPackets1_9_3.CHUNK_DATA, wrapper -> {
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
 
-            Chunk chunk = wrapper.passthrough(new Chunk1_9_3_4Type(clientWorld));
+            Chunk chunk = wrapper.passthrough(clientWorld.chunkType(Chunk1_9_3_4Type.class, Chunk1_9_3_4Type::new));
 
             if (chunk.getBlockEntities() == null) return;
             for (CompoundTag tag : chunk.getBlockEntities()) {
@@ -358,4 +358,9 @@ public class Protocol1_11To1_10 extends AbstractProtocol<ClientboundPackets1_9_3
     public InventoryPackets getItemRewriter() {
         return itemRewriter;
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
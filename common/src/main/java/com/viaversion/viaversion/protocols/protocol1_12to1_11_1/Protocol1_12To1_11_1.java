@@ -110,7 +110,7 @@ public class Protocol1_12To1_11_1 extends AbstractProtocol<ClientboundPackets1_9
         registerClientbound(ClientboundPackets1_9_3.CHUNK_DATA, wrapper -> {
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
 
-            Chunk1_9_3_4Type type = new Chunk1_9_3_4Type(clientWorld);
+            Chunk1_9_3_4Type type = clientWorld.chunkType(Chunk1_9_3_4Type.class, Chunk1_9_3_4Type::new);
             Chunk chunk = wrapper.passthrough(type);
 
             for (int s = 0; s < chunk.getSections().length; s++) {
@@ -258,4 +258,9 @@ public class Protocol1_12To1_11_1 extends AbstractProtocol<ClientboundPackets1_9
     public InventoryPackets getItemRewriter() {
         return itemRewriter;
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
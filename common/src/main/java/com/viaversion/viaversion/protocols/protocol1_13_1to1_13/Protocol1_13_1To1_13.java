@@ -158,4 +158,9 @@ public class Protocol1_13_1To1_13 extends AbstractProtocol<ClientboundPackets1_1
     public InventoryPackets getItemRewriter() {
         return itemRewriter;
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
@@ -36,7 +36,7 @@ public class WorldPackets {
 
         protocol.registerClientbound(ClientboundPackets1_13.CHUNK_DATA, wrapper -> {
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
-            Chunk chunk = wrapper.passthrough(new Chunk1_13Type(clientWorld));
+            Chunk chunk = wrapper.passthrough(clientWorld.chunkType(Chunk1_13Type.class, Chunk1_13Type::new));
 
             for (ChunkSection section : chunk.getSections()) {
                 if (section == null) {
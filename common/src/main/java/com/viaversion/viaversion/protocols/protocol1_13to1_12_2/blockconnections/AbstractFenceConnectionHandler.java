@@ -45,7 +45,7 @@ public abstract class AbstractFenceConnectionHandler extends ConnectionHandler {
                 }
 
                 blockStates.add(blockData.getSavedBlockStateId());
-                ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), handler);
+                ConnectionData.registerHandler(blockData.getSavedBlockStateId(), handler);
                 byte internalStateId = getStates(blockData);
                 connectedBlockStates[internalStateId] = blockData.getSavedBlockStateId();
             }
@@ -90,7 +90,7 @@ public abstract class AbstractFenceConnectionHandler extends ConnectionHandler {
         if (blockStates.contains(blockState)) return true;
         if (blockConnectionsTypeId == -1) return false;
 
-        BlockData blockData = ConnectionData.blockConnectionData.get(blockState);
+        BlockData blockData = ConnectionData.getBlockData(blockState);
         return blockData != null && blockData.connectsTo(blockConnectionsTypeId, side.opposite(), pre1_12);
     }
 
@@ -45,7 +45,7 @@ public abstract class AbstractStempConnectionHandler extends ConnectionHandler {
                 if (blockData.getSavedBlockStateId() != baseStateId) {
                     handler.blockId.add(blockData.getSavedBlockStateId());
                 }
-                ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), handler);
+                ConnectionData.registerHandler(blockData.getSavedBlockStateId(), handler);
             }
             if (blockData.getMinecraftKey().equals(toKey)) {
                 String facing = blockData.getValue("facing").toUpperCase(Locale.ROOT);
@@ -47,7 +47,7 @@ class ChestConnectionHandler extends ConnectionHandler {
                 TRAPPED_CHESTS.add(blockData.getSavedBlockStateId());
             }
             CONNECTED_STATES[getStates(blockData)] = blockData.getSavedBlockStateId();
-            ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), connectionHandler);
+            ConnectionData.registerHandler(blockData.getSavedBlockStateId(), connectionHandler);
         };
     }
 
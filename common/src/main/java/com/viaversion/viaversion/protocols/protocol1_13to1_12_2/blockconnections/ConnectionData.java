@@ -41,22 +41,21 @@ import com.viaversion.viaversion.protocols.protocol1_13to1_12_2.blockconnections
 import com.viaversion.viaversion.protocols.protocol1_13to1_12_2.blockconnections.providers.PacketBlockConnectionProvider;
 import com.viaversion.viaversion.protocols.protocol1_13to1_12_2.blockconnections.providers.UserBlockData;
 import com.viaversion.viaversion.util.Key;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map.Entry;
 
 public final class ConnectionData {
     public static BlockConnectionProvider blockConnectionProvider;
     static final Object2IntMap<String> KEY_TO_ID = new Object2IntOpenHashMap<>(8582, .99F);
-    static final IntSet OCCLUDING_STATES = new IntOpenHashSet(377, .99F);
-    static Int2ObjectMap<ConnectionHandler> connectionHandlerMap = new Int2ObjectOpenHashMap<>();
-    static Int2ObjectMap<BlockData> blockConnectionData = new Int2ObjectOpenHashMap<>();
+    // 1.13 block state ids are dense, so lookups are done by index rather than through hash maps
+    private static final BitSet OCCLUDING_STATES = new BitSet();
+    private static final BitSet CONNECTING_STATES = new BitSet();
+    private static ConnectionHandler[] connectionHandlers = new ConnectionHandler[0];
+    private static BlockData[] blockConnectionData = new BlockData[0];
     private static final BlockChangeRecord1_8[] EMPTY_RECORDS = new BlockChangeRecord1_8[0];
 
     static {
@@ -69,7 +68,7 @@ public final class ConnectionData {
         for (BlockFace face : BlockFace.values()) {
             Position pos = position.getRelative(face);
             int blockState = blockConnectionProvider.getBlockData(user, pos.x(), pos.y(), pos.z());
-            ConnectionHandler handler = connectionHandlerMap.get(blockState);
+            ConnectionHandler handler = getConnectionHandler(blockState);
             if (handler == null) {
                 continue;
             }
@@ -172,10 +171,11 @@ public final class ConnectionData {
             KEY_TO_ID.put(key, id);
         }
 
-        connectionHandlerMap = new Int2ObjectOpenHashMap<>(3650, .99F);
+        connectionHandlers = new ConnectionHandler[blockStates.size()];
+        CONNECTING_STATES.clear();
 
         if (!Via.getConfig().isReduceBlockStorageMemory()) {
-            blockConnectionData = new Int2ObjectOpenHashMap<>(2048);
+            blockConnectionData = new BlockData[blockStates.size()];
 
             ListTag blockConnectionMappings = MappingDataLoader.loadNBT("blockConnections.nbt").get("data");
             for (Tag blockTag : blockConnectionMappings) {
@@ -200,18 +200,22 @@ public final class ConnectionData {
 
                 NumberTag idTag = blockCompoundTag.get("id");
                 if (idTag != null) {
-                    blockConnectionData.put(idTag.asInt(), blockData);
+                    blockConnectionData[idTag.asInt()] = blockData;
                 } else {
                     IntArrayTag idsTag = blockCompoundTag.get("ids");
                     for (int id : idsTag.getValue()) {
-                        blockConnectionData.put(id, blockData);
+                        blockConnectionData[id] = blockData;
                     }
                 }
             }
         }
 
+        OCCLUDING_STATES.clear();
         for (String state : occludingBlockStates()) {
-            OCCLUDING_STATES.add(KEY_TO_ID.getInt(state));
+            int id = KEY_TO_ID.getInt(state);
+            if (id != -1) {
+                OCCLUDING_STATES.set(id);
+            }
         }
 
         List<ConnectorInitAction> initActions = new ArrayList<>();
@@ -248,20 +252,33 @@ public final class ConnectionData {
     }
 
     public static boolean isWelcome(int blockState) {
-        return blockConnectionData.containsKey(blockState) || connectionHandlerMap.containsKey(blockState);
+        return getBlockData(blockState) != null || connects(blockState);
     }
 
     public static boolean connects(int blockState) {
-        return connectionHandlerMap.containsKey(blockState);
+        return blockState >= 0 && CONNECTING_STATES.get(blockState);
     }
 
     public static int connect(UserConnection user, Position position, int blockState) {
-        ConnectionHandler handler = connectionHandlerMap.get(blockState);
+        ConnectionHandler handler = getConnectionHandler(blockState);
         return handler != null ? handler.connect(user, position, blockState) : blockState;
     }
 
     public static ConnectionHandler getConnectionHandler(int blockstate) {
-        return connectionHandlerMap.get(blockstate);
+        return blockstate >= 0 && blockstate < connectionHandlers.length ? connectionHandlers[blockstate] : null;
+    }
+
+    static void registerHandler(int blockState, ConnectionHandler handler) {
+        connectionHandlers[blockState] = handler;
+        CONNECTING_STATES.set(blockState);
+    }
+
+    static BlockData getBlockData(int blockState) {
+        return blockState >= 0 && blockState < blockConnectionData.length ? blockConnectionData[blockState] : null;
+    }
+
+    static boolean isOccluding(int blockState) {
+        return blockState >= 0 && OCCLUDING_STATES.get(blockState);
     }
 
     public static int getId(String key) {
@@ -62,7 +62,7 @@ public class DoorConnectionHandler extends ConnectionHandler {
 
             CONNECTED_STATES.put(getStates(doorData), id);
 
-            ConnectionData.connectionHandlerMap.put(id, connectionHandler);
+            ConnectionData.registerHandler(id, connectionHandler);
         };
     }
 
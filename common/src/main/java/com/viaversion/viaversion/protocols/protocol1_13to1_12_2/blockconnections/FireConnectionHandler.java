@@ -59,7 +59,7 @@ public class FireConnectionHandler extends ConnectionHandler {
             } else if (key.equals("minecraft:fire")) {
                 int id = blockData.getSavedBlockStateId();
                 CONNECTED_BLOCKS[getStates(blockData)] = id;
-                ConnectionData.connectionHandlerMap.put(id, connectionHandler);
+                ConnectionData.registerHandler(id, connectionHandler);
             }
         };
     }
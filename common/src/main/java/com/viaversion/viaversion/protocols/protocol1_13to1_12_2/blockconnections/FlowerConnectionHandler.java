@@ -42,7 +42,7 @@ public class FlowerConnectionHandler extends ConnectionHandler {
         final FlowerConnectionHandler handler = new FlowerConnectionHandler();
         return blockData -> {
             if (baseFlower.contains(blockData.getMinecraftKey())) {
-                ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), handler);
+                ConnectionData.registerHandler(blockData.getSavedBlockStateId(), handler);
                 if (blockData.getValue("half").equals("lower")) {
                     blockData.set("half", "upper");
                     FLOWERS.put(blockData.getSavedBlockStateId(), blockData.getBlockStateId());
@@ -40,7 +40,7 @@ public class RedstoneConnectionHandler extends ConnectionHandler {
             }
 
             REDSTONE.add(blockData.getSavedBlockStateId());
-            ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), connectionHandler);
+            ConnectionData.registerHandler(blockData.getSavedBlockStateId(), connectionHandler);
             CONNECTED_BLOCK_STATES.put(getStates(blockData), blockData.getSavedBlockStateId());
             POWER_MAPPINGS.put(blockData.getSavedBlockStateId(), Integer.parseInt(blockData.getValue("power")));
         };
@@ -87,18 +87,18 @@ public class RedstoneConnectionHandler extends ConnectionHandler {
             return 1; //side
         }
         int up = getBlockData(user, relative.getRelative(BlockFace.TOP));
-        if (REDSTONE.contains(up) && !ConnectionData.OCCLUDING_STATES.contains(getBlockData(user, position.getRelative(BlockFace.TOP)))) {
+        if (REDSTONE.contains(up) && !ConnectionData.isOccluding(getBlockData(user, position.getRelative(BlockFace.TOP)))) {
             return 2; //"up"
         }
         int down = getBlockData(user, relative.getRelative(BlockFace.BOTTOM));
-        if (REDSTONE.contains(down) && !ConnectionData.OCCLUDING_STATES.contains(getBlockData(user, relative))) {
+        if (REDSTONE.contains(down) && !ConnectionData.isOccluding(getBlockData(user, relative))) {
             return 1; //side
         }
         return 0; //none
     }
 
     private boolean connects(BlockFace side, int blockState) {
-        final BlockData blockData = ConnectionData.blockConnectionData.get(blockState);
+        final BlockData blockData = ConnectionData.getBlockData(blockState);
         return blockData != null && blockData.connectsTo(BLOCK_CONNECTION_TYPE_ID, side.opposite(), false);
     }
 }
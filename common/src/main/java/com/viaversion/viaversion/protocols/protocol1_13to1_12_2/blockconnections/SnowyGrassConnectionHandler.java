@@ -41,14 +41,14 @@ public class SnowyGrassConnectionHandler extends ConnectionHandler {
         final SnowyGrassConnectionHandler handler = new SnowyGrassConnectionHandler();
         return blockData -> {
             if (snowyGrassBlocks.contains(blockData.getMinecraftKey())) {
-                ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), handler);
+                ConnectionData.registerHandler(blockData.getSavedBlockStateId(), handler);
                 blockData.set("snowy", "true");
                 GRASS_BLOCKS.put(new GrassBlock(blockData.getSavedBlockStateId(), true), blockData.getBlockStateId());
                 blockData.set("snowy", "false");
                 GRASS_BLOCKS.put(new GrassBlock(blockData.getSavedBlockStateId(), false), blockData.getBlockStateId());
             }
             if (blockData.getMinecraftKey().equals("minecraft:snow") || blockData.getMinecraftKey().equals("minecraft:snow_block")) {
-                ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), handler);
+                ConnectionData.registerHandler(blockData.getSavedBlockStateId(), handler);
                 SnowyGrassConnectionHandler.SNOWY_GRASS_BLOCKS.add(blockData.getSavedBlockStateId());
             }
         };
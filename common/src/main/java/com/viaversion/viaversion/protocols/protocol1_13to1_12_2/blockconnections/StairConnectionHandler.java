@@ -89,7 +89,7 @@ public class StairConnectionHandler extends ConnectionHandler {
             STAIR_DATA_MAP.put(blockData.getSavedBlockStateId(), stairData);
             CONNECTED_BLOCKS.put(getStates(stairData), blockData.getSavedBlockStateId());
 
-            ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), connectionHandler);
+            ConnectionData.registerHandler(blockData.getSavedBlockStateId(), connectionHandler);
         };
     }
 
@@ -47,7 +47,7 @@ public class TripwireConnectionHandler extends ConnectionHandler {
                 TRIPWIRE_DATA_MAP.put(blockData.getSavedBlockStateId(), tripwireData);
                 CONNECTED_BLOCKS[getStates(blockData)] = blockData.getSavedBlockStateId();
 
-                ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), connectionHandler);
+                ConnectionData.registerHandler(blockData.getSavedBlockStateId(), connectionHandler);
             }
         };
     }
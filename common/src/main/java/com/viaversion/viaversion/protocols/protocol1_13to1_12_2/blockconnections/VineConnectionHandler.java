@@ -32,7 +32,7 @@ class VineConnectionHandler extends ConnectionHandler {
             if (!blockData.getMinecraftKey().equals("minecraft:vine")) return;
 
             VINES.add(blockData.getSavedBlockStateId());
-            ConnectionData.connectionHandlerMap.put(blockData.getSavedBlockStateId(), connectionHandler);
+            ConnectionData.registerHandler(blockData.getSavedBlockStateId(), connectionHandler);
         };
     }
 
@@ -56,6 +56,6 @@ class VineConnectionHandler extends ConnectionHandler {
     }
 
     private boolean isAttachedToBlock(UserConnection user, Position position, BlockFace blockFace) {
-        return ConnectionData.OCCLUDING_STATES.contains(getBlockData(user, position.getRelative(blockFace)));
+        return ConnectionData.isOccluding(getBlockData(user, position.getRelative(blockFace)));
     }
 }
@@ -17,14 +17,15 @@
  */
 package com.viaversion.viaversion.protocols.protocol1_13to1_12_2.data;
 
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.IntArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.github.steveice10.opennbt.tag.builtin.Tag;
 import com.google.common.collect.ObjectArrays;
-import com.google.gson.reflect.TypeToken;
-import com.viaversion.viaversion.util.GsonUtil;
+import com.viaversion.viaversion.api.data.MappingDataLoader;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,38 +36,31 @@ public class BlockIdData {
     public static Int2ObjectMap<String> numberIdToString;
 
     public static void init() {
-        InputStream stream = MappingData.class.getClassLoader()
-                .getResourceAsStream("assets/viaversion/data/blockIds1.12to1.13.json");
-        try (InputStreamReader reader = new InputStreamReader(stream)) {
-            Map<String, String[]> map = GsonUtil.getGson().fromJson(
-                    reader,
-                    new TypeToken<Map<String, String[]>>() {
-                    }.getType());
-            blockIdMapping = new HashMap<>(map);
-            fallbackReverseMapping = new HashMap<>();
-            for (Map.Entry<String, String[]> entry : blockIdMapping.entrySet()) {
-                for (String val : entry.getValue()) {
-                    String[] previous = fallbackReverseMapping.get(val);
-                    if (previous == null) previous = PREVIOUS;
-                    fallbackReverseMapping.put(val, ObjectArrays.concat(previous, entry.getKey()));
-                }
+        CompoundTag blockIds = MappingDataLoader.loadNBT("blockIds1.12to1.13.nbt");
+        blockIdMapping = new HashMap<>(blockIds.size());
+        fallbackReverseMapping = new HashMap<>();
+        for (Map.Entry<String, Tag> entry : blockIds.entrySet()) {
+            ListTag valuesTag = (ListTag) entry.getValue();
+            String[] values = new String[valuesTag.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = ((StringTag) valuesTag.get(i)).getValue();
+            }
+            blockIdMapping.put(entry.getKey(), values);
+
+            for (String val : values) {
+                String[] previous = fallbackReverseMapping.get(val);
+                if (previous == null) previous = PREVIOUS;
+                fallbackReverseMapping.put(val, ObjectArrays.concat(previous, entry.getKey()));
             }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
 
-        InputStream blockS = MappingData.class.getClassLoader()
-                .getResourceAsStream("assets/viaversion/data/blockNumberToString1.12.json");
-        try (InputStreamReader blockR = new InputStreamReader(blockS)) {
-            Map<Integer, String> map = GsonUtil.getGson().fromJson(
-                    blockR,
-                    new TypeToken<Map<Integer, String>>() {
-                    }.getType()
-            );
-            numberIdToString = new Int2ObjectOpenHashMap<>(map);
-        } catch (IOException e) {
-            e.printStackTrace();
+        CompoundTag blockNumbers = MappingDataLoader.loadNBT("blockNumberToString1.12.nbt");
+        IntArrayTag idsTag = blockNumbers.get("ids");
+        int[] ids = idsTag.getValue();
+        ListTag names = blockNumbers.get("names");
+        numberIdToString = new Int2ObjectOpenHashMap<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            numberIdToString.put(ids[i], ((StringTag) names.get(i)).getValue());
         }
-        // Ignored
     }
 }
@@ -19,6 +19,7 @@ package com.viaversion.viaversion.protocols.protocol1_13to1_12_2.data;
 
 import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
 import com.github.steveice10.opennbt.tag.builtin.IntArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
 import com.github.steveice10.opennbt.tag.builtin.StringTag;
 import com.github.steveice10.opennbt.tag.builtin.Tag;
 import com.google.common.collect.BiMap;
@@ -26,14 +27,12 @@ import com.google.common.collect.HashBiMap;
 import com.google.common.io.CharStreams;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.reflect.TypeToken;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.data.BiMappings;
 import com.viaversion.viaversion.api.data.Int2IntMapBiMappings;
 import com.viaversion.viaversion.api.data.MappingDataBase;
 import com.viaversion.viaversion.api.data.MappingDataLoader;
 import com.viaversion.viaversion.api.data.Mappings;
-import com.viaversion.viaversion.util.GsonUtil;
 import com.viaversion.viaversion.util.Int2IntBiHashMap;
 import com.viaversion.viaversion.util.Key;
 import java.io.IOException;
@@ -81,23 +80,31 @@ public class MappingData extends MappingDataBase {
             blockMappings.setNewId(1557, 3986); // chiseled stone bricks
         }
 
-        JsonObject object = MappingDataLoader.loadFromDataDir("channelmappings-1.13.json");
+        // User overrides in the data folder are still read as json, the bundled defaults are converted to nbt at build time
+        JsonObject object = MappingDataLoader.loadFromDataFolder("channelmappings-1.13.json");
         if (object != null) {
             for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
-                String oldChannel = entry.getKey();
-                String newChannel = entry.getValue().getAsString();
-                if (!isValid1_13Channel(newChannel)) {
-                    Via.getPlatform().getLogger().warning("Channel '" + newChannel + "' is not a valid 1.13 plugin channel, please check your configuration!");
-                    continue;
-                }
-                channelMappings.put(oldChannel, newChannel);
+                addChannelMapping(entry.getKey(), entry.getValue().getAsString());
+            }
+        } else {
+            CompoundTag channelMappingsTag = MappingDataLoader.loadNBT("channelmappings-1.13.nbt");
+            for (Map.Entry<String, Tag> entry : channelMappingsTag.entrySet()) {
+                addChannelMapping(entry.getKey(), ((StringTag) entry.getValue()).getValue());
             }
         }
 
-        Map<String, String> translationMappingData = GsonUtil.getGson().fromJson(
-                new InputStreamReader(MappingData.class.getClassLoader().getResourceAsStream("assets/viaversion/data/mapping-lang-1.12-1.13.json")),
-                new TypeToken<Map<String, String>>() {
-                }.getType());
+        // Unchanged keys map to themselves
+        CompoundTag translationMappingTag = MappingDataLoader.loadNBT("mapping-lang-1.12-1.13.nbt");
+        ListTag unchangedKeys = translationMappingTag.get("unchanged");
+        CompoundTag changedKeys = translationMappingTag.get("changed");
+        Map<String, String> translationMappingData = new HashMap<>(unchangedKeys.size() + changedKeys.size());
+        for (Tag keyTag : unchangedKeys) {
+            String key = ((StringTag) keyTag).getValue();
+            translationMappingData.put(key, key);
+        }
+        for (Map.Entry<String, Tag> entry : changedKeys.entrySet()) {
+            translationMappingData.put(entry.getKey(), ((StringTag) entry.getValue()).getValue());
+        }
 
         String[] unmappedTranslationLines;
         try (Reader reader = new InputStreamReader(MappingData.class.getClassLoader()
@@ -121,10 +128,10 @@ public class MappingData extends MappingDataBase {
             String translation = keyAndTranslation[1].replaceAll("%(\\d\\$)?d", "%$1s").trim();
             mojangTranslation.put(key, translation);
 
-            // Null values in the file mean the key did not change AND the translation has the same amount of placeholders still
-            if (translationMappingData.containsKey(key)) {
-                String mappedKey = translationMappingData.get(key);
-                translateMapping.put(key, mappedKey != null ? mappedKey : key);
+            // Unchanged keys in the file mean the key did not change AND the translation has the same amount of placeholders still
+            String mappedKey = translationMappingData.get(key);
+            if (mappedKey != null) {
+                translateMapping.put(key, mappedKey);
             }
         }
     }
@@ -169,6 +176,14 @@ public class MappingData extends MappingDataBase {
         return newId;
     }
 
+    private void addChannelMapping(String oldChannel, String newChannel) {
+        if (!isValid1_13Channel(newChannel)) {
+            Via.getPlatform().getLogger().warning("Channel '" + newChannel + "' is not a valid 1.13 plugin channel, please check your configuration!");
+            return;
+        }
+        channelMappings.put(oldChannel, newChannel);
+    }
+
     public static boolean isValid1_13Channel(String channelId) {
         return channelId.matches("([0-9a-z_.-]+:)?[0-9a-z_/.-]+");
     }
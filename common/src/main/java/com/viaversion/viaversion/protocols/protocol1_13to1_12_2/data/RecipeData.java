@@ -17,34 +17,75 @@
  */
 package com.viaversion.viaversion.protocols.protocol1_13to1_12_2.data;
 
-import com.google.gson.reflect.TypeToken;
+import com.github.steveice10.opennbt.tag.builtin.CompoundTag;
+import com.github.steveice10.opennbt.tag.builtin.FloatTag;
+import com.github.steveice10.opennbt.tag.builtin.IntArrayTag;
+import com.github.steveice10.opennbt.tag.builtin.IntTag;
+import com.github.steveice10.opennbt.tag.builtin.ListTag;
+import com.github.steveice10.opennbt.tag.builtin.StringTag;
+import com.github.steveice10.opennbt.tag.builtin.Tag;
+import com.viaversion.viaversion.api.data.MappingDataLoader;
 import com.viaversion.viaversion.api.minecraft.item.DataItem;
-import com.viaversion.viaversion.util.GsonUtil;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class RecipeData {
     public static Map<String, Recipe> recipes;
 
     public static void init() {
-        InputStream stream = MappingData.class.getClassLoader()
-                .getResourceAsStream("assets/viaversion/data/itemrecipes1_12_2to1_13.json");
-        InputStreamReader reader = new InputStreamReader(stream);
-        try {
-            recipes = GsonUtil.getGson().fromJson(
-                    reader,
-                    new TypeToken<Map<String, Recipe>>() {
-                    }.getType()
-            );
-        } finally {
-            try {
-                reader.close();
-            } catch (IOException ignored) {
-                // Ignored
+        CompoundTag recipesTag = MappingDataLoader.loadNBT("itemrecipes1_12_2to1_13.nbt");
+        recipes = new LinkedHashMap<>(recipesTag.size());
+        for (Map.Entry<String, Tag> entry : recipesTag.entrySet()) {
+            recipes.put(entry.getKey(), readRecipe((CompoundTag) entry.getValue()));
+        }
+    }
+
+    private static Recipe readRecipe(CompoundTag tag) {
+        Recipe recipe = new Recipe();
+        recipe.setType(tag.<StringTag>get("type").getValue());
+        StringTag group = tag.get("group");
+        if (group != null) {
+            recipe.setGroup(group.getValue());
+        }
+        IntTag width = tag.get("width");
+        if (width != null) {
+            recipe.setWidth(width.asInt());
+        }
+        IntTag height = tag.get("height");
+        if (height != null) {
+            recipe.setHeight(height.asInt());
+        }
+        FloatTag experience = tag.get("experience");
+        if (experience != null) {
+            recipe.setExperience(experience.asFloat());
+        }
+        IntTag cookingTime = tag.get("cookingTime");
+        if (cookingTime != null) {
+            recipe.setCookingTime(cookingTime.asInt());
+        }
+        IntArrayTag ingredient = tag.get("ingredient");
+        if (ingredient != null) {
+            recipe.setIngredient(readItems(ingredient.getValue()));
+        }
+        ListTag ingredients = tag.get("ingredients");
+        if (ingredients != null) {
+            DataItem[][] items = new DataItem[ingredients.size()][];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = readItems(((IntArrayTag) ingredients.get(i)).getValue());
             }
+            recipe.setIngredients(items);
+        }
+        recipe.setResult(readItems(tag.<IntArrayTag>get("result").getValue())[0]);
+        return recipe;
+    }
+
+    private static DataItem[] readItems(int[] data) {
+        // Items are stored as id/amount pairs
+        DataItem[] items = new DataItem[data.length / 2];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new DataItem(data[i * 2], (byte) data[i * 2 + 1], (short) 0, null);
         }
+        return items;
     }
 
     public static class Recipe {
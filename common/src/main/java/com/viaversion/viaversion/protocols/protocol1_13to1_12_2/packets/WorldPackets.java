@@ -331,8 +331,8 @@ public class WorldPackets {
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
             BlockStorage storage = wrapper.user().get(BlockStorage.class);
 
-            Chunk1_9_3_4Type type = new Chunk1_9_3_4Type(clientWorld);
-            Chunk1_13Type type1_13 = new Chunk1_13Type(clientWorld);
+            Chunk1_9_3_4Type type = clientWorld.chunkType(Chunk1_9_3_4Type.class, Chunk1_9_3_4Type::new);
+            Chunk1_13Type type1_13 = clientWorld.chunkType(Chunk1_13Type.class, Chunk1_13Type::new);
             Chunk chunk = wrapper.read(type);
             wrapper.write(type1_13, chunk);
 
@@ -45,6 +45,17 @@ public class MappingData extends MappingDataBase {
         }
     }
 
+    @Override
+    protected boolean cacheable() {
+        return true;
+    }
+
+    @Override
+    protected boolean extrasUseMappingsTag() {
+        // The extras are read from their own files
+        return false;
+    }
+
     public IntSet getMotionBlocking() {
         return motionBlocking;
     }
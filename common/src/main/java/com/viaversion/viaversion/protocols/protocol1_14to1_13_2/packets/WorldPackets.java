@@ -126,7 +126,7 @@ public class WorldPackets {
 
         protocol.registerClientbound(ClientboundPackets1_13.CHUNK_DATA, wrapper -> {
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
-            Chunk chunk = wrapper.read(new Chunk1_13Type(clientWorld));
+            Chunk chunk = wrapper.read(clientWorld.chunkType(Chunk1_13Type.class, Chunk1_13Type::new));
             wrapper.write(new Chunk1_14Type(), chunk);
 
             int[] motionBlocking = new int[16 * 16];
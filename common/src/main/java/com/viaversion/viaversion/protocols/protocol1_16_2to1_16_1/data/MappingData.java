@@ -56,6 +56,17 @@ public class MappingData extends MappingDataBase {
         }
     }
 
+    @Override
+    protected boolean cacheable() {
+        return true;
+    }
+
+    @Override
+    protected boolean extrasUseMappingsTag() {
+        // The extras are read from their own files
+        return false;
+    }
+
     public Map<String, CompoundTag> getDimensionDataMap() {
         return dimensionDataMap;
     }
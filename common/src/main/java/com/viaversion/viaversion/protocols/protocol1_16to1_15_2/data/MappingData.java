@@ -44,6 +44,17 @@ public class MappingData extends MappingDataBase {
         attributeMappings.put("generic.armorToughness", "minecraft:generic.armor_toughness");
     }
 
+    @Override
+    protected boolean cacheable() {
+        return true;
+    }
+
+    @Override
+    protected boolean extrasUseMappingsTag() {
+        // The extras are read from their own files
+        return false;
+    }
+
     public BiMap<String, String> getAttributeMappings() {
         return attributeMappings;
     }
@@ -134,7 +134,7 @@ public final class WorldPackets {
             }
 
             // Normal full chunk writing
-            wrapper.write(new Chunk1_17Type(chunk.getSections().length), chunk);
+            wrapper.write(Chunk1_17Type.of(chunk.getSections().length), chunk);
 
             // 1.17 uses a bitset for the mask
             chunk.setChunkMask(BitSet.valueOf(new long[]{chunk.getBitmask()}));
@@ -31,9 +31,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class Chunk1_17Type extends Type<Chunk> {
     private static final CompoundTag[] EMPTY_COMPOUNDS = new CompoundTag[0];
+    private static final Map<Integer, Chunk1_17Type> TYPES = new ConcurrentHashMap<>();
+    private static volatile Chunk1_17Type lastType;
     private final int ySectionCount;
 
     public Chunk1_17Type(int ySectionCount) {
@@ -42,6 +46,30 @@ public final class Chunk1_17Type extends Type<Chunk> {
         this.ySectionCount = ySectionCount;
     }
 
+    /**
+     * Returns a chunk type for the given world height, shared with other connections.
+     *
+     * @param ySectionCount number of sections in the world
+     * @return chunk type
+     */
+    public static Chunk1_17Type of(int ySectionCount) {
+        Chunk1_17Type type = lastType;
+        if (type != null && type.ySectionCount == ySectionCount) {
+            return type;
+        }
+
+        type = TYPES.get(ySectionCount);
+        if (type == null) {
+            type = new Chunk1_17Type(ySectionCount);
+            Chunk1_17Type previous = TYPES.putIfAbsent(ySectionCount, type);
+            if (previous != null) {
+                type = previous;
+            }
+        }
+        lastType = type;
+        return type;
+    }
+
     @Override
     public Chunk read(ByteBuf input) throws Exception {
         int chunkX = input.readInt();
@@ -114,4 +114,9 @@ public final class Protocol1_18To1_17_1 extends AbstractProtocol<ClientboundPack
     public InventoryPackets getItemRewriter() {
         return itemRewriter;
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
@@ -27,9 +27,9 @@ import com.viaversion.viaversion.api.minecraft.blockentity.BlockEntity;
 import com.viaversion.viaversion.api.minecraft.blockentity.BlockEntityImpl;
 import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
 import com.viaversion.viaversion.api.minecraft.chunks.Chunk1_18;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkPool;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
-import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
-import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.protocol.remapper.PacketHandlers;
 import com.viaversion.viaversion.api.type.Type;
@@ -103,7 +103,7 @@ public final class WorldPackets {
 
         protocol.registerClientbound(ClientboundPackets1_17_1.CHUNK_DATA, wrapper -> {
             final EntityTracker tracker = protocol.getEntityRewriter().tracker(wrapper.user());
-            final Chunk oldChunk = wrapper.read(new Chunk1_17Type(tracker.currentWorldSectionHeight()));
+            final Chunk oldChunk = wrapper.read(Chunk1_17Type.of(tracker.currentWorldSectionHeight()));
 
             final List<BlockEntity> blockEntities = new ArrayList<>(oldChunk.getBlockEntities().size());
             for (final CompoundTag tag : oldChunk.getBlockEntities()) {
@@ -133,17 +133,17 @@ public final class WorldPackets {
                 ChunkSection section = sections[i];
                 if (section == null) {
                     // There's no section mask anymore
-                    section = new ChunkSectionImpl();
+                    section = ChunkPool.section();
                     sections[i] = section;
                     section.setNonAirBlocksCount(0);
 
-                    final DataPaletteImpl blockPalette = new DataPaletteImpl(ChunkSection.SIZE);
+                    final DataPalette blockPalette = ChunkPool.palette(ChunkSection.SIZE);
                     blockPalette.addId(0);
                     section.addPalette(PaletteType.BLOCKS, blockPalette);
                 }
 
                 // Fill biome palette
-                final DataPaletteImpl biomePalette = new DataPaletteImpl(ChunkSection.BIOME_SIZE);
+                final DataPalette biomePalette = ChunkPool.palette(ChunkSection.BIOME_SIZE);
                 section.addPalette(PaletteType.BIOMES, biomePalette);
 
                 final int offset = i * ChunkSection.BIOME_SIZE;
@@ -155,7 +155,7 @@ public final class WorldPackets {
             }
 
             final Chunk chunk = new Chunk1_18(oldChunk.getX(), oldChunk.getZ(), sections, oldChunk.getHeightMap(), blockEntities);
-            wrapper.write(new Chunk1_18Type(tracker.currentWorldSectionHeight(),
+            wrapper.write(Chunk1_18Type.of(tracker.currentWorldSectionHeight(),
                     MathUtil.ceilLog2(protocol.getMappingData().getBlockStateMappings().mappedSize()),
                     MathUtil.ceilLog2(tracker.biomesSent())), chunk);
 
@@ -183,14 +183,8 @@ public final class WorldPackets {
                 wrapper.write(Type.LONG_ARRAY_PRIMITIVE, light.blockLightMask());
                 wrapper.write(Type.LONG_ARRAY_PRIMITIVE, light.emptySkyLightMask());
                 wrapper.write(Type.LONG_ARRAY_PRIMITIVE, light.emptyBlockLightMask());
-                wrapper.write(Type.VAR_INT, light.skyLight().length);
-                for (final byte[] skyLight : light.skyLight()) {
-                    wrapper.write(Type.BYTE_ARRAY_PRIMITIVE, skyLight);
-                }
-                wrapper.write(Type.VAR_INT, light.blockLight().length);
-                for (final byte[] blockLight : light.blockLight()) {
-                    wrapper.write(Type.BYTE_ARRAY_PRIMITIVE, blockLight);
-                }
+                light.writeSkyLight(wrapper);
+                light.writeBlockLight(wrapper);
             }
         });
 
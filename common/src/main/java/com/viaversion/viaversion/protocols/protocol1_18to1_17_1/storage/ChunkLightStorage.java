@@ -17,24 +17,35 @@
  */
 package com.viaversion.viaversion.protocols.protocol1_18to1_17_1.storage;
 
+import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.StorableObject;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.type.Type;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import java.util.Arrays;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class ChunkLightStorage implements StorableObject {
 
-    private final Map<Long, ChunkLight> lightPackets = new HashMap<>();
-    private final Set<Long> loadedChunks = new HashSet<>();
+    private static final int LIGHT_LENGTH = 2048;
+    // Only used as markers for uniform sections, never handed out
+    private static final byte[] EMPTY_LIGHT = new byte[LIGHT_LENGTH];
+    private static final byte[] FULL_LIGHT = new byte[LIGHT_LENGTH];
+
+    private final Long2ObjectMap<ChunkLight> lightPackets = new Long2ObjectOpenHashMap<>();
+    private final LongSet loadedChunks = new LongOpenHashSet();
+    private long storedBytes;
 
     public void storeLight(final int x, final int z, final ChunkLight chunkLight) {
-        lightPackets.put(getChunkSectionIndex(x, z), chunkLight);
+        final ChunkLight previous = lightPackets.put(getChunkSectionIndex(x, z), chunkLight);
+        changed(previous == null ? 1 : 0, chunkLight.storedBytes() - (previous != null ? previous.storedBytes() : 0));
     }
 
     public @Nullable ChunkLight removeLight(final int x, final int z) {
-        return lightPackets.remove(getChunkSectionIndex(x, z));
+        return removed(lightPackets.remove(getChunkSectionIndex(x, z)));
     }
 
     public @Nullable ChunkLight getLight(final int x, final int z) {
@@ -51,15 +62,35 @@ public final class ChunkLightStorage implements StorableObject {
 
     public void clear(final int x, final int z) {
         final long index = getChunkSectionIndex(x, z);
-        lightPackets.remove(index);
+        removed(lightPackets.remove(index));
         loadedChunks.remove(index);
     }
 
     public void clear() {
+        changed(-lightPackets.size(), -storedBytes);
         loadedChunks.clear();
         lightPackets.clear();
     }
 
+    @Override
+    public void onRemove() {
+        clear();
+    }
+
+    private @Nullable ChunkLight removed(@Nullable final ChunkLight light) {
+        if (light != null) {
+            changed(-1, -light.storedBytes());
+        }
+        return light;
+    }
+
+    private void changed(final int chunks, final long bytes) {
+        if (chunks != 0 || bytes != 0) {
+            storedBytes += bytes;
+            Via.getManager().metricsHandler().recordCachedLight(chunks, bytes);
+        }
+    }
+
     private long getChunkSectionIndex(final int x, final int z) {
         return ((x & 0x3FFFFFFL) << 38) | (z & 0x3FFFFFFL);
     }
@@ -72,7 +103,12 @@ public final class ChunkLightStorage implements StorableObject {
         private final long[] emptyBlockLightMask;
         private final byte[][] skyLight;
         private final byte[][] blockLight;
+        private final int storedBytes;
 
+        /**
+         * Light arrays of sections that are completely dark or fully lit are not kept and recreated when written,
+         * the given light arrays must not be modified afterwards.
+         */
         public ChunkLight(final boolean trustEdges, final long[] skyLightMask, final long[] blockLightMask,
                           final long[] emptySkyLightMask, final long[] emptyBlockLightMask, final byte[][] skyLight, final byte[][] blockLight) {
             this.trustEdges = trustEdges;
@@ -82,6 +118,41 @@ public final class ChunkLightStorage implements StorableObject {
             this.emptyBlockLightMask = emptyBlockLightMask;
             this.skyLight = skyLight;
             this.blockLight = blockLight;
+
+            final int masksLength = skyLightMask.length + blockLightMask.length + emptySkyLightMask.length + emptyBlockLightMask.length;
+            this.storedBytes = masksLength * Long.BYTES + deduplicate(skyLight) + deduplicate(blockLight);
+        }
+
+        /**
+         * Replaces uniform light arrays with markers.
+         *
+         * @param light light arrays of the sections
+         * @return number of bytes still held by unshared light arrays
+         */
+        private static int deduplicate(final byte[][] light) {
+            int bytes = 0;
+            for (int i = 0; i < light.length; i++) {
+                final byte[] section = light[i];
+                if (section.length != LIGHT_LENGTH) {
+                    bytes += section.length;
+                } else if (isFilledWith(section, (byte) 0)) {
+                    light[i] = EMPTY_LIGHT;
+                } else if (isFilledWith(section, (byte) 0xFF)) {
+                    light[i] = FULL_LIGHT;
+                } else {
+                    bytes += section.length;
+                }
+            }
+            return bytes;
+        }
+
+        private static boolean isFilledWith(final byte[] array, final byte value) {
+            for (final byte b : array) {
+                if (b != value) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         public boolean trustEdges() {
@@ -104,12 +175,32 @@ public final class ChunkLightStorage implements StorableObject {
             return emptyBlockLightMask;
         }
 
-        public byte[][] skyLight() {
-            return skyLight;
+        public void writeSkyLight(final PacketWrapper wrapper) {
+            writeLight(wrapper, skyLight);
+        }
+
+        public void writeBlockLight(final PacketWrapper wrapper) {
+            writeLight(wrapper, blockLight);
+        }
+
+        private static void writeLight(final PacketWrapper wrapper, final byte[][] light) {
+            wrapper.write(Type.VAR_INT, light.length);
+            for (final byte[] section : light) {
+                // Uniform sections get a new array, as later protocols may modify the written ones
+                if (section == EMPTY_LIGHT) {
+                    wrapper.write(Type.BYTE_ARRAY_PRIMITIVE, new byte[LIGHT_LENGTH]);
+                } else if (section == FULL_LIGHT) {
+                    final byte[] fullLight = new byte[LIGHT_LENGTH];
+                    Arrays.fill(fullLight, (byte) 0xFF);
+                    wrapper.write(Type.BYTE_ARRAY_PRIMITIVE, fullLight);
+                } else {
+                    wrapper.write(Type.BYTE_ARRAY_PRIMITIVE, section);
+                }
+            }
         }
 
-        public byte[][] blockLight() {
-            return blockLight;
+        int storedBytes() {
+            return storedBytes;
         }
     }
 }
@@ -30,16 +30,53 @@ import com.viaversion.viaversion.api.type.types.version.Types1_18;
 import io.netty.buffer.ByteBuf;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class Chunk1_18Type extends Type<Chunk> {
+    // Shared instances keyed by section count and global palette bits
+    private static final Map<Integer, Chunk1_18Type> TYPES = new ConcurrentHashMap<>();
+    private static volatile Chunk1_18Type lastType;
     private final ChunkSectionType1_18 sectionType;
     private final int ySectionCount;
+    private final int globalPaletteBlockBits;
+    private final int globalPaletteBiomeBits;
 
     public Chunk1_18Type(final int ySectionCount, final int globalPaletteBlockBits, final int globalPaletteBiomeBits) {
         super(Chunk.class);
         Preconditions.checkArgument(ySectionCount > 0);
         this.sectionType = new ChunkSectionType1_18(globalPaletteBlockBits, globalPaletteBiomeBits);
         this.ySectionCount = ySectionCount;
+        this.globalPaletteBlockBits = globalPaletteBlockBits;
+        this.globalPaletteBiomeBits = globalPaletteBiomeBits;
+    }
+
+    /**
+     * Returns a chunk type for the given world height and global palette sizes, shared with other connections.
+     *
+     * @param ySectionCount          number of sections in the world
+     * @param globalPaletteBlockBits bits per value of the global block palette
+     * @param globalPaletteBiomeBits bits per value of the global biome palette
+     * @return chunk type
+     */
+    public static Chunk1_18Type of(final int ySectionCount, final int globalPaletteBlockBits, final int globalPaletteBiomeBits) {
+        final Chunk1_18Type last = lastType;
+        if (last != null && last.ySectionCount == ySectionCount
+                && last.globalPaletteBlockBits == globalPaletteBlockBits && last.globalPaletteBiomeBits == globalPaletteBiomeBits) {
+            return last;
+        }
+
+        final int key = ySectionCount << 16 | globalPaletteBlockBits << 8 | globalPaletteBiomeBits;
+        Chunk1_18Type type = TYPES.get(key);
+        if (type == null) {
+            type = new Chunk1_18Type(ySectionCount, globalPaletteBlockBits, globalPaletteBiomeBits);
+            final Chunk1_18Type previous = TYPES.putIfAbsent(key, type);
+            if (previous != null) {
+                type = previous;
+            }
+        }
+        lastType = type;
+        return type;
     }
 
     @Override
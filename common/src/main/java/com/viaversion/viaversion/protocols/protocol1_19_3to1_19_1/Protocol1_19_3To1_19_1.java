@@ -315,4 +315,9 @@ public final class Protocol1_19_3To1_19_1 extends AbstractProtocol<ClientboundPa
     public InventoryPackets getItemRewriter() {
         return itemRewriter;
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
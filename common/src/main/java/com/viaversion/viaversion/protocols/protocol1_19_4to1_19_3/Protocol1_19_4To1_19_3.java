@@ -127,4 +127,9 @@ public final class Protocol1_19_4To1_19_3 extends AbstractProtocol<ClientboundPa
     public InventoryPackets getItemRewriter() {
         return itemRewriter;
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
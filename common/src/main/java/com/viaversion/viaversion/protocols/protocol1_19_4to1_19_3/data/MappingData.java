@@ -40,6 +40,17 @@ public final class MappingData extends MappingDataBase {
         }
     }
 
+    @Override
+    protected boolean cacheable() {
+        return true;
+    }
+
+    @Override
+    protected boolean extrasUseMappingsTag() {
+        // The extras are read from their own files
+        return false;
+    }
+
     public CompoundTag damageTypesRegistry() {
         return damageTypesRegistry.clone();
     }
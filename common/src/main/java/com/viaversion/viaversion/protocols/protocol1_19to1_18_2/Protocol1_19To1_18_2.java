@@ -333,4 +333,9 @@ public final class Protocol1_19To1_18_2 extends AbstractProtocol<ClientboundPack
     public InventoryPackets getItemRewriter() {
         return itemRewriter;
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
@@ -51,6 +51,17 @@ public final class MappingData extends MappingDataBase {
         }
     }
 
+    @Override
+    protected boolean cacheable() {
+        return true;
+    }
+
+    @Override
+    protected boolean extrasUseMappingsTag() {
+        // The extras are read from their own files
+        return false;
+    }
+
     public @Nullable CompoundTag chatType(final int id) {
         return defaultChatTypes.get(id);
     }
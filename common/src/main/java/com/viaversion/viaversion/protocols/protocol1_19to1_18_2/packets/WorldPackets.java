@@ -46,7 +46,7 @@ public final class WorldPackets {
             final EntityTracker tracker = protocol.getEntityRewriter().tracker(wrapper.user());
             Preconditions.checkArgument(tracker.biomesSent() != 0, "Biome count not set");
             Preconditions.checkArgument(tracker.currentWorldSectionHeight() != 0, "Section height not set");
-            final Chunk1_18Type chunkType = new Chunk1_18Type(tracker.currentWorldSectionHeight(),
+            final Chunk1_18Type chunkType = Chunk1_18Type.of(tracker.currentWorldSectionHeight(),
                     MathUtil.ceilLog2(protocol.getMappingData().getBlockStateMappings().mappedSize()),
                     MathUtil.ceilLog2(tracker.biomesSent()));
             final Chunk chunk = wrapper.passthrough(chunkType);
@@ -252,6 +252,18 @@ public final class Protocol1_20_2To1_20 extends AbstractProtocol<ClientboundPack
         super.transform(direction, State.CONFIGURATION, packetWrapper);
     }
 
+    @Override
+    public int remappedPacketId(final UserConnection connection, final Direction direction, final State state, final int unmappedPacketId) {
+        if (direction == Direction.CLIENTBOUND) {
+            // Packets may have to be queued or redirected while bridging the configuration phase
+            final ConfigurationState configurationBridge = connection.get(ConfigurationState.class);
+            if (configurationBridge == null || configurationBridge.bridgePhase() != BridgePhase.NONE) {
+                return -1;
+            }
+        }
+        return super.remappedPacketId(connection, direction, state, unmappedPacketId);
+    }
+
     public static void sendConfigurationPackets(final UserConnection connection, final CompoundTag dimensionRegistry, @Nullable final LastResourcePack lastResourcePack) throws Exception {
         final ProtocolInfo protocolInfo = connection.getProtocolInfo();
         protocolInfo.setServerState(State.CONFIGURATION);
@@ -308,4 +320,9 @@ public final class Protocol1_20_2To1_20 extends AbstractProtocol<ClientboundPack
     public ItemRewriter<Protocol1_20_2To1_20> getItemRewriter() {
         return itemPacketRewriter;
     }
+
+    @Override
+    public boolean transformsUnmappedPackets() {
+        return true;
+    }
 }
@@ -121,12 +121,12 @@ public final class BlockItemPacketRewriter1_20_2 extends ItemRewriter<Clientboun
 
         protocol.registerClientbound(ClientboundPackets1_19_4.CHUNK_DATA, wrapper -> {
             final EntityTracker tracker = protocol.getEntityRewriter().tracker(wrapper.user());
-            final Type<Chunk> chunkType = new Chunk1_18Type(tracker.currentWorldSectionHeight(),
+            final Type<Chunk> chunkType = Chunk1_18Type.of(tracker.currentWorldSectionHeight(),
                     MathUtil.ceilLog2(protocol.getMappingData().getBlockStateMappings().size()),
                     MathUtil.ceilLog2(tracker.biomesSent()));
             final Chunk chunk = wrapper.read(chunkType);
 
-            final Type<Chunk> newChunkType = new ChunkType1_20_2(tracker.currentWorldSectionHeight(),
+            final Type<Chunk> newChunkType = ChunkType1_20_2.of(tracker.currentWorldSectionHeight(),
                     MathUtil.ceilLog2(protocol.getMappingData().getBlockStateMappings().mappedSize()),
                     MathUtil.ceilLog2(tracker.biomesSent()));
             wrapper.write(newChunkType, chunk);
@@ -30,16 +30,53 @@ import com.viaversion.viaversion.api.type.types.version.Types1_20_2;
 import io.netty.buffer.ByteBuf;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class ChunkType1_20_2 extends Type<Chunk> {
+    // Shared instances keyed by section count and global palette bits
+    private static final Map<Integer, ChunkType1_20_2> TYPES = new ConcurrentHashMap<>();
+    private static volatile ChunkType1_20_2 lastType;
     private final ChunkSectionType1_18 sectionType;
     private final int ySectionCount;
+    private final int globalPaletteBlockBits;
+    private final int globalPaletteBiomeBits;
 
     public ChunkType1_20_2(final int ySectionCount, final int globalPaletteBlockBits, final int globalPaletteBiomeBits) {
         super(Chunk.class);
         Preconditions.checkArgument(ySectionCount > 0);
         this.sectionType = new ChunkSectionType1_18(globalPaletteBlockBits, globalPaletteBiomeBits);
         this.ySectionCount = ySectionCount;
+        this.globalPaletteBlockBits = globalPaletteBlockBits;
+        this.globalPaletteBiomeBits = globalPaletteBiomeBits;
+    }
+
+    /**
+     * Returns a chunk type for the given world height and global palette sizes, shared with other connections.
+     *
+     * @param ySectionCount          number of sections in the world
+     * @param globalPaletteBlockBits bits per value of the global block palette
+     * @param globalPaletteBiomeBits bits per value of the global biome palette
+     * @return chunk type
+     */
+    public static ChunkType1_20_2 of(final int ySectionCount, final int globalPaletteBlockBits, final int globalPaletteBiomeBits) {
+        final ChunkType1_20_2 last = lastType;
+        if (last != null && last.ySectionCount == ySectionCount
+                && last.globalPaletteBlockBits == globalPaletteBlockBits && last.globalPaletteBiomeBits == globalPaletteBiomeBits) {
+            return last;
+        }
+
+        final int key = ySectionCount << 16 | globalPaletteBlockBits << 8 | globalPaletteBiomeBits;
+        ChunkType1_20_2 type = TYPES.get(key);
+        if (type == null) {
+            type = new ChunkType1_20_2(ySectionCount, globalPaletteBlockBits, globalPaletteBiomeBits);
+            final ChunkType1_20_2 previous = TYPES.putIfAbsent(key, type);
+            if (previous != null) {
+                type = previous;
+            }
+        }
+        lastType = type;
+        return type;
     }
 
     @Override
@@ -101,4 +101,9 @@ public final class Protocol1_20To1_19_4 extends AbstractProtocol<ClientboundPack
     public InventoryPackets getItemRewriter() {
         return itemRewriter;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
+}
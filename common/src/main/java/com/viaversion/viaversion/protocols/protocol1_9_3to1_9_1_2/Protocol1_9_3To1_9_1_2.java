@@ -87,8 +87,8 @@ public class Protocol1_9_3To1_9_1_2 extends AbstractProtocol<ClientboundPackets1
         registerClientbound(ClientboundPackets1_9.CHUNK_DATA, wrapper -> {
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
 
-            Chunk chunk = wrapper.read(new Chunk1_9_1_2Type(clientWorld));
-            wrapper.write(new Chunk1_9_3_4Type(clientWorld), chunk);
+            Chunk chunk = wrapper.read(clientWorld.chunkType(Chunk1_9_1_2Type.class, Chunk1_9_1_2Type::new));
+            wrapper.write(clientWorld.chunkType(Chunk1_9_3_4Type.class, Chunk1_9_3_4Type::new), chunk);
 
             List<CompoundTag> tags = chunk.getBlockEntities();
             for (int s = 0; s < chunk.getSections().length; s++) {
@@ -158,4 +158,9 @@ public class Protocol1_9_3To1_9_1_2 extends AbstractProtocol<ClientboundPackets1
             user.put(new ClientWorld(user));
         }
     }
+
+    @Override
+    public boolean hasThreadSafeChunkHandlers() {
+        return true;
+    }
 }
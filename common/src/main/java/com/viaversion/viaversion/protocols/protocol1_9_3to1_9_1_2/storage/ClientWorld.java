@@ -20,12 +20,17 @@ package com.viaversion.viaversion.protocols.protocol1_9_3to1_9_1_2.storage;
 import com.viaversion.viaversion.api.connection.StoredObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.minecraft.Environment;
+import com.viaversion.viaversion.api.type.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Stored up until 1.14 to be used in chunk sending.
  */
 public class ClientWorld extends StoredObject {
+    private final Map<Class<?>, Type<?>> chunkTypes = new ConcurrentHashMap<>();
     private Environment environment;
 
     public ClientWorld(final UserConnection connection) {
@@ -39,4 +44,22 @@ public class ClientWorld extends StoredObject {
     public void setEnvironment(int environmentId) {
         this.environment = Environment.getEnvironmentById(environmentId);
     }
+
+    /**
+     * Returns the chunk type of the given class for this world, only created once instead of for every chunk packet.
+     * The type has to read the environment from the world when it's used.
+     *
+     * @param typeClass   chunk type class
+     * @param constructor chunk type constructor
+     * @param <T>         chunk type
+     * @return chunk type for this world
+     */
+    public <T extends Type<?>> T chunkType(Class<T> typeClass, Function<ClientWorld, T> constructor) {
+        Type<?> type = chunkTypes.get(typeClass);
+        if (type == null) {
+            type = constructor.apply(this);
+            chunkTypes.put(typeClass, type);
+        }
+        return typeClass.cast(type);
+    }
 }
@@ -122,7 +122,7 @@ public class WorldPackets {
         protocol.registerClientbound(ClientboundPackets1_8.CHUNK_DATA, wrapper -> {
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
             ClientChunks clientChunks = wrapper.user().get(ClientChunks.class);
-            Chunk chunk = wrapper.read(new Chunk1_8Type(clientWorld));
+            Chunk chunk = wrapper.read(clientWorld.chunkType(Chunk1_8Type.class, Chunk1_8Type::new));
 
             long chunkHash = ClientChunks.toLong(chunk.getX(), chunk.getZ());
 
@@ -152,7 +152,7 @@ public class WorldPackets {
                     }
                 }
             } else {
-                Type<Chunk> chunkType = new Chunk1_9_1_2Type(clientWorld);
+                Type<Chunk> chunkType = clientWorld.chunkType(Chunk1_9_1_2Type.class, Chunk1_9_1_2Type::new);
                 wrapper.write(chunkType, chunk);
 
                 clientChunks.getLoadedChunks().add(chunkHash);
@@ -177,9 +177,9 @@ public class WorldPackets {
             wrapper.cancel(); // Cancel the packet from being sent
             ClientWorld clientWorld = wrapper.user().get(ClientWorld.class);
             ClientChunks clientChunks = wrapper.user().get(ClientChunks.class);
-            Chunk[] chunks = wrapper.read(new ChunkBulk1_8Type(clientWorld));
+            Chunk[] chunks = wrapper.read(clientWorld.chunkType(ChunkBulk1_8Type.class, ChunkBulk1_8Type::new));
 
-            Type<Chunk> chunkType = new Chunk1_9_1_2Type(clientWorld);
+            Type<Chunk> chunkType = clientWorld.chunkType(Chunk1_9_1_2Type.class, Chunk1_9_1_2Type::new);
             // Split into multiple chunk packets
             for (Chunk chunk : chunks) {
                 PacketWrapper chunkData = wrapper.create(ClientboundPackets1_9.CHUNK_DATA);
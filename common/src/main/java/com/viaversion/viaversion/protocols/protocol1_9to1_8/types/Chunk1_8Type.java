@@ -21,6 +21,7 @@ import com.viaversion.viaversion.api.minecraft.Environment;
 import com.viaversion.viaversion.api.minecraft.chunks.BaseChunk;
 import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionLight;
 import com.viaversion.viaversion.api.type.PartialType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.types.minecraft.BaseChunkType;
@@ -48,8 +49,8 @@ public class Chunk1_8Type extends PartialType<Chunk, ClientWorld> {
         final boolean fullChunk = input.readBoolean();
         final int bitmask = input.readUnsignedShort();
         final int dataLength = Type.VAR_INT.readPrimitive(input);
-        final byte[] data = new byte[dataLength];
-        input.readBytes(data);
+        // Decoded in place, the slice is only used until read returns
+        final ByteBuf data = input.readSlice(dataLength);
 
         // Check if the chunk is an unload packet and return early
         if (fullChunk && bitmask == 0) {
@@ -65,15 +66,25 @@ public class Chunk1_8Type extends PartialType<Chunk, ClientWorld> {
         output.writeInt(chunk.getZ());
         output.writeBoolean(chunk.isFullChunk());
         output.writeShort(chunk.getBitmask());
-        final byte[] data = serialize(chunk);
-        Type.VAR_INT.writePrimitive(output, data.length);
-        output.writeBytes(data);
+        Type.VAR_INT.writePrimitive(output, serializedLength(chunk));
+        serialize(chunk, output);
     }
 
     // Used for normal and bulk chunks
     public static Chunk deserialize(final int chunkX, final int chunkZ, final boolean fullChunk, final boolean skyLight, final int bitmask, final byte[] data) throws Exception {
         final ByteBuf input = Unpooled.wrappedBuffer(data);
+        try {
+            return deserialize(chunkX, chunkZ, fullChunk, skyLight, bitmask, input);
+        } finally {
+            input.release();
+        }
+    }
 
+    /**
+     * Reads the chunk data directly from the given buffer, advancing its reader index.
+     * The buffer is not released.
+     */
+    public static Chunk deserialize(final int chunkX, final int chunkZ, final boolean fullChunk, final boolean skyLight, final int bitmask, final ByteBuf input) throws Exception {
         final ChunkSection[] sections = new ChunkSection[16];
         int[] biomeData = null;
 
@@ -104,15 +115,45 @@ public class Chunk1_8Type extends PartialType<Chunk, ClientWorld> {
                 biomeData[i] = input.readUnsignedByte();
             }
         }
-        input.release();
 
         return new BaseChunk(chunkX, chunkZ, fullChunk, false, bitmask, sections, biomeData, new ArrayList<>());
     }
 
     // Used for normal and bulk chunks
     public static byte[] serialize(final Chunk chunk) throws Exception {
-        final ByteBuf output = Unpooled.buffer();
+        final ByteBuf output = Unpooled.buffer(serializedLength(chunk));
+        try {
+            serialize(chunk, output);
+            final byte[] data = new byte[output.readableBytes()];
+            output.readBytes(data);
+            return data;
+        } finally {
+            output.release();
+        }
+    }
 
+    /**
+     * Returns the number of bytes {@link #serialize(Chunk, ByteBuf)} will write for the given chunk.
+     */
+    public static int serializedLength(final Chunk chunk) {
+        int length = 0;
+        for (int i = 0; i < chunk.getSections().length; i++) {
+            if ((chunk.getBitmask() & 1 << i) == 0) continue;
+            length += ChunkSection.SIZE * 2 + ChunkSectionLight.LIGHT_LENGTH;
+            if (chunk.getSections()[i].getLight().hasSkyLight()) {
+                length += ChunkSectionLight.LIGHT_LENGTH;
+            }
+        }
+        if (chunk.isFullChunk() && chunk.getBiomeData() != null) {
+            length += chunk.getBiomeData().length;
+        }
+        return length;
+    }
+
+    /**
+     * Writes the chunk data directly into the given buffer.
+     */
+    public static void serialize(final Chunk chunk, final ByteBuf output) throws Exception {
         // Write blocks
         for (int i = 0; i < chunk.getSections().length; i++) {
             if ((chunk.getBitmask() & 1 << i) == 0) continue;
@@ -138,11 +179,6 @@ public class Chunk1_8Type extends PartialType<Chunk, ClientWorld> {
                 output.writeByte((byte) biome);
             }
         }
-        final byte[] data = new byte[output.readableBytes()];
-        output.readBytes(data);
-        output.release();
-
-        return data;
     }
 
 }
@@ -24,6 +24,7 @@ import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.types.minecraft.BaseChunkBulkType;
 import com.viaversion.viaversion.protocols.protocol1_9_3to1_9_1_2.storage.ClientWorld;
 import io.netty.buffer.ByteBuf;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class ChunkBulk1_8Type extends PartialType<Chunk[], ClientWorld> {
 
@@ -56,7 +57,9 @@ public class ChunkBulk1_8Type extends PartialType<Chunk[], ClientWorld> {
         for (int i = 0; i < chunks.length; i++) {
             final ChunkBulkSection chunkBulkSection = chunkInfo[i];
             chunkBulkSection.readData(input);
-            chunks[i] = Chunk1_8Type.deserialize(chunkBulkSection.chunkX, chunkBulkSection.chunkZ, true, skyLight, chunkBulkSection.bitmask, chunkBulkSection.getData());
+            chunks[i] = Chunk1_8Type.deserialize(chunkBulkSection.chunkX, chunkBulkSection.chunkZ, true, skyLight, chunkBulkSection.bitmask, chunkBulkSection.data);
+            // Don't keep a slice of the input around after it may have been released
+            chunkBulkSection.data = null;
         }
 
         return chunks;
@@ -85,7 +88,7 @@ public class ChunkBulk1_8Type extends PartialType<Chunk[], ClientWorld> {
         }
         // Write data
         for (Chunk c : chunks) {
-            output.writeBytes(Chunk1_8Type.serialize(c));
+            Chunk1_8Type.serialize(c, output);
         }
     }
 
@@ -93,18 +96,23 @@ public class ChunkBulk1_8Type extends PartialType<Chunk[], ClientWorld> {
         private final int chunkX;
         private final int chunkZ;
         private final int bitmask;
-        private final byte[] data;
+        private final int dataLength;
+        private ByteBuf data;
 
         public ChunkBulkSection(final ByteBuf input, final boolean skyLight) {
             this.chunkX = input.readInt();
             this.chunkZ = input.readInt();
             this.bitmask = input.readUnsignedShort();
             final int setSections = Integer.bitCount(this.bitmask);
-            this.data = new byte[setSections * (BLOCKS_BYTES + (skyLight ? 2 * LIGHT_BYTES : LIGHT_BYTES)) + BIOME_BYTES];
+            this.dataLength = setSections * (BLOCKS_BYTES + (skyLight ? 2 * LIGHT_BYTES : LIGHT_BYTES)) + BIOME_BYTES;
         }
 
+        /**
+         * Slices the section data out of the input without copying it.
+         * The slice shares the input's memory and is only valid while the input is.
+         */
         public void readData(final ByteBuf input) {
-            input.readBytes(this.data);
+            this.data = input.readSlice(this.dataLength);
         }
 
         public int getChunkX() {
@@ -119,9 +127,35 @@ public class ChunkBulk1_8Type extends PartialType<Chunk[], ClientWorld> {
             return this.bitmask;
         }
 
-        public byte[] getData() {
+        public int getDataLength() {
+            return this.dataLength;
+        }
+
+        /**
+         * Returns the section data read with {@link #readData(ByteBuf)}, sharing the input's memory.
+         *
+         * @return section data, only valid while the input is
+         */
+        public @Nullable ByteBuf getDataBuffer() {
             return this.data;
         }
+
+        /**
+         * Returns a copy of the section data read with {@link #readData(ByteBuf)}.
+         *
+         * @return copy of the section data
+         * @deprecated copies the data, use {@link #getDataBuffer()}
+         */
+        @Deprecated
+        public byte @Nullable [] getData() {
+            if (this.data == null) {
+                return null;
+            }
+
+            final byte[] bytes = new byte[this.data.readableBytes()];
+            this.data.getBytes(this.data.readerIndex(), bytes);
+            return bytes;
+        }
     }
 
 }
@@ -0,0 +1,80 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.data;
+
+import com.viaversion.viaversion.api.data.IdentityMappings;
+import com.viaversion.viaversion.api.data.IntArrayMappings;
+import com.viaversion.viaversion.api.data.MappingDataCache;
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.api.minecraft.RegistryType;
+import com.viaversion.viaversion.api.minecraft.TagData;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappingDataCacheTest {
+
+    @Test
+    public void testRoundTrip(@TempDir final Path folder) throws Exception {
+        final File file = folder.resolve("cache").resolve("mappings-test.bin").toFile();
+        final MappingDataCache cache = new MappingDataCache();
+        cache.putMappings("blocks", IntArrayMappings.of(new int[]{2, -1, 0, 1}, 3));
+        cache.putMappings("sounds", new IdentityMappings(5, 6));
+        cache.putMappings("menus", null);
+        cache.putIdentifiers("entities", Arrays.asList("pig", "cow", "\u00fcmlaut"));
+        cache.putTags(RegistryType.ITEM, Collections.singletonList(new TagData("minecraft:logs", new int[]{4, 5})));
+        cache.write(file, 42L);
+
+        final MappingDataCache read = MappingDataCache.read(file, 42L);
+        Assertions.assertNotNull(read);
+
+        final Mappings blocks = read.mappings("blocks");
+        Assertions.assertTrue(blocks instanceof IntArrayMappings);
+        Assertions.assertArrayEquals(new int[]{2, -1, 0, 1}, ((IntArrayMappings) blocks).raw());
+        Assertions.assertEquals(3, blocks.mappedSize());
+
+        final Mappings sounds = read.mappings("sounds");
+        Assertions.assertTrue(sounds instanceof IdentityMappings);
+        Assertions.assertEquals(5, sounds.size());
+        Assertions.assertEquals(6, sounds.mappedSize());
+        Assertions.assertNull(read.mappings("menus"));
+
+        Assertions.assertEquals(Arrays.asList("pig", "cow", "\u00fcmlaut"), read.identifiers("entities"));
+        final List<TagData> tags = read.tags(RegistryType.ITEM);
+        Assertions.assertNotNull(tags);
+        Assertions.assertEquals("minecraft:logs", tags.get(0).identifier());
+        Assertions.assertArrayEquals(new int[]{4, 5}, tags.get(0).entries());
+        Assertions.assertNull(read.tags(RegistryType.BLOCK));
+    }
+
+    @Test
+    public void testChecksumMismatch(@TempDir final Path folder) throws Exception {
+        final File file = folder.resolve("mappings-test.bin").toFile();
+        final MappingDataCache cache = new MappingDataCache();
+        cache.putMappings("blocks", IntArrayMappings.of(new int[]{0}, 1));
+        cache.write(file, 1L);
+
+        Assertions.assertNull(MappingDataCache.read(file, 2L));
+        Assertions.assertNull(MappingDataCache.read(folder.resolve("missing.bin").toFile(), 1L));
+    }
+}
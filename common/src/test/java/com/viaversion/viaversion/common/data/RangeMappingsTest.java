@@ -0,0 +1,59 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.data;
+
+import com.viaversion.viaversion.api.data.IntArrayMappings;
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.api.data.RangeMappings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RangeMappingsTest {
+
+    private static final int[] MAPPINGS = {0, 1, 2, 10, 11, -1, -1, 5, 6, 7, 7, 8};
+
+    @Test
+    public void testLookup() {
+        final RangeMappings mappings = RangeMappings.of(MAPPINGS, 12);
+        Assertions.assertEquals(5, mappings.ranges());
+        assertSameMappings(IntArrayMappings.of(MAPPINGS.clone(), 12), mappings);
+        Assertions.assertEquals(-1, mappings.getNewId(-1));
+        Assertions.assertEquals(-1, mappings.getNewId(MAPPINGS.length));
+    }
+
+    @Test
+    public void testSetNewId() {
+        final RangeMappings mappings = RangeMappings.of(MAPPINGS, 12);
+        final IntArrayMappings expected = IntArrayMappings.of(MAPPINGS.clone(), 12);
+        for (final int id : new int[]{0, 4, 5, 9, 11, 1}) {
+            mappings.setNewId(id, 3);
+            expected.setNewId(id, 3);
+        }
+        assertSameMappings(expected, mappings);
+        assertSameMappings(expected.inverse(), mappings.inverse());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> mappings.setNewId(MAPPINGS.length, 0));
+    }
+
+    private static void assertSameMappings(final Mappings expected, final Mappings mappings) {
+        Assertions.assertEquals(expected.size(), mappings.size());
+        Assertions.assertEquals(expected.mappedSize(), mappings.mappedSize());
+        for (int id = 0; id < expected.size(); id++) {
+            Assertions.assertEquals(expected.getNewId(id), mappings.getNewId(id), "id " + id);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.debug;
+
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.debug.PacketCaptureReader;
+import com.viaversion.viaversion.debug.PacketCaptureReader.CapturedPacket;
+import com.viaversion.viaversion.debug.PacketCaptureWriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PacketCaptureTest {
+
+    @Test
+    public void testRoundTrip(@TempDir final Path folder) throws Exception {
+        final Path path = folder.resolve("test.viacap");
+        final ByteBuf clientbound = Unpooled.buffer();
+        clientbound.writeByte(0x21).writeLong(123L);
+        clientbound.readerIndex(0);
+        final ByteBuf serverbound = Unpooled.wrappedBuffer(new byte[]{0x05, 1, 2, 3});
+        serverbound.readByte();
+
+        try (final PacketCaptureWriter writer = new PacketCaptureWriter(path, 764, 47, 1024)) {
+            writer.capture(Direction.CLIENTBOUND, State.PLAY, clientbound);
+            writer.capture(Direction.SERVERBOUND, State.CONFIGURATION, serverbound);
+        }
+        // The captured buffers are left untouched
+        Assertions.assertEquals(0, clientbound.readerIndex());
+        Assertions.assertEquals(1, serverbound.readerIndex());
+
+        try (final PacketCaptureReader reader = new PacketCaptureReader(path)) {
+            Assertions.assertEquals(764, reader.clientProtocol());
+            Assertions.assertEquals(47, reader.serverProtocol());
+
+            final CapturedPacket first = reader.next();
+            Assertions.assertNotNull(first);
+            Assertions.assertEquals(Direction.CLIENTBOUND, first.direction());
+            Assertions.assertEquals(State.PLAY, first.state());
+            Assertions.assertArrayEquals(new byte[]{0x21, 0, 0, 0, 0, 0, 0, 0, 123}, first.data());
+
+            final CapturedPacket second = reader.next();
+            Assertions.assertNotNull(second);
+            Assertions.assertEquals(Direction.SERVERBOUND, second.direction());
+            Assertions.assertEquals(State.CONFIGURATION, second.state());
+            Assertions.assertArrayEquals(new byte[]{1, 2, 3}, second.data());
+            Assertions.assertTrue(second.time() >= first.time());
+            Assertions.assertNull(reader.next());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.metrics;
+
+import com.viaversion.viaversion.api.metrics.TransformMetrics;
+import com.viaversion.viaversion.api.protocol.AbstractSimpleProtocol;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.metrics.MetricsHandlerImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MetricsHandlerTest {
+
+    @Test
+    public void testTransformMetrics() {
+        final MetricsHandlerImpl metrics = new MetricsHandlerImpl();
+        final Protocol protocol = new AbstractSimpleProtocol() {
+        };
+        for (int i = 1; i <= 1000; i++) {
+            metrics.recordTransform(protocol, Direction.CLIENTBOUND, State.PLAY, 0x21, i * 1000L, i % 100 == 0);
+        }
+        metrics.recordTransform(protocol, Direction.SERVERBOUND, State.PLAY, 0x21, 5, false);
+
+        Assertions.assertEquals(2, metrics.transformMetrics().size());
+        final TransformMetrics metric = metrics.transformMetrics().stream()
+                .filter(m -> m.direction() == Direction.CLIENTBOUND).findAny().orElseThrow(AssertionError::new);
+        Assertions.assertEquals(protocol.getClass(), metric.protocolClass());
+        Assertions.assertEquals("0x21", metric.packetName());
+        Assertions.assertEquals(1000, metric.count());
+        Assertions.assertEquals(10, metric.cancelled());
+        Assertions.assertEquals(1_000_000L, metric.maxNanos());
+        Assertions.assertEquals(500_500_000L, metric.totalNanos());
+
+        // Percentiles are accurate to 1/8th of their value
+        assertClose(500_000L, metric.percentileNanos(0.5));
+        assertClose(990_000L, metric.percentileNanos(0.99));
+        Assertions.assertEquals(1_000_000L, metric.percentileNanos(1));
+
+        metrics.reset();
+        Assertions.assertTrue(metrics.transformMetrics().isEmpty());
+    }
+
+    private static void assertClose(final long expected, final long actual) {
+        Assertions.assertTrue(actual >= expected && actual <= expected + expected / 8, "Expected ~" + expected + " but got " + actual);
+    }
+}
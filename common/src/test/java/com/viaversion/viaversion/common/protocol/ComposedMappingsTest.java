@@ -0,0 +1,80 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.data.MappingData;
+import com.viaversion.viaversion.api.data.MappingType;
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.api.protocol.ProtocolManager;
+import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComposedMappingsTest {
+
+    @BeforeAll
+    public static void init() {
+        DummyInitializer.init();
+    }
+
+    @Test
+    public void testMatchesSequentialMappings() throws Exception {
+        final ProtocolManager protocolManager = Via.getManager().getProtocolManager();
+        final int clientVersion = ProtocolVersion.v1_20_2.getVersion();
+        final int serverVersion = ProtocolVersion.v1_16_4.getVersion();
+        final List<ProtocolPathEntry> path = protocolManager.getProtocolPath(clientVersion, serverVersion);
+        Assertions.assertNotNull(path);
+        for (final ProtocolPathEntry entry : path) {
+            protocolManager.completeMappingDataLoading(entry.protocol().getClass());
+        }
+
+        for (final MappingType type : MappingType.values()) {
+            final Mappings composed = protocolManager.getComposedMappings(clientVersion, serverVersion, type);
+            if (composed == null) {
+                // No protocol on the path changes these ids
+                Assertions.assertTrue(path.stream().map(entry -> entry.protocol().getMappingData())
+                        .allMatch(mappingData -> mappingData == null || type.mappings(mappingData) == null), type.name());
+                continue;
+            }
+
+            Assertions.assertSame(composed, protocolManager.getComposedMappings(clientVersion, serverVersion, type));
+
+            for (int id = 0; id < composed.size() + 1; id++) {
+                Assertions.assertEquals(sequentialNewId(path, type, id), composed.getNewId(id), type + " id " + id);
+            }
+        }
+    }
+
+    private static int sequentialNewId(final List<ProtocolPathEntry> path, final MappingType type, final int id) {
+        // Clientbound ids pass the protocols from the server side first
+        int mappedId = id;
+        for (int i = path.size() - 1; i >= 0 && mappedId != -1; i--) {
+            final MappingData mappingData = path.get(i).protocol().getMappingData();
+            final Mappings mappings = mappingData != null ? type.mappings(mappingData) : null;
+            if (mappings != null) {
+                mappedId = mappings.getNewId(mappedId);
+            }
+        }
+        return mappedId;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.common.dummy.DummyInitializer;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class PacketWrapperTest {
+
+    @BeforeAll
+    static void init() {
+        DummyInitializer.init();
+    }
+
+    @Test
+    public void testPrimitiveValues() throws Exception {
+        final ByteBuf input = Unpooled.buffer();
+        Type.VAR_INT.writePrimitive(input, 300);
+        input.writeShort(-2);
+        input.writeByte(64);
+        input.writeBoolean(true);
+        input.writeDouble(1.5D);
+        input.writeFloat(-0.25F);
+
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(0, input, null);
+        Assertions.assertEquals(300, wrapper.passthroughInt(Type.VAR_INT));
+        Assertions.assertEquals(-2, wrapper.passthroughShort(Type.SHORT));
+        Assertions.assertEquals(64, wrapper.passthroughByte(Type.BYTE));
+        Assertions.assertTrue(wrapper.passthroughBoolean(Type.BOOLEAN));
+        Assertions.assertEquals(1.5D, wrapper.passthrough(Type.DOUBLE));
+        Assertions.assertEquals(-0.25F, wrapper.readFloat(Type.FLOAT));
+        wrapper.write(Type.FLOAT, 0.5F);
+
+        // Primitive values are boxed when accessed through the generic methods
+        Assertions.assertEquals(300, wrapper.get(Type.VAR_INT, 0));
+        wrapper.set(Type.SHORT, 0, (short) 5);
+        Assertions.assertEquals((short) 5, wrapper.get(Type.SHORT, 0));
+
+        // Next protocol
+        wrapper.resetReader();
+        Assertions.assertEquals(300, wrapper.read(Type.VAR_INT));
+        wrapper.writeInt(Type.VAR_INT, 301);
+        Assertions.assertEquals(5, wrapper.passthroughShort(Type.SHORT));
+
+        final ByteBuf output = Unpooled.buffer();
+        wrapper.writeToBuffer(output);
+        Assertions.assertEquals(0, Type.VAR_INT.readPrimitive(output)); // Packet id
+        Assertions.assertEquals(301, Type.VAR_INT.readPrimitive(output));
+        Assertions.assertEquals(5, output.readShort());
+        Assertions.assertEquals(64, output.readByte());
+        Assertions.assertTrue(output.readBoolean());
+        Assertions.assertEquals(1.5D, output.readDouble());
+        Assertions.assertEquals(0.5F, output.readFloat());
+        Assertions.assertFalse(output.isReadable());
+    }
+
+    @Test
+    public void testIndexedAccess() throws Exception {
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(0, null, null);
+        wrapper.write(Type.VAR_INT, 1);
+        wrapper.write(Type.STRING, "a");
+        wrapper.write(Type.VAR_INT, 2);
+        Assertions.assertEquals(2, wrapper.get(Type.VAR_INT, 1));
+        Assertions.assertFalse(wrapper.is(Type.VAR_INT, 2));
+
+        // Values written after a lookup are indexed as well
+        wrapper.write(Type.VAR_INT, 3);
+        Assertions.assertTrue(wrapper.is(Type.VAR_INT, 2));
+        wrapper.set(Type.VAR_INT, 2, 4);
+        Assertions.assertEquals(4, wrapper.get(Type.VAR_INT, 2));
+        Assertions.assertEquals("a", wrapper.get(Type.STRING, 0));
+
+        wrapper.resetReader();
+        Assertions.assertFalse(wrapper.is(Type.VAR_INT, 0));
+        Assertions.assertThrows(Exception.class, () -> wrapper.get(Type.VAR_INT, 0));
+    }
+
+    @Test
+    public void testReuseAfterRecycle() throws Exception {
+        final PacketWrapperImpl wrapper = PacketWrapperImpl.recycled(1, varInts(5, 6), null);
+        Assertions.assertEquals(5, wrapper.passthroughInt(Type.VAR_INT));
+        wrapper.write(Type.STRING, "a");
+        wrapper.recycle();
+
+        // Comes back without any of the previous packet's state
+        final PacketWrapperImpl reused = PacketWrapperImpl.recycled(2, varInts(7), null);
+        Assertions.assertSame(wrapper, reused);
+        Assertions.assertEquals(2, reused.getId());
+        Assertions.assertFalse(reused.isCancelled());
+        Assertions.assertFalse(reused.is(Type.VAR_INT, 0));
+        Assertions.assertFalse(reused.is(Type.STRING, 0));
+        Assertions.assertEquals(7, reused.readInt(Type.VAR_INT));
+        reused.write(Type.VAR_INT, 8);
+        Assertions.assertArrayEquals(new int[]{2, 8}, written(reused));
+
+        // Recycling twice must not hand the wrapper out twice
+        reused.recycle();
+        reused.recycle();
+        final PacketWrapperImpl first = PacketWrapperImpl.recycled(3, null, null);
+        final PacketWrapperImpl second = PacketWrapperImpl.recycled(3, null, null);
+        Assertions.assertNotSame(first, second);
+        second.recycle();
+        first.recycle();
+    }
+
+    @Test
+    public void testNestedTransform() throws Exception {
+        final PacketWrapperImpl outer = PacketWrapperImpl.recycled(1, varInts(10, 11), null);
+        Assertions.assertEquals(10, outer.passthroughInt(Type.VAR_INT));
+        outer.write(Type.VAR_INT, 12);
+
+        // A packet sent from within the outer packet's handler is transformed on the same thread before the handler returns
+        final PacketWrapperImpl nested = PacketWrapperImpl.recycled(2, varInts(20), null);
+        Assertions.assertNotSame(outer, nested);
+        Assertions.assertEquals(20, nested.passthroughInt(Type.VAR_INT));
+        Assertions.assertArrayEquals(new int[]{2, 20}, written(nested));
+        nested.recycle();
+
+        // The outer wrapper is left alone by the nested transform and finishes as normal
+        Assertions.assertEquals(11, outer.passthroughInt(Type.VAR_INT));
+        Assertions.assertArrayEquals(new int[]{1, 10, 12, 11}, written(outer));
+        outer.recycle();
+
+        // Only one wrapper is kept per thread
+        Assertions.assertSame(nested, PacketWrapperImpl.recycled(3, null, null));
+        final PacketWrapperImpl next = PacketWrapperImpl.recycled(4, null, null);
+        Assertions.assertNotSame(outer, next);
+        next.recycle();
+    }
+
+    @Test
+    public void testRecycleCancelled() throws Exception {
+        final PacketWrapperImpl wrapper = PacketWrapperImpl.recycled(1, varInts(1), null);
+        wrapper.write(Type.VAR_INT, 2);
+        wrapper.cancel();
+        Assertions.assertTrue(wrapper.isCancelled());
+        wrapper.recycle();
+
+        final PacketWrapperImpl reused = PacketWrapperImpl.recycled(2, varInts(3), null);
+        Assertions.assertSame(wrapper, reused);
+        Assertions.assertFalse(reused.isCancelled());
+        Assertions.assertEquals(3, reused.passthroughInt(Type.VAR_INT));
+        Assertions.assertArrayEquals(new int[]{2, 3}, written(reused));
+        reused.recycle();
+    }
+
+    @Test
+    public void testRecycleAfterFailure() throws Exception {
+        final PacketWrapperImpl wrapper = PacketWrapperImpl.recycled(1, varInts(1), null);
+        try {
+            wrapper.passthrough(Type.VAR_INT);
+            wrapper.write(Type.STRING, "a");
+            // Reading past the end of the packet fails halfway through the handler
+            Assertions.assertThrows(Exception.class, () -> wrapper.read(Type.VAR_INT));
+        } finally {
+            wrapper.recycle();
+        }
+
+        final PacketWrapperImpl reused = PacketWrapperImpl.recycled(2, varInts(4, 5), null);
+        Assertions.assertSame(wrapper, reused);
+        Assertions.assertFalse(reused.is(Type.STRING, 0));
+        Assertions.assertEquals(4, reused.passthroughInt(Type.VAR_INT));
+        Assertions.assertEquals(5, reused.passthroughInt(Type.VAR_INT));
+        Assertions.assertArrayEquals(new int[]{2, 4, 5}, written(reused));
+        reused.recycle();
+    }
+
+    private static ByteBuf varInts(final int... values) {
+        final ByteBuf buf = Unpooled.buffer();
+        for (final int value : values) {
+            Type.VAR_INT.writePrimitive(buf, value);
+        }
+        return buf;
+    }
+
+    private static int[] written(final PacketWrapperImpl wrapper) throws Exception {
+        final ByteBuf output = Unpooled.buffer();
+        wrapper.writeToBuffer(output);
+        final int[] values = new int[8];
+        int size = 0;
+        while (output.isReadable()) {
+            values[size++] = Type.VAR_INT.readPrimitive(output);
+        }
+        return Arrays.copyOf(values, size);
+    }
+}
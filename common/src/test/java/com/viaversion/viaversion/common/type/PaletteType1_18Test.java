@@ -0,0 +1,114 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.type;
+
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteCompaction;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.types.version.PaletteType1_18;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PaletteType1_18Test {
+    private static final PaletteType1_18 TYPE = new PaletteType1_18(PaletteType.BLOCKS, 15);
+
+    @Test
+    public void testPaletteOnlyChangesKeepValues() throws Exception {
+        final DataPalette palette = TYPE.read(write(paletteOf(5)));
+        final long[] values = readValues(palette);
+        for (int i = 0; i < palette.size(); i++) {
+            palette.setIdByIndex(i, palette.idByIndex(i) + 1000);
+        }
+
+        Assertions.assertArrayEquals(values, readValues(palette));
+        for (int i = 0; i < 4096; i++) {
+            Assertions.assertEquals(expectedId(i, 5) + 1000, palette.idAt(i));
+        }
+    }
+
+    @Test
+    public void testModifiedValuesAreRepacked() throws Exception {
+        final DataPalette palette = TYPE.read(write(paletteOf(5)));
+        palette.setIdAt(7, 1234);
+
+        final DataPalette copy = TYPE.read(write(palette));
+        for (int i = 0; i < 4096; i++) {
+            Assertions.assertEquals(i == 7 ? 1234 : expectedId(i, 5), copy.idAt(i));
+        }
+    }
+
+    @Test
+    public void testGrownPaletteIsRepacked() throws Exception {
+        final DataPalette palette = TYPE.read(write(paletteOf(16)));
+        palette.addId(9999);
+
+        final DataPalette copy = TYPE.read(write(palette));
+        Assertions.assertEquals(17, copy.size());
+        for (int i = 0; i < 4096; i++) {
+            Assertions.assertEquals(expectedId(i, 16), copy.idAt(i));
+        }
+    }
+
+    @Test
+    public void testCompactMergedPalette() {
+        final DataPalette palette = paletteOf(300);
+        for (int i = 0; i < palette.size(); i++) {
+            palette.setIdByIndex(i, palette.idByIndex(i) % 20);
+        }
+
+        final DataPalette compacted = PaletteCompaction.compact(palette, 4096, 256);
+        Assertions.assertNotNull(compacted);
+        Assertions.assertEquals(20, compacted.size());
+        for (int i = 0; i < 4096; i++) {
+            Assertions.assertEquals(expectedId(i, 300) % 20, compacted.idAt(i));
+        }
+        Assertions.assertNull(PaletteCompaction.compact(paletteOf(300), 4096, 256));
+    }
+
+    private static DataPalette paletteOf(final int size) {
+        final DataPalette palette = new DataPaletteImpl(4096);
+        for (int i = 0; i < 4096; i++) {
+            palette.setIdAt(i, expectedId(i, size));
+        }
+        return palette;
+    }
+
+    private static int expectedId(final int index, final int paletteSize) {
+        return 10 + (index * 31 + index / 7) % paletteSize;
+    }
+
+    private static ByteBuf write(final DataPalette palette) throws Exception {
+        final ByteBuf buf = Unpooled.buffer();
+        TYPE.write(buf, palette);
+        return buf;
+    }
+
+    private static long[] readValues(final DataPalette palette) throws Exception {
+        final ByteBuf buf = write(palette);
+        buf.readByte();
+        final int size = Type.VAR_INT.readPrimitive(buf);
+        for (int i = 0; i < size; i++) {
+            Type.VAR_INT.readPrimitive(buf);
+        }
+        return Type.LONG_ARRAY_PRIMITIVE.read(buf);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2023 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.util;
+
+import com.viaversion.viaversion.util.CompactArrayUtil;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CompactArrayUtilTest {
+    // Also covers a last long that is only partially filled
+    private static final int[] ENTRY_COUNTS = {4096, 4093, 1};
+
+    @Test
+    public void testPackWithPaddingMatchesCreate() {
+        for (int bits = 1; bits <= 15; bits++) {
+            for (final int entries : ENTRY_COUNTS) {
+                final int[] values = randomValues(bits, entries);
+                final long[] expected = CompactArrayUtil.createCompactArrayWithPadding(bits, entries, i -> values[i]);
+                Assertions.assertArrayEquals(expected, CompactArrayUtil.packWithPadding(bits, values), "bits " + bits + ", entries " + entries);
+            }
+        }
+    }
+
+    @Test
+    public void testUnpackWithPaddingMatchesIterate() {
+        for (int bits = 1; bits <= 15; bits++) {
+            for (final int entries : ENTRY_COUNTS) {
+                final int[] values = randomValues(bits, entries);
+                final long[] data = CompactArrayUtil.createCompactArrayWithPadding(bits, entries, i -> values[i]);
+                final int[] expected = new int[entries];
+                CompactArrayUtil.iterateCompactArrayWithPadding(bits, entries, data, (i, value) -> expected[i] = value);
+
+                final int[] output = new int[entries];
+                CompactArrayUtil.unpackWithPadding(bits, data, output);
+                Assertions.assertArrayEquals(values, expected, "bits " + bits + ", entries " + entries);
+                Assertions.assertArrayEquals(expected, output, "bits " + bits + ", entries " + entries);
+            }
+        }
+    }
+
+    @Test
+    public void testPackMatchesCreate() {
+        for (int bits = 1; bits <= 15; bits++) {
+            for (final int entries : ENTRY_COUNTS) {
+                final int[] values = randomValues(bits, entries);
+                final long[] expected = CompactArrayUtil.createCompactArray(bits, entries, i -> values[i]);
+                Assertions.assertArrayEquals(expected, CompactArrayUtil.pack(bits, values), "bits " + bits + ", entries " + entries);
+            }
+        }
+    }
+
+    @Test
+    public void testUnpackMatchesIterate() {
+        for (int bits = 1; bits <= 15; bits++) {
+            for (final int entries : ENTRY_COUNTS) {
+                final int[] values = randomValues(bits, entries);
+                final long[] data = CompactArrayUtil.createCompactArray(bits, entries, i -> values[i]);
+                final int[] expected = new int[entries];
+                CompactArrayUtil.iterateCompactArray(bits, entries, data, (i, value) -> expected[i] = value);
+
+                final int[] output = new int[entries];
+                CompactArrayUtil.unpack(bits, data, output);
+                Assertions.assertArrayEquals(values, expected, "bits " + bits + ", entries " + entries);
+                Assertions.assertArrayEquals(expected, output, "bits " + bits + ", entries " + entries);
+            }
+        }
+    }
+
+    @Test
+    public void testUnpackValuesSpanningTwoLongs() {
+        // With 5 bits per entry, the 13th value (index 12) uses bits 60 to 64
+        final int[] values = new int[13];
+        values[12] = 0b11111;
+        final long[] data = CompactArrayUtil.pack(5, values);
+        Assertions.assertEquals(2, data.length);
+        Assertions.assertEquals(0b1111L << 60, data[0]);
+        Assertions.assertEquals(1L, data[1]);
+
+        final int[] output = new int[13];
+        CompactArrayUtil.unpack(5, data, output);
+        Assertions.assertArrayEquals(values, output);
+    }
+
+    private static int[] randomValues(final int bits, final int entries) {
+        final Random random = new Random(bits * 31L + entries);
+        final int[] values = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            // Keep the extremes in there as well
+            values[i] = i == 0 ? (1 << bits) - 1 : random.nextInt(1 << bits);
+        }
+        return values;
+    }
+}
@@ -25,6 +25,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
 import java.util.List;
 
 public class SpongeDecodeHandler extends ByteToMessageDecoder {
@@ -39,7 +40,7 @@ public class SpongeDecodeHandler extends ByteToMessageDecoder {
 
     @Override
     protected void decode(ChannelHandlerContext ctx, ByteBuf bytebuf, List<Object> list) throws Exception {
-        if (!info.checkServerboundPacket()) {
+        if (!info.checkServerboundPacket(bytebuf)) {
             bytebuf.clear(); // Don't accumulate
             throw CancelDecoderException.generate(null);
         }
@@ -47,8 +48,9 @@ public class SpongeDecodeHandler extends ByteToMessageDecoder {
         ByteBuf transformedBuf = null;
         try {
             if (info.shouldTransformPacket()) {
-                transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
-                info.transformServerbound(transformedBuf, CancelDecoderException::generate);
+                final List<Object> transformed = new ArrayList<>(1);
+                info.transformServerbound(bytebuf, transformed, CancelDecoderException::generate);
+                transformedBuf = (ByteBuf) transformed.get(0);
             }
 
             try {
@@ -27,6 +27,8 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 
 public class SpongeEncodeHandler extends MessageToByteEncoder<Object> implements ViaCodecHandler {
     private final UserConnection info;
@@ -51,10 +53,28 @@ public class SpongeEncodeHandler extends MessageToByteEncoder<Object> implements
                     throw (Error) e.getCause();
                 }
             }
+            transform(bytebuf);
         } else {
-            bytebuf.writeBytes((ByteBuf) o);
+            transform((ByteBuf) o, bytebuf);
+        }
+    }
+
+    private void transform(final ByteBuf in, final ByteBuf out) throws Exception {
+        if (!info.checkClientboundPacket()) throw CancelEncoderException.generate(null);
+        if (!info.shouldTransformPacket()) {
+            out.writeBytes(in);
+            return;
+        }
+
+        // Transform straight from the raw message instead of copying it into the output buffer first
+        final List<Object> transformed = new ArrayList<>(1);
+        info.transformClientbound(in, transformed, CancelEncoderException::generate);
+        final ByteBuf transformedBuf = (ByteBuf) transformed.get(0);
+        try {
+            out.writeBytes(transformedBuf);
+        } finally {
+            transformedBuf.release();
         }
-        transform(bytebuf);
     }
 
     @Override
@@ -23,6 +23,7 @@ import com.viaversion.viaversion.exception.CancelEncoderException;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.MessageToMessageEncoder;
 import java.util.List;
 
@@ -34,6 +35,15 @@ public class VelocityEncodeHandler extends MessageToMessageEncoder<ByteBuf> {
         this.info = info;
     }
 
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) throws Exception {
+        if (msg instanceof ByteBuf && info.shouldTransformPacket() && info.queueClientbound((ByteBuf) msg, promise)) {
+            // Written once the packets before it have been converted
+            return;
+        }
+        super.write(ctx, msg, promise);
+    }
+
     @Override
     protected void encode(final ChannelHandlerContext ctx, ByteBuf bytebuf, List<Object> out) throws Exception {
         if (!info.checkOutgoingPacket()) throw CancelEncoderException.generate(null);
@@ -42,13 +52,7 @@ public class VelocityEncodeHandler extends MessageToMessageEncoder<ByteBuf> {
             return;
         }
 
-        ByteBuf transformedBuf = ctx.alloc().buffer().writeBytes(bytebuf);
-        try {
-            info.transformOutgoing(transformedBuf, CancelEncoderException::generate);
-            out.add(transformedBuf.retain());
-        } finally {
-            transformedBuf.release();
-        }
+        info.transformOutgoing(bytebuf, out, CancelEncoderException::generate);
     }
 
     @Override